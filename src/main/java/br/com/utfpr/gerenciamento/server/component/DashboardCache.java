@@ -0,0 +1,73 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import br.com.utfpr.gerenciamento.server.event.EntidadeAlteradaEvent;
+import br.com.utfpr.gerenciamento.server.model.Compra;
+import br.com.utfpr.gerenciamento.server.model.Emprestimo;
+import br.com.utfpr.gerenciamento.server.model.Saida;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resultados dos endpoints de dashboard por consulta e período. Qualquer alteração de empréstimo,
+ * compra ou saída descarta o cache inteiro e muda a geração, que também compõe o ETag das respostas.
+ */
+@Component
+public class DashboardCache {
+
+    private static final Set<Class<?>> ENTIDADES = Set.of(Emprestimo.class, Compra.class, Saida.class);
+
+    private record Chave(String consulta, LocalDate dtIni, LocalDate dtFim, LocalDate hoje) {
+    }
+
+    private final Cache<Chave, Object> cache;
+    // inicia com o horário para que um ETag emitido antes de reiniciar o servidor não seja reaproveitado
+    private final AtomicLong geracao = new AtomicLong(System.currentTimeMillis());
+
+    public DashboardCache(@Value("${utfpr.dashboard.cache.ttl-seconds:600}") long ttlSeconds,
+                          @Value("${utfpr.dashboard.cache.max-size:500}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String consulta, LocalDate dtIni, LocalDate dtFim, Supplier<T> loader) {
+        Chave chave = new Chave(consulta, dtIni, dtFim, LocalDate.now());
+        Object valor = cache.getIfPresent(chave);
+        if (valor == null) {
+            long geracaoInicial = geracao.get();
+            valor = loader.get();
+            // não guarda um resultado calculado enquanto uma alteração era confirmada
+            if (valor != null && geracaoInicial == geracao.get()) {
+                cache.put(chave, valor);
+            }
+        }
+        return (T) valor;
+    }
+
+    public String etag() {
+        return "\"" + Long.toHexString(geracao.get()) + "-" + LocalDate.now() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+        if (ENTIDADES.contains(event.entidade())) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        geracao.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import br.com.utfpr.gerenciamento.server.model.EmailOutbox;
+import br.com.utfpr.gerenciamento.server.model.EmailOutboxAnexo;
+import br.com.utfpr.gerenciamento.server.service.EmailOutboxService;
+import br.com.utfpr.gerenciamento.server.util.FabricaThreads;
+import br.com.utfpr.gerenciamento.server.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Envia os e-mails da tabela email_outbox. Cada lote reservado é enviado por uma única conexão SMTP,
+ * em um pool de threads limitado e respeitando o limite de mensagens por minuto do servidor.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final int TAMANHO_LOTE_REMOCAO = 1000;
+
+    private static final String NOME_REMETENTE = "Laboratório de Informática - UTFPR/PB";
+
+    private final EmailOutboxService emailOutboxService;
+    private final JavaMailSender javaMailSender;
+    private final ThreadPoolExecutor executor;
+    private final RateLimiter rateLimiter;
+    private final int tamanhoLote;
+    private final long retencaoDias;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    // tempo na fila (criação até a entrega ao SMTP) por e-mail enviado, duração de cada envio em lote ao servidor
+    // e tentativas com erro; os totais e as médias saem dessas métricas
+    private final Timer latenciaFila;
+    private final Timer envioSmtp;
+    private final Counter falhas;
+
+    // atualizado a cada ciclo de envio, para a leitura das métricas não consultar o banco
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 JavaMailSender javaMailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${utfpr.email.outbox.workers:2}") int workers,
+                                 @Value("${utfpr.email.outbox.tamanho-lote:20}") int tamanhoLote,
+                                 @Value("${utfpr.email.outbox.max-por-minuto:120}") int maxPorMinuto,
+                                 @Value("${utfpr.email.outbox.retencao-dias:30}") long retencaoDias) {
+        this.emailOutboxService = emailOutboxService;
+        this.javaMailSender = javaMailSender;
+        this.tamanhoLote = tamanhoLote;
+        this.retencaoDias = retencaoDias;
+        this.rateLimiter = new RateLimiter(maxPorMinuto);
+        // a fila só comporta um lote por worker: o restante continua pendente no banco, não no heap.
+        // Sempre threads de plataforma: o Angus Mail conecta e envia dentro de métodos synchronized do Transport,
+        // e uma thread virtual ficaria presa à portadora durante toda a sessão SMTP
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), FabricaThreads.criar("email-outbox", false));
+
+        this.latenciaFila = Timer.builder("utfpr.email.fila").register(meterRegistry);
+        this.envioSmtp = Timer.builder("utfpr.email.envio").register(meterRegistry);
+        this.falhas = Counter.builder("utfpr.email.falhas").register(meterRegistry);
+        Gauge.builder("utfpr.email.pendentes", pendentes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("utfpr.email.lotes.andamento", this, EmailOutboxDispatcher::getLotesEmAndamento).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${utfpr.email.outbox.intervalo-ms:10000}")
+    public void dispatch() {
+        if (!dispatchLock.tryLock()) {
+            return;
+        }
+        try {
+            while (executor.getQueue().remainingCapacity() > 0) {
+                List<Long> ids = emailOutboxService.reservarPendentes(tamanhoLote);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                try {
+                    executor.execute(() -> enviarLote(ids));
+                } catch (RejectedExecutionException e) {
+                    // volta para a fila na próxima liberação de travados
+                    log.warn("Pool de envio de e-mails cheio, {} e-mail(s) aguardarão a próxima execução", ids.size());
+                    break;
+                }
+            }
+            pendentes.set(emailOutboxService.countPendentes());
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    // chamado após o commit de um novo e-mail, para não esperar o próximo ciclo agendado
+    public void wakeUp() {
+        CompletableFuture.runAsync(this::dispatch);
+    }
+
+    @Scheduled(fixedDelay = 300000)
+    public void liberarTravados() {
+        int liberados = emailOutboxService.liberarTravados(Duration.ofMinutes(15));
+        if (liberados > 0) {
+            log.warn("{} e-mail(s) em envio há mais de 15 minutos retornaram para a fila", liberados);
+        }
+    }
+
+    // e-mails já enviados ou que esgotaram as tentativas, com os anexos (bytea), não ficam na tabela para sempre;
+    // a remoção é feita em lotes, cada um em sua transação
+    @Scheduled(fixedDelay = 3600000)
+    public void removerAntigos() {
+        int total = 0;
+        int removidos;
+        do {
+            removidos = emailOutboxService.removerAntigos(Duration.ofDays(retencaoDias), TAMANHO_LOTE_REMOCAO);
+            total += removidos;
+        } while (removidos == TAMANHO_LOTE_REMOCAO);
+        if (total > 0) {
+            log.info("{} e-mail(s) enviados ou com erro há mais de {} dias removidos da fila", total, retencaoDias);
+        }
+    }
+
+    private void enviarLote(List<Long> ids) {
+        long inicio = System.currentTimeMillis();
+        Map<MimeMessage, EmailOutbox> mensagens = new LinkedHashMap<>();
+        for (EmailOutbox email : emailOutboxService.findParaEnvio(ids)) {
+            try {
+                rateLimiter.acquire();
+                mensagens.put(criarMensagem(email), email);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                registrarFalha(email, e);
+            }
+        }
+        if (mensagens.isEmpty()) {
+            return;
+        }
+
+        Set<EmailOutbox> comFalha = new HashSet<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            // JavaMailSenderImpl abre uma conexão e envia todas as mensagens do array por ela
+            javaMailSender.send(mensagens.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((mensagem, erro) -> {
+                EmailOutbox email = mensagens.get(mensagem);
+                if (email != null) {
+                    comFalha.add(email);
+                    registrarFalha(email, erro);
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                mensagens.values().forEach(email -> {
+                    comFalha.add(email);
+                    registrarFalha(email, e);
+                });
+            }
+        } catch (MailException e) {
+            mensagens.values().forEach(email -> {
+                comFalha.add(email);
+                registrarFalha(email, e);
+            });
+        } finally {
+            sample.stop(envioSmtp);
+        }
+
+        List<Long> enviadosLote = new ArrayList<>();
+        LocalDateTime agora = LocalDateTime.now();
+        mensagens.values().stream()
+                .filter(email -> !comFalha.contains(email))
+                .forEach(email -> {
+                    enviadosLote.add(email.getId());
+                    latenciaFila.record(Duration.between(email.getCriadoEm(), agora));
+                });
+        emailOutboxService.marcarEnviados(enviadosLote);
+        log.info("Lote de {} e-mail(s) enviado em {} ms ({} com falha)",
+                enviadosLote.size(), System.currentTimeMillis() - inicio, comFalha.size());
+    }
+
+    private MimeMessage criarMensagem(EmailOutbox email) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(email.getRemetente(), NOME_REMETENTE);
+        helper.setReplyTo(email.getRemetente());
+        helper.setBcc(email.getDestinatarios().split(","));
+        helper.setSubject(email.getTitulo());
+        helper.setText(email.getConteudo(), true);
+        for (EmailOutboxAnexo anexo : email.getAnexos()) {
+            helper.addAttachment(anexo.getNome(), new ByteArrayResource(anexo.getConteudo()));
+        }
+        return message;
+    }
+
+    private void registrarFalha(EmailOutbox email, Exception erro) {
+        falhas.increment();
+        log.error("Erro ao enviar o e-mail {} (tentativa {})", email.getId(), email.getTentativas() + 1, erro);
+        emailOutboxService.marcarFalha(email.getId(), erro.getMessage());
+    }
+
+    public int getLotesEmAndamento() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renderiza os templates de e-mail (resources/templates/*.ftl). Os templates são carregados uma vez na
+ * inicialização e mantidos em memória, sem passar pela verificação de atualização do cache do FreeMarker.
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String EXTENSAO = ".ftl";
+    // buffers maiores que isso não são reaproveitados, para um e-mail grande não prender memória na thread
+    private static final int TAMANHO_MAXIMO_BUFFER = 64 * 1024;
+
+    private final Configuration freemarkerConfiguration;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilderWriter> buffers = ThreadLocal.withInitial(() -> new StringBuilderWriter(8 * 1024));
+
+    public EmailTemplateRenderer(Configuration freemarkerConfiguration) {
+        this.freemarkerConfiguration = freemarkerConfiguration;
+    }
+
+    @PostConstruct
+    public void carregarTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:templates/*" + EXTENSAO);
+        for (Resource resource : resources) {
+            String nome = resource.getFilename();
+            if (nome != null) {
+                nome = nome.substring(0, nome.length() - EXTENSAO.length());
+                templates.put(nome, freemarkerConfiguration.getTemplate(nome + EXTENSAO));
+            }
+        }
+        log.info("{} template(s) de e-mail carregado(s)", templates.size());
+    }
+
+    public String render(String nameTemplate, Object model) throws IOException, TemplateException {
+        Template template = getTemplate(nameTemplate);
+        StringBuilderWriter writer = buffers.get();
+        try {
+            template.process(model, writer);
+            return writer.toString();
+        } finally {
+            releaseBuffer(writer);
+        }
+    }
+
+    // renderiza o mesmo template para vários modelos, reaproveitando template e buffer; um modelo que falha vira null
+    // na posição correspondente, sem impedir os demais
+    public List<String> renderAll(String nameTemplate, List<?> models) throws IOException {
+        Template template = getTemplate(nameTemplate);
+        StringBuilderWriter writer = buffers.get();
+        List<String> toReturn = new ArrayList<>(models.size());
+        try {
+            for (int i = 0; i < models.size(); i++) {
+                writer.getBuilder().setLength(0);
+                try {
+                    template.process(models.get(i), writer);
+                    toReturn.add(writer.toString());
+                } catch (TemplateException | RuntimeException ex) {
+                    log.error("Não foi possível renderizar o template {} para o modelo {} de {}", nameTemplate, i, models.size(), ex);
+                    toReturn.add(null);
+                }
+            }
+        } finally {
+            releaseBuffer(writer);
+        }
+        return toReturn;
+    }
+
+    private Template getTemplate(String nameTemplate) throws IOException {
+        Template template = templates.get(nameTemplate);
+        if (template == null) {
+            template = freemarkerConfiguration.getTemplate(nameTemplate + EXTENSAO);
+            templates.put(nameTemplate, template);
+        }
+        return template;
+    }
+
+    private void releaseBuffer(StringBuilderWriter writer) {
+        if (writer.getBuilder().capacity() > TAMANHO_MAXIMO_BUFFER) {
+            buffers.remove();
+        } else {
+            writer.getBuilder().setLength(0);
+        }
+    }
+}
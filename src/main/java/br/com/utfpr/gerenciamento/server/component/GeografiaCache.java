@@ -0,0 +1,117 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import br.com.utfpr.gerenciamento.server.event.EntidadeAlteradaEvent;
+import br.com.utfpr.gerenciamento.server.model.Cidade;
+import br.com.utfpr.gerenciamento.server.model.Estado;
+import br.com.utfpr.gerenciamento.server.model.Pais;
+import br.com.utfpr.gerenciamento.server.repository.CidadeRepository;
+import br.com.utfpr.gerenciamento.server.repository.EstadoRepository;
+import br.com.utfpr.gerenciamento.server.repository.PaisRepository;
+import br.com.utfpr.gerenciamento.server.util.PrefixIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Países, estados e cidades (carga da V1.1) mantidos em memória, indexados por id, por estado e por
+ * prefixo do nome. É carregado ao iniciar a aplicação e recarregado na próxima consulta após qualquer alteração.
+ */
+@Slf4j
+@Component
+public class GeografiaCache {
+
+    private static final Set<Class<?>> ENTIDADES = Set.of(Pais.class, Estado.class, Cidade.class);
+
+    public record Dados(Map<Long, Pais> paisPorId,
+                        Map<Long, Estado> estadoPorId,
+                        Map<Long, Cidade> cidadePorId,
+                        PrefixIndex<Pais> paises,
+                        PrefixIndex<Estado> estados,
+                        PrefixIndex<Cidade> cidades,
+                        Map<Long, PrefixIndex<Cidade>> cidadesPorEstado) {
+
+        public PrefixIndex<Cidade> cidadesDoEstado(Long idEstado) {
+            return cidadesPorEstado.getOrDefault(idEstado, new PrefixIndex<>(List.of(), Cidade::getNome));
+        }
+    }
+
+    private final PaisRepository paisRepository;
+    private final EstadoRepository estadoRepository;
+    private final CidadeRepository cidadeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Dados dados;
+    private final AtomicLong versao = new AtomicLong();
+
+    public GeografiaCache(PaisRepository paisRepository, EstadoRepository estadoRepository,
+                          CidadeRepository cidadeRepository, PlatformTransactionManager transactionManager) {
+        this.paisRepository = paisRepository;
+        this.estadoRepository = estadoRepository;
+        this.cidadeRepository = cidadeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        Dados carregados = get();
+        log.info("Cache de países/estados/cidades carregado: {} países, {} estados, {} cidades",
+                carregados.paisPorId().size(), carregados.estadoPorId().size(), carregados.cidadePorId().size());
+    }
+
+    public Dados get() {
+        Dados atual = dados;
+        if (atual == null) {
+            long versaoInicial = versao.get();
+            atual = transactionTemplate.execute(status -> carregar());
+            // uma alteração confirmada durante a carga invalida o resultado para as próximas consultas
+            if (versaoInicial == versao.get()) {
+                dados = atual;
+            }
+        }
+        return atual;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+        if (ENTIDADES.contains(event.entidade())) {
+            versao.incrementAndGet();
+            dados = null;
+        }
+    }
+
+    // uma única sessão, para que cidades e estados compartilhem as mesmas instâncias de estado e país
+    private Dados carregar() {
+        List<Pais> paises = paisRepository.findAll();
+        List<Estado> estados = estadoRepository.findAllFetchPais();
+        List<Cidade> cidades = cidadeRepository.findAllFetchEstado();
+
+        Map<Long, PrefixIndex<Cidade>> cidadesPorEstado = cidades.stream()
+                .filter(cidade -> cidade.getEstado() != null)
+                .collect(Collectors.groupingBy(cidade -> cidade.getEstado().getId()))
+                .entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        entry -> new PrefixIndex<>(entry.getValue(), Cidade::getNome)));
+
+        return new Dados(porId(paises, Pais::getId),
+                porId(estados, Estado::getId),
+                porId(cidades, Cidade::getId),
+                new PrefixIndex<>(paises, Pais::getNome),
+                new PrefixIndex<>(estados, Estado::getNome),
+                new PrefixIndex<>(cidades, Cidade::getNome),
+                cidadesPorEstado);
+    }
+
+    private static <T> Map<Long, T> porId(List<T> valores, Function<T, Long> id) {
+        return valores.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import br.com.utfpr.gerenciamento.server.minio.config.MinioConfig;
+import br.com.utfpr.gerenciamento.server.minio.payload.StoredObject;
+import br.com.utfpr.gerenciamento.server.minio.service.MinioService;
+import br.com.utfpr.gerenciamento.server.repository.ImagemObjetoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Confere o bucket das imagens com o banco: percorre a listagem do MinIO página a página e procura cada página nas
+ * tabelas imagem_objeto e item_image. Objetos sem registro (uploads interrompidos, imagens removidas antes da contagem
+ * de referências) são apenas relatados, ou removidos com utfpr.imagens.reconciliacao.remover=true.
+ * Objetos mais novos que a carência são ignorados, pois podem pertencer a um upload ainda não confirmado.
+ */
+@Slf4j
+@Component
+public class ImagemReconciliacao {
+
+    private final MinioService minioService;
+    private final MinioConfig minioConfig;
+    private final ImagemObjetoRepository imagemObjetoRepository;
+    private final int tamanhoPagina;
+    private final Duration carencia;
+    private final boolean remover;
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+
+    // execução atual (ou a última, se nenhuma estiver em andamento)
+    private final AtomicLong verificados = new AtomicLong();
+    private final AtomicLong orfaos = new AtomicLong();
+    private final AtomicLong bytesOrfaos = new AtomicLong();
+    private final AtomicLong removidos = new AtomicLong();
+    private volatile Instant inicio;
+    private volatile Duration duracao = Duration.ZERO;
+
+    public ImagemReconciliacao(MinioService minioService,
+                               MinioConfig minioConfig,
+                               ImagemObjetoRepository imagemObjetoRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${utfpr.imagens.reconciliacao.tamanho-pagina:1000}") int tamanhoPagina,
+                               @Value("${utfpr.imagens.reconciliacao.carencia-horas:24}") long carenciaHoras,
+                               @Value("${utfpr.imagens.reconciliacao.remover:false}") boolean remover) {
+        this.minioService = minioService;
+        this.minioConfig = minioConfig;
+        this.imagemObjetoRepository = imagemObjetoRepository;
+        this.tamanhoPagina = tamanhoPagina;
+        this.carencia = Duration.ofHours(carenciaHoras);
+        this.remover = remover;
+
+        Gauge.builder("utfpr.imagens.reconciliacao.verificados", verificados, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("utfpr.imagens.reconciliacao.orfaos", orfaos, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("utfpr.imagens.reconciliacao.orfaos.bytes", bytesOrfaos, AtomicLong::get)
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("utfpr.imagens.reconciliacao.removidos", removidos, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("utfpr.imagens.reconciliacao.objetos.por.segundo", this, ImagemReconciliacao::getObjetosPorSegundo)
+                .register(meterRegistry);
+        Gauge.builder("utfpr.imagens.reconciliacao.andamento", emAndamento, valor -> valor.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${utfpr.imagens.reconciliacao.cron:0 0 3 * * *}")
+    public void reconciliar() {
+        if (!emAndamento.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verificados.set(0);
+            orfaos.set(0);
+            bytesOrfaos.set(0);
+            removidos.set(0);
+            inicio = Instant.now();
+            Instant limite = inicio.minus(carencia);
+            String bucket = minioConfig.getBucketName();
+
+            minioService.listObjects(bucket, tamanhoPagina, pagina -> conferir(bucket, pagina, limite));
+
+            duracao = Duration.between(inicio, Instant.now());
+            log.info("Reconciliação do bucket {} concluída em {} s: {} objetos verificados ({} obj/s), {} órfãos ({} bytes), {} removidos.",
+                    bucket, duracao.toSeconds(), verificados.get(), String.format("%.1f", getObjetosPorSegundo()),
+                    orfaos.get(), bytesOrfaos.get(), removidos.get());
+        } catch (RuntimeException e) {
+            log.error("Falha na reconciliação do bucket de imagens após {} objetos verificados.", verificados.get(), e);
+        } finally {
+            emAndamento.set(false);
+        }
+    }
+
+    private void conferir(String bucket, List<StoredObject> pagina, Instant limite) {
+        List<StoredObject> candidatos = pagina.stream()
+                .filter(objeto -> objeto.lastModified().isBefore(limite))
+                .toList();
+        Set<String> referenciados = imagemObjetoRepository.findReferenciados(
+                candidatos.stream().map(StoredObject::objectName).toList());
+        List<StoredObject> semRegistro = candidatos.stream()
+                .filter(objeto -> !referenciados.contains(objeto.objectName()))
+                .toList();
+
+        verificados.addAndGet(pagina.size());
+        if (!semRegistro.isEmpty()) {
+            orfaos.addAndGet(semRegistro.size());
+            bytesOrfaos.addAndGet(semRegistro.stream().mapToLong(StoredObject::size).sum());
+            List<String> nomes = semRegistro.stream().map(StoredObject::objectName).toList();
+            if (remover) {
+                List<String> falhas = minioService.removeObjects(bucket, nomes);
+                removidos.addAndGet(nomes.size() - falhas.size());
+                if (!falhas.isEmpty()) {
+                    log.warn("Não foi possível remover os objetos órfãos {}", falhas);
+                }
+            } else {
+                log.info("Objetos órfãos no bucket {}: {}", bucket, nomes);
+            }
+        }
+        log.debug("Reconciliação do bucket {}: {} objetos verificados, {} órfãos.", bucket, verificados.get(), orfaos.get());
+    }
+
+    public boolean isEmAndamento() {
+        return emAndamento.get();
+    }
+
+    public long getVerificados() {
+        return verificados.get();
+    }
+
+    public long getOrfaos() {
+        return orfaos.get();
+    }
+
+    public long getBytesOrfaos() {
+        return bytesOrfaos.get();
+    }
+
+    public long getRemovidos() {
+        return removidos.get();
+    }
+
+    public double getObjetosPorSegundo() {
+        Duration decorrido = emAndamento.get() && inicio != null ? Duration.between(inicio, Instant.now()) : duracao;
+        return decorrido.toMillis() == 0 ? 0 : verificados.get() * 1000.0 / decorrido.toMillis();
+    }
+}
@@ -2,17 +2,26 @@ package br.com.utfpr.gerenciamento.server.component;
 
 import br.com.utfpr.gerenciamento.server.service.ItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class ItemScheduled {
 
     private final ItemService itemService;
+    private final Duration carenciaOrfaos;
+    private final int tamanhoLoteOrfaos;
 
-    public ItemScheduled(ItemService itemService) {
+    public ItemScheduled(ItemService itemService,
+                         @Value("${utfpr.imagens.orfas.carencia-minutos:60}") long carenciaMinutos,
+                         @Value("${utfpr.imagens.orfas.tamanho-lote:200}") int tamanhoLote) {
         this.itemService = itemService;
+        this.carenciaOrfaos = Duration.ofMinutes(carenciaMinutos);
+        this.tamanhoLoteOrfaos = tamanhoLote;
     }
 
     @Async
@@ -20,4 +29,13 @@ public class ItemScheduled {
     public void sendNotificationItensAtingiramQtdeMin() {
         itemService.sendNotificationItensAtingiramQtdeMin();
     }
+
+    // cada lote é uma transação; continua enquanto houver lote cheio para remover
+    @Scheduled(fixedDelayString = "${utfpr.imagens.orfas.intervalo-ms:3600000}")
+    public void removerImagensOrfas() {
+        int removidas;
+        do {
+            removidas = itemService.removerImagensOrfas(carenciaOrfaos, tamanhoLoteOrfaos);
+        } while (removidas == tamanhoLoteOrfaos);
+    }
 }
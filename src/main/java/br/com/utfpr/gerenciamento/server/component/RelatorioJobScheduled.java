@@ -0,0 +1,20 @@
+package br.com.utfpr.gerenciamento.server.component;
+
+import br.com.utfpr.gerenciamento.server.service.RelatorioJobService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RelatorioJobScheduled {
+
+    private final RelatorioJobService relatorioJobService;
+
+    public RelatorioJobScheduled(RelatorioJobService relatorioJobService) {
+        this.relatorioJobService = relatorioJobService;
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void purgeJobsExpirados() {
+        relatorioJobService.purgeJobsExpirados();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.utfpr.gerenciamento.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// contagem de comandos SQL por requisição; ligada com utfpr.sql.contador.enabled=true (perfis dev e test)
+@Configuration
+@ConditionalOnProperty(name = "utfpr.sql.contador.enabled", havingValue = "true")
+public class ContadorSqlConfig {
+
+    @Bean
+    public static BeanPostProcessor contadorSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ContadorSqlDataSource)) {
+                    return new ContadorSqlDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // antes da segurança, para contar também a carga do usuário feita na autenticação
+    @Bean
+    public FilterRegistrationBean<ContadorSqlFilter> contadorSqlFilter(MeterRegistry meterRegistry,
+                                                                      @Value("${utfpr.sql.n1.limite:10}") int limiteRepeticoes) {
+        FilterRegistrationBean<ContadorSqlFilter> registration =
+                new FilterRegistrationBean<>(new ContadorSqlFilter(meterRegistry, limiteRepeticoes));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
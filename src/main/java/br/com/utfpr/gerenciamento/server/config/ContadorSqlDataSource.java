@@ -0,0 +1,102 @@
+package br.com.utfpr.gerenciamento.server.config;
+
+import br.com.utfpr.gerenciamento.server.util.ContadorSql;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * DataSource que registra em {@link ContadorSql} cada comando executado e cada linha lida. Só as conexões obtidas
+ * com uma contagem ativa na thread são instrumentadas; as demais saem do pool sem proxy.
+ */
+public class ContadorSqlDataSource extends DelegatingDataSource {
+
+    public ContadorSqlDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrumentar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrumentar(super.getConnection(username, password));
+    }
+
+    private static Connection instrumentar(Connection connection) {
+        if (ContadorSql.atual() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (metodo, args, resultado) -> {
+            if (resultado instanceof CallableStatement statement) {
+                return proxyStatement(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (resultado instanceof PreparedStatement statement) {
+                return proxyStatement(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (resultado instanceof Statement statement) {
+                return proxyStatement(Statement.class, statement, null);
+            }
+            return resultado;
+        });
+    }
+
+    private static <S extends Statement> S proxyStatement(Class<S> tipo, S statement, String sqlPreparado) {
+        return proxy(tipo, statement, (metodo, args, resultado) -> {
+            if (metodo.getName().startsWith("execute")) {
+                ContadorSql.Estatistica estatistica = ContadorSql.atual();
+                if (estatistica != null) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+                    estatistica.registrarComando(sql);
+                }
+            }
+            if (resultado instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, resultSet, (metodoResultSet, argsResultSet, proximo) -> {
+                    if (Boolean.TRUE.equals(proximo) && metodoResultSet.getName().equals("next")) {
+                        ContadorSql.Estatistica estatistica = ContadorSql.atual();
+                        if (estatistica != null) {
+                            estatistica.registrarLinha();
+                        }
+                    }
+                    return proximo;
+                });
+            }
+            return resultado;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Interceptador {
+        Object depois(Method metodo, Object[] args, Object resultado);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T alvo, Interceptador interceptador) {
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    // o driver (ex.: PGConnection) é acessado direto, sem contagem
+                    return ((Wrapper) alvo).unwrap((Class<?>) args[0]);
+                default:
+                    break;
+            }
+            try {
+                return interceptador.depois(metodo, args, metodo.invoke(alvo, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(ContadorSqlDataSource.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+}
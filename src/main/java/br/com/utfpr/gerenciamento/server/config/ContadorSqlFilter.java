@@ -0,0 +1,209 @@
+package br.com.utfpr.gerenciamento.server.config;
+
+import br.com.utfpr.gerenciamento.server.util.ContadorSql;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Conta os comandos SQL e as linhas lidas em cada requisição. Os totais vão para os cabeçalhos X-SQL-Statements e
+ * X-SQL-Rows e para as métricas utfpr.sql.*, por rota. Quando o mesmo comando se repete a partir do limite
+ * configurado, a requisição é registrada no log como provável N+1.
+ * <p>
+ * Os cabeçalhos precisam sair antes do corpo, então são gravados no primeiro byte escrito: em respostas grandes ou
+ * em streaming, os comandos executados depois disso (ex.: lazy loading durante a serialização) só entram nas métricas.
+ * Requisições assíncronas (StreamingResponseBody, Callable) não são contadas nem recebem os cabeçalhos: o corpo é
+ * produzido em outra thread, fora da contagem, e os totais seriam só os da parte síncrona.
+ */
+@Slf4j
+public class ContadorSqlFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_COMANDOS = "X-SQL-Statements";
+    public static final String HEADER_LINHAS = "X-SQL-Rows";
+
+    private final MeterRegistry meterRegistry;
+    private final int limiteRepeticoes;
+
+    public ContadorSqlFilter(MeterRegistry meterRegistry, int limiteRepeticoes) {
+        this.meterRegistry = meterRegistry;
+        this.limiteRepeticoes = limiteRepeticoes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContadorSql.iniciar();
+        CabecalhosSql wrapper = new CabecalhosSql(response);
+        boolean assincrona = false;
+        try {
+            chain.doFilter(request, wrapper);
+            assincrona = request.isAsyncStarted();
+            if (!assincrona) {
+                wrapper.gravarCabecalhos();
+            }
+        } finally {
+            ContadorSql.Estatistica estatistica = ContadorSql.encerrar();
+            if (!assincrona) {
+                registrar(request, estatistica);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ContadorSql.Estatistica estatistica) {
+        if (estatistica == null || estatistica.getComandos() == 0) {
+            return;
+        }
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        DistributionSummary.builder("utfpr.sql.comandos")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(estatistica.getComandos());
+        DistributionSummary.builder("utfpr.sql.linhas")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(estatistica.getLinhas());
+
+        Map.Entry<String, Integer> maisRepetido = estatistica.getMaisRepetido();
+        if (maisRepetido != null && maisRepetido.getValue() >= limiteRepeticoes) {
+            meterRegistry.counter("utfpr.sql.n1", "method", request.getMethod(), "uri", uri).increment();
+            log.warn("Provável N+1 em {} {}: comando executado {} vezes ({} comandos no total): {}",
+                    request.getMethod(), uri, maisRepetido.getValue(), estatistica.getComandos(), maisRepetido.getKey());
+        }
+    }
+
+    // grava os cabeçalhos uma única vez, antes de qualquer byte do corpo chegar ao container
+    private static class CabecalhosSql extends HttpServletResponseWrapper {
+
+        private boolean gravados;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CabecalhosSql(HttpServletResponse response) {
+            super(response);
+        }
+
+        void gravarCabecalhos() {
+            if (gravados) {
+                return;
+            }
+            gravados = true;
+            ContadorSql.Estatistica estatistica = ContadorSql.atual();
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (estatistica != null && !response.isCommitted()) {
+                response.setHeader(HEADER_COMANDOS, String.valueOf(estatistica.getComandos()));
+                response.setHeader(HEADER_LINHAS, String.valueOf(estatistica.getLinhas()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream original = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        gravarCabecalhos();
+                        original.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        gravarCabecalhos();
+                        original.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        gravarCabecalhos();
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        gravarCabecalhos();
+                        original.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        original.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter original = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        gravarCabecalhos();
+                        original.write(cbuf, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        gravarCabecalhos();
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        gravarCabecalhos();
+                        original.close();
+                    }
+                });
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            gravarCabecalhos();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            gravarCabecalhos();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            gravarCabecalhos();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            gravarCabecalhos();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package br.com.utfpr.gerenciamento.server.config;
 
+import br.com.utfpr.gerenciamento.server.util.DateUtil;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+@Slf4j
 @Configuration
 public class LocalDateDeserializer extends JsonDeserializer<LocalDate> {
 
@@ -19,10 +21,9 @@ public class LocalDateDeserializer extends JsonDeserializer<LocalDate> {
 
     public LocalDate toLocalDate(String value) {
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            return LocalDate.parse(value, formatter);
+            return LocalDate.parse(value, DateUtil.FORMATO_DATA);
         } catch (DateTimeParseException ex) {
-            System.out.println(ex.getMessage());
+            log.warn("Data inválida: {}", ex.getMessage());
             return null;
         }
     }
@@ -1,14 +1,16 @@
 package br.com.utfpr.gerenciamento.server.config;
 
+import br.com.utfpr.gerenciamento.server.util.DateUtil;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+@Slf4j
 public class LocalDateSerializer extends JsonSerializer<LocalDate> {
 
     @Override
@@ -18,10 +20,9 @@ public class LocalDateSerializer extends JsonSerializer<LocalDate> {
 
     public String toString(LocalDate value) {
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            return value.format(formatter);
+            return value.format(DateUtil.FORMATO_DATA);
         } catch (DateTimeParseException ex) {
-            System.out.println(ex.getMessage());
+            log.warn("Não foi possível formatar a data {}: {}", value, ex.getMessage());
             return null;
         }
     }
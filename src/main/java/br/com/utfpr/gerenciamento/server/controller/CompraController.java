@@ -1,23 +1,34 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.CompraDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.CompraResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Compra;
+import br.com.utfpr.gerenciamento.server.model.CompraItem;
 import br.com.utfpr.gerenciamento.server.service.CompraService;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
-import br.com.utfpr.gerenciamento.server.service.ItemService;
+import br.com.utfpr.gerenciamento.server.service.EstoqueService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("compra")
 public class CompraController extends CrudController<Compra, Long> {
 
     private final CompraService compraService;
-    private final ItemService itemService;
+    private final EstoqueService estoqueService;
     private Compra compraOld;
 
-    public CompraController(CompraService compraService, ItemService itemService) {
+    public CompraController(CompraService compraService, EstoqueService estoqueService) {
         this.compraService = compraService;
-        this.itemService = itemService;
+        this.estoqueService = estoqueService;
     }
 
     @Override
@@ -30,24 +41,37 @@ public class CompraController extends CrudController<Compra, Long> {
         if (object.getId() != null) {
             // remove o saldo antigo do item
             compraOld = compraService.findOne(object.getId());
-            compraOld.getCompraItem().stream().forEach(compraItem ->
-                    itemService.diminuiSaldoItem(compraItem.getItem().getId(), compraItem.getQtde(), false)
-            );
+            estoqueService.baixarSaldo(somarPorItem(compraOld), false);
         }
     }
 
     @Override
     public void postSave(Compra object) {
         // aumenta o novo saldo do item
-        object.getCompraItem().stream().forEach(compraItem ->
-                itemService.aumentaSaldoItem(compraItem.getItem().getId(), compraItem.getQtde())
-        );
+        estoqueService.reporSaldo(somarPorItem(object));
     }
 
     @Override
     public void postDelete(Compra object) {
-        object.getCompraItem().stream().forEach(compraItem ->
-                itemService.diminuiSaldoItem(compraItem.getItem().getId(), compraItem.getQtde(), true)
-        );
+        estoqueService.baixarSaldo(somarPorItem(object), true);
+    }
+
+    private Map<Long, BigDecimal> somarPorItem(Compra compra) {
+        return EstoqueService.somarPorItem(compra.getCompraItem(), CompraItem::getItem, CompraItem::getQtde);
+    }
+
+    @Override
+    protected Page<CompraResumoDto> buscarResumo(Pageable pageable) {
+        return compraService.findResumo(pageable);
+    }
+
+    @Override
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id", "dataCompra");
+    }
+
+    @GetMapping("resumo/{id}")
+    public CompraDetalheDto findDetalhe(@PathVariable("id") Long id) {
+        return compraService.findDetalhe(id);
     }
 }
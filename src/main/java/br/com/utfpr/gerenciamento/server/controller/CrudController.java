@@ -1,16 +1,34 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.KeysetPage;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
+import br.com.utfpr.gerenciamento.server.util.PaginacaoUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 public abstract class CrudController<T, ID extends Serializable> {
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     protected abstract CrudService<T, ID> getService();
 
     @GetMapping
@@ -21,7 +39,14 @@ public abstract class CrudController<T, ID extends Serializable> {
     @PostMapping
     public T save(@RequestBody T object) {
         preSave(object);
-        T toReturn = getService().save(object);
+        T toReturn;
+        try {
+            toReturn = getService().save(object);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // entidades com @Version (ex.: Item): o registro foi alterado depois que o cliente o leu
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "O registro foi alterado por outro usuário. Recarregue-o e tente novamente.", e);
+        }
         postSave(object);
         return toReturn;
     }
@@ -68,5 +93,57 @@ public abstract class CrudController<T, ID extends Serializable> {
         }
         return getService().findAll(pageRequest);
     }
-}
 
+    // listagem com projeção, sem o grafo de entidades; só existe nos controllers que implementam buscarResumo
+    @GetMapping("resumo")
+    public Page<?> findResumo(@RequestParam("page") int page,
+                              @RequestParam("size") int size,
+                              @RequestParam(required = false) String order,
+                              @RequestParam(required = false) Boolean asc) {
+        Sort sort = getOrdemResumo();
+        if (order != null && asc != null) {
+            if (!getCamposOrdenacaoResumo().contains(order)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ordenação não permitida: " + order);
+            }
+            sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, order);
+        }
+        return buscarResumo(PageRequest.of(PaginacaoUtil.pagina(page), PaginacaoUtil.tamanho(size), sort));
+    }
+
+    protected Page<?> buscarResumo(Pageable pageable) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    }
+
+    protected Sort getOrdemResumo() {
+        return Sort.by(Sort.Direction.DESC, "id");
+    }
+
+    // campos da entidade principal da consulta aceitos em ?order=
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id");
+    }
+
+    @GetMapping("keyset")
+    public KeysetPage<T> findAllKeyset(@RequestParam(value = "lastId", required = false) ID lastId,
+                                       @RequestParam("size") int size) {
+        return getService().findAllAfter(lastId, size);
+    }
+
+    // exporta todos os registros em NDJSON (um objeto JSON por linha), sem montar a lista em memória
+    @GetMapping("stream")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = outputStream -> getService().streamAll(object -> writeLine(outputStream, object));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    protected void writeLine(OutputStream outputStream, Object object) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(object));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
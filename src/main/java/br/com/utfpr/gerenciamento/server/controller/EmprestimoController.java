@@ -1,15 +1,34 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto;
+import br.com.utfpr.gerenciamento.server.dto.ResultadoLoteDto;
 import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
 import br.com.utfpr.gerenciamento.server.model.Emprestimo;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoDevolucaoItem;
+import br.com.utfpr.gerenciamento.server.model.EmprestimoItem;
 import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
 import br.com.utfpr.gerenciamento.server.service.*;
 import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import br.com.utfpr.gerenciamento.server.util.PaginacaoUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -17,13 +36,13 @@ import java.util.stream.Collectors;
 public class EmprestimoController extends CrudController<Emprestimo, Long> {
 
     private final EmprestimoService emprestimoService;
-    private final ItemService itemService;
+    private final EstoqueService estoqueService;
     private final SaidaService saidaService;
     private final ReservaService reservaService;
 
-    public EmprestimoController(EmprestimoService emprestimoService, ItemService itemService, SaidaService saidaService, ReservaService reservaService) {
+    public EmprestimoController(EmprestimoService emprestimoService, EstoqueService estoqueService, SaidaService saidaService, ReservaService reservaService) {
         this.emprestimoService = emprestimoService;
-        this.itemService = itemService;
+        this.estoqueService = estoqueService;
         this.saidaService = saidaService;
         this.reservaService = reservaService;
     }
@@ -60,10 +79,12 @@ public class EmprestimoController extends CrudController<Emprestimo, Long> {
         }
 
         Emprestimo toReturn = emprestimoService.save(emprestimo);
-        emprestimo.getEmprestimoDevolucaoItem()
-                .stream()
-                .filter(empDevItem -> empDevItem.getStatusDevolucao().equals(StatusDevolucao.D))
-                .forEach(devItem -> itemService.aumentaSaldoItem(devItem.getItem().getId(), devItem.getQtde()));
+        estoqueService.reporSaldo(EstoqueService.somarPorItem(
+                emprestimo.getEmprestimoDevolucaoItem()
+                        .stream()
+                        .filter(empDevItem -> empDevItem.getStatusDevolucao().equals(StatusDevolucao.D))
+                        .collect(Collectors.toList()),
+                EmprestimoDevolucaoItem::getItem, EmprestimoDevolucaoItem::getQtde));
 
         List<EmprestimoDevolucaoItem> listItensToSaida = emprestimo.getEmprestimoDevolucaoItem()
                 .stream()
@@ -77,23 +98,24 @@ public class EmprestimoController extends CrudController<Emprestimo, Long> {
         return toReturn;
     }
 
+    @PostMapping("save-emprestimo-lote")
+    public List<ResultadoLoteDto> saveLote(@RequestBody List<EmprestimoLoteDto> emprestimos) {
+        return emprestimoService.saveLote(emprestimos);
+    }
+
+    @PostMapping("save-devolucao-lote")
+    public List<ResultadoLoteDto> saveDevolucaoLote(@RequestBody List<DevolucaoLoteDto> devolucoes) {
+        return emprestimoService.saveDevolucaoLote(devolucoes);
+    }
+
     @Override
     public void preSave(Emprestimo object) {
         // se está editando, ele retorna o saldo de todos os itens, para depois baixar novamente com os valores atualizados
         if (object.getId() != null) {
             Emprestimo old = emprestimoService.findOne(object.getId());
-            old.getEmprestimoItem().stream().forEach(empItem -> {
-                        itemService.aumentaSaldoItem(empItem.getItem().getId(), empItem.getQtde());
-                    }
-            );
+            estoqueService.reporSaldo(somarPorItem(old));
         }
-        object.getEmprestimoItem().stream().forEach(saidaItem -> {
-            if (saidaItem.getItem() != null) {
-                itemService.saldoItemIsValid(
-                        itemService.getSaldoItem(saidaItem.getItem().getId()), saidaItem.getQtde()
-                );
-            }
-        });
+        estoqueService.validarSaldo(somarPorItem(object));
         object.setEmprestimoDevolucaoItem(emprestimoService.createEmprestimoItemDevolucao(object.getEmprestimoItem()));
 
         // caso tiver apenas materiais permanentes no empréstimo, será setado a data de devolução, para finalizar o empréstimo
@@ -104,25 +126,52 @@ public class EmprestimoController extends CrudController<Emprestimo, Long> {
 
     @Override
     public void postSave(Emprestimo object) {
-        object.getEmprestimoItem().stream().forEach(saidaItem ->
-                itemService.diminuiSaldoItem(saidaItem.getItem().getId(), saidaItem.getQtde(), true)
-        );
+        estoqueService.baixarSaldo(somarPorItem(object), true);
         emprestimoService.sendEmailConfirmacaoEmprestimo(object);
     }
 
     @Override
     public void postDelete(Emprestimo object) {
-        object.getEmprestimoItem().stream().forEach(saidaItem ->
-                itemService.aumentaSaldoItem(saidaItem.getItem().getId(), saidaItem.getQtde())
-        );
+        estoqueService.reporSaldo(somarPorItem(object));
         saidaService.deleteSaidaByEmprestimo(object.getId());
     }
 
+    private Map<Long, BigDecimal> somarPorItem(Emprestimo emprestimo) {
+        return EstoqueService.somarPorItem(emprestimo.getEmprestimoItem(), EmprestimoItem::getItem, EmprestimoItem::getQtde);
+    }
+
     @PostMapping("filter")
     public List<Emprestimo> filter(@RequestBody EmprestimoFilter emprestimoFilter) {
         return emprestimoService.filter(emprestimoFilter);
     }
 
+    @PostMapping("filter/page")
+    public Page<Emprestimo> filter(@RequestBody EmprestimoFilter emprestimoFilter,
+                                   @RequestParam("page") int page,
+                                   @RequestParam("size") int size) {
+        return emprestimoService.filter(emprestimoFilter,
+                PageRequest.of(PaginacaoUtil.pagina(page), PaginacaoUtil.tamanho(size), Sort.by("id")));
+    }
+
+    // devolve um empréstimo por linha (NDJSON), escrevendo cada lote assim que é carregado
+    @PostMapping("filter/stream")
+    public ResponseEntity<StreamingResponseBody> filterStream(@RequestBody EmprestimoFilter emprestimoFilter,
+                                                              @RequestParam(value = "lote", defaultValue = "500") int tamanhoLote) {
+        int lote = PaginacaoUtil.tamanho(tamanhoLote);
+        StreamingResponseBody body = outputStream ->
+                emprestimoService.filter(emprestimoFilter, lote, emprestimos -> {
+                    emprestimos.forEach(emprestimo -> writeLine(outputStream, emprestimo));
+                    try {
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("find-all-by-username/{username}")
     public List<Emprestimo> findAllByUsuarioEmprestimo(@PathVariable("username") String username) {
         return emprestimoService.findAllUsuarioEmprestimo(username);
@@ -133,4 +182,20 @@ public class EmprestimoController extends CrudController<Emprestimo, Long> {
                                      @RequestParam("novaData") String novaData) {
         emprestimoService.changePrazoDevolucao(id, DateUtil.parseStringToLocalDate(novaData));
     }
+
+    // listagem e detalhe sem o grafo de entidades: um número fixo de consultas, apenas os campos exibidos
+    @Override
+    protected Page<EmprestimoResumoDto> buscarResumo(Pageable pageable) {
+        return emprestimoService.findResumo(pageable);
+    }
+
+    @Override
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id", "dataEmprestimo", "prazoDevolucao", "dataDevolucao");
+    }
+
+    @GetMapping("resumo/{id}")
+    public EmprestimoDetalheDto findDetalhe(@PathVariable("id") Long id) {
+        return emprestimoService.findDetalhe(id);
+    }
 }
@@ -1,59 +1,80 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.component.DashboardCache;
 import br.com.utfpr.gerenciamento.server.model.dashboards.*;
 import br.com.utfpr.gerenciamento.server.service.DashboardService;
 import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("dashboard")
 public class HomeController {
 
     private final DashboardService dashboardService;
+    private final DashboardCache dashboardCache;
 
-    public HomeController(DashboardService dashboardService) {
+    public HomeController(DashboardService dashboardService, DashboardCache dashboardCache) {
         this.dashboardService = dashboardService;
+        this.dashboardCache = dashboardCache;
     }
 
     @GetMapping("emprestimo-count-range")
-    public DashboardEmprestimoCountRange findDadosEmprestimoCountRange(@RequestParam("dtIni") String dtIni,
-                                                                       @RequestParam("dtFim") String dtFim) {
-        return dashboardService.findDadosEmprestimoCountRange(DateUtil.parseStringToLocalDate(dtIni),
-                DateUtil.parseStringToLocalDate(dtFim)
-        );
+    public ResponseEntity<DashboardEmprestimoCountRange> findDadosEmprestimoCountRange(@RequestParam("dtIni") String dtIni,
+                                                                                       @RequestParam("dtFim") String dtFim,
+                                                                                       WebRequest request) {
+        return responder(request, () -> dashboardService.findDadosEmprestimoCountRange(DateUtil.parseStringToLocalDate(dtIni),
+                DateUtil.parseStringToLocalDate(dtFim)));
     }
 
     @GetMapping("emprestimo-count-day-range")
-    public List<DashboardEmprestimoDia> findDadosEmprestimoByDayRange(@RequestParam("dtIni") String dtIni,
-                                                                      @RequestParam("dtFim") String dtFim) {
-        return dashboardService.findTotalEmprestimoByDia(DateUtil.parseStringToLocalDate(dtIni),
-                DateUtil.parseStringToLocalDate(dtFim)
-        );
+    public ResponseEntity<List<DashboardEmprestimoDia>> findDadosEmprestimoByDayRange(@RequestParam("dtIni") String dtIni,
+                                                                                      @RequestParam("dtFim") String dtFim,
+                                                                                      WebRequest request) {
+        return responder(request, () -> dashboardService.findTotalEmprestimoByDia(DateUtil.parseStringToLocalDate(dtIni),
+                DateUtil.parseStringToLocalDate(dtFim)));
     }
 
     @GetMapping("itens-mais-emprestados")
-    public List<DashboardItensEmprestados> findItensMaisEmprestados(@RequestParam("dtIni") String dtIni,
-                                                                    @RequestParam("dtFim") String dtFim) {
-        return dashboardService.findItensMaisEmprestados(DateUtil.parseStringToLocalDate(dtIni),
-                DateUtil.parseStringToLocalDate(dtFim));
+    public ResponseEntity<List<DashboardItensEmprestados>> findItensMaisEmprestados(@RequestParam("dtIni") String dtIni,
+                                                                                    @RequestParam("dtFim") String dtFim,
+                                                                                    WebRequest request) {
+        return responder(request, () -> dashboardService.findItensMaisEmprestados(DateUtil.parseStringToLocalDate(dtIni),
+                DateUtil.parseStringToLocalDate(dtFim)));
     }
 
     @GetMapping("itens-mais-adquiridos")
-    public List<DashboardItensAdquiridos> findItensMaisAdquiridos(@RequestParam("dtIni") String dtIni,
-                                                                  @RequestParam("dtFim") String dtFim) {
-        return dashboardService.findItensMaisAdquiridos(DateUtil.parseStringToLocalDate(dtIni),
-                DateUtil.parseStringToLocalDate(dtFim));
+    public ResponseEntity<List<DashboardItensAdquiridos>> findItensMaisAdquiridos(@RequestParam("dtIni") String dtIni,
+                                                                                  @RequestParam("dtFim") String dtFim,
+                                                                                  WebRequest request) {
+        return responder(request, () -> dashboardService.findItensMaisAdquiridos(DateUtil.parseStringToLocalDate(dtIni),
+                DateUtil.parseStringToLocalDate(dtFim)));
     }
 
     @GetMapping("itens-mais-saidas")
-    public List<DashboardItensSaidas> findItensMaisSaidas(@RequestParam("dtIni") String dtIni,
-                                                          @RequestParam("dtFim") String dtFim) {
-        return dashboardService.findItensComMaisSaidas(DateUtil.parseStringToLocalDate(dtIni),
-                DateUtil.parseStringToLocalDate(dtFim));
+    public ResponseEntity<List<DashboardItensSaidas>> findItensMaisSaidas(@RequestParam("dtIni") String dtIni,
+                                                                          @RequestParam("dtFim") String dtFim,
+                                                                          WebRequest request) {
+        return responder(request, () -> dashboardService.findItensComMaisSaidas(DateUtil.parseStringToLocalDate(dtIni),
+                DateUtil.parseStringToLocalDate(dtFim)));
+    }
+
+    // o ETag muda a cada alteração de empréstimo, compra ou saída; sem alteração o navegador recebe 304
+    private <T> ResponseEntity<T> responder(WebRequest request, Supplier<T> consulta) {
+        String etag = dashboardCache.etag();
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(consulta.get());
     }
 }
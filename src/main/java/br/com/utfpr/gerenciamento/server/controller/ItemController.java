@@ -1,25 +1,50 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.ImagemArquivoDto;
+import br.com.utfpr.gerenciamento.server.dto.ImagemUrlDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemResumoDto;
+import br.com.utfpr.gerenciamento.server.minio.config.MinioConfig;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectInfo;
+import br.com.utfpr.gerenciamento.server.minio.service.MinioService;
 import br.com.utfpr.gerenciamento.server.model.Item;
 import br.com.utfpr.gerenciamento.server.model.ItemImage;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
 import br.com.utfpr.gerenciamento.server.service.ItemService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("item")
 public class ItemController extends CrudController<Item, Long> {
 
     private final ItemService itemService;
+    private final MinioService minioService;
+    private final MinioConfig minioConfig;
     private List<ItemImage> imagesToCopy;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, MinioService minioService, MinioConfig minioConfig) {
         this.itemService = itemService;
+        this.minioService = minioService;
+        this.minioConfig = minioConfig;
     }
 
     @Override
@@ -63,6 +88,88 @@ public class ItemController extends CrudController<Item, Long> {
         return itemService.getImagesItem(idItem);
     }
 
+    // largura = largura exibida no front; devolve a menor versão que a atende (miniatura, média ou original)
+    @GetMapping("imagem/{idImagem}")
+    public ResponseEntity<StreamingResponseBody> findImagem(@PathVariable("idImagem") Long idImagem,
+                                                            @RequestParam(value = "largura", required = false) Integer largura,
+                                                            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                            WebRequest request) {
+        ImagemArquivoDto imagem = itemService.findImagem(idImagem, largura);
+        ObjectInfo info = minioService.getObjectInfo(minioConfig.getBucketName(), imagem.nameImage());
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // os objetos são nomeados pelo hash do conteúdo (as versões reduzidas, pelo nome do original) e nunca são
+        // sobrescritos: podem ficar em cache indefinidamente. O original no lugar de uma versão reduzida é revalidado,
+        // porque a mesma URL passa a servir a versão reduzida quando ela existir
+        CacheControl cacheControl = imagem.permanente()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        String etag = "\"" + info.etag() + "\"";
+        if (request.checkNotModified(etag, info.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        long inicio = 0;
+        long tamanho = info.size();
+        HttpStatus status = HttpStatus.OK;
+        HttpHeaders headers = new HttpHeaders();
+        if (range != null) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // apenas um intervalo é atendido; pedidos com vários intervalos recebem o arquivo inteiro
+            if (ranges.size() == 1) {
+                try {
+                    inicio = ranges.get(0).getRangeStart(info.size());
+                    tamanho = ranges.get(0).getRangeEnd(info.size()) - inicio + 1;
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + info.size())
+                            .build();
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + (inicio + tamanho - 1) + "/" + info.size());
+            }
+        }
+
+        // aberto antes da resposta: depois do 200 enviado, um objeto ausente não teria mais como virar 404
+        InputStream conteudo = minioService.downloadObject(minioConfig.getBucketName(), imagem.nameImage(), inicio,
+                status == HttpStatus.PARTIAL_CONTENT ? tamanho : null);
+        if (conteudo == null) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream inputStream = conteudo) {
+                inputStream.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.status(status)
+                .headers(headers)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(etag)
+                .lastModified(info.lastModified())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(imagem.contentType()))
+                .contentLength(tamanho)
+                .body(body);
+    }
+
+    @GetMapping("imagens/{idItem}/urls")
+    public List<ImagemUrlDto> findImagemUrls(@PathVariable("idItem") Long idItem,
+                                             @RequestParam(value = "largura", required = false) Integer largura) {
+        // versão reduzida ainda não gerada: aponta para findImagem, que a gera na primeira requisição
+        return itemService.findImagemUrls(idItem, largura).stream()
+                .map(imagem -> imagem.url() != null ? imagem : new ImagemUrlDto(imagem.id(),
+                        ServletUriComponentsBuilder.fromCurrentContextPath().path("/item/imagem/{idImagem}")
+                                .queryParam("largura", largura).buildAndExpand(imagem.id()).toUriString(),
+                        null, null))
+                .toList();
+    }
+
     @PostMapping("delete-image/{idItem}")
     public void deleteImageItem(@PathVariable("idItem") Long idItem,
                                 @RequestBody ItemImage itemImage) {
@@ -73,4 +180,24 @@ public class ItemController extends CrudController<Item, Long> {
     public Page<Item> findAllPaged(int page, int size, String order, Boolean asc) {
         return super.findAllPaged(page, size, order, asc);
     }
+
+    @Override
+    protected Page<ItemResumoDto> buscarResumo(Pageable pageable) {
+        return itemService.findResumo(pageable);
+    }
+
+    @Override
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id", "nome", "patrimonio", "siorg", "localizacao", "tipoItem", "saldo", "qtdeMinima");
+    }
+
+    @Override
+    protected Sort getOrdemResumo() {
+        return Sort.by("nome");
+    }
+
+    @GetMapping("resumo/{id}")
+    public ItemDetalheDto findDetalhe(@PathVariable("id") Long id) {
+        return itemService.findDetalhe(id);
+    }
 }
@@ -1,29 +1,43 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.RelatorioJobDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusRelatorioJob;
 import br.com.utfpr.gerenciamento.server.model.Relatorio;
 import br.com.utfpr.gerenciamento.server.model.RelatorioParamsValue;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
+import br.com.utfpr.gerenciamento.server.service.RelatorioJobService;
 import br.com.utfpr.gerenciamento.server.service.RelatorioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import net.sf.jasperreports.engine.JasperExportManager;
-import net.sf.jasperreports.engine.JasperPrint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("relatorio")
 public class RelatorioController extends CrudController<Relatorio, Long> {
 
     private final RelatorioService relatorioService;
+    private final RelatorioJobService relatorioJobService;
 
-    public RelatorioController(RelatorioService relatorioService) {
+    public RelatorioController(RelatorioService relatorioService, RelatorioJobService relatorioJobService) {
         this.relatorioService = relatorioService;
+        this.relatorioJobService = relatorioJobService;
     }
 
     @Override
@@ -40,7 +54,7 @@ public class RelatorioController extends CrudController<Relatorio, Long> {
                 relatorioService.saveFileReport(file, request, idItem);
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Falha ao enviar o arquivo do relatório {}", idItem, e);
         }
     }
 
@@ -54,14 +68,61 @@ public class RelatorioController extends CrudController<Relatorio, Long> {
         }
 
         try {
-            JasperPrint jasperPrint = relatorioService.generateReport(idRelatorio, paramsRel);
-            return JasperExportManager.exportReportToPdf(jasperPrint);
+            return relatorioService.generatePdf(idRelatorio, paramsRel);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Falha ao gerar o relatório {}", idRelatorio, e);
         }
         return null;
     }
 
+    // mesmo corpo do generate-report, com o campo opcional "formato" (PDF, XLSX ou CSV)
+    @PostMapping("jobs")
+    public RelatorioJobDto submitJob(@RequestBody Map<String, Object> params, Principal principal) {
+        ObjectMapper mapper = new ObjectMapper();
+        Long idRelatorio = mapper.convertValue(params.get("idRel"), Long.class);
+        List<RelatorioParamsValue> paramsRel = null;
+        if (params.get("params") != null) {
+            paramsRel = Arrays.asList(mapper.convertValue(params.get("params"), RelatorioParamsValue[].class));
+        }
+        return relatorioJobService.submit(idRelatorio, paramsRel, parseFormato(params.get("formato")), principal.getName());
+    }
+
+    private FormatoRelatorio parseFormato(Object formato) {
+        if (formato == null) {
+            return FormatoRelatorio.PDF;
+        }
+        try {
+            return FormatoRelatorio.valueOf(formato.toString().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Formato inválido: " + formato + ". Use " + Arrays.toString(FormatoRelatorio.values()) + ".");
+        }
+    }
+
+    @GetMapping("jobs/{id}")
+    public RelatorioJobDto findJob(@PathVariable("id") String id, Principal principal) {
+        return relatorioJobService.findJob(id, principal.getName());
+    }
+
+    @GetMapping("jobs/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadJob(@PathVariable("id") String id, Principal principal) {
+        String username = principal.getName();
+        RelatorioJobDto job = relatorioJobService.findJob(id, username);
+        // verificado antes de responder: dentro do corpo o status 200 já teria sido enviado
+        if (job.getStatus() != StatusRelatorioJob.CONCLUIDO) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, job.getStatus() == StatusRelatorioJob.ERRO
+                    ? "Falha ao gerar o relatório: " + job.getErro()
+                    : "O relatório ainda não está disponível.");
+        }
+        StreamingResponseBody body = outputStream -> relatorioJobService.download(id, username, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormato().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("relatorio-" + job.getIdRelatorio() + "." + job.getFormato().getExtensao())
+                        .build().toString())
+                .body(body);
+    }
+
     @Override
     public void postDelete(Relatorio object) {
         relatorioService.deleteFileReport(object.getNameReport());
@@ -1,14 +1,19 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.ReservaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Reserva;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
 import br.com.utfpr.gerenciamento.server.service.ReservaService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("reserva")
@@ -39,4 +44,19 @@ public class ReservaController extends CrudController<Reserva, Long> {
     public void postSave(Reserva object) {
         reservaService.sendEmailConfirmacaoReserva(object);
     }
+
+    @Override
+    protected Page<ReservaResumoDto> buscarResumo(Pageable pageable) {
+        return reservaService.findResumo(pageable);
+    }
+
+    @Override
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id", "descricao", "dataReserva", "dataRetirada");
+    }
+
+    @GetMapping("resumo/{id}")
+    public ReservaDetalheDto findDetalhe(@PathVariable("id") Long id) {
+        return reservaService.findDetalhe(id);
+    }
 }
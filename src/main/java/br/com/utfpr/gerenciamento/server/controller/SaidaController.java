@@ -1,22 +1,33 @@
 package br.com.utfpr.gerenciamento.server.controller;
 
+import br.com.utfpr.gerenciamento.server.dto.SaidaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Saida;
+import br.com.utfpr.gerenciamento.server.model.SaidaItem;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
-import br.com.utfpr.gerenciamento.server.service.ItemService;
+import br.com.utfpr.gerenciamento.server.service.EstoqueService;
 import br.com.utfpr.gerenciamento.server.service.SaidaService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("saida")
 public class SaidaController extends CrudController<Saida, Long> {
 
     private final SaidaService saidaService;
-    private final ItemService itemService;
+    private final EstoqueService estoqueService;
 
-    public SaidaController(SaidaService saidaService, ItemService itemService) {
+    public SaidaController(SaidaService saidaService, EstoqueService estoqueService) {
         this.saidaService = saidaService;
-        this.itemService = itemService;
+        this.estoqueService = estoqueService;
     }
 
     @Override
@@ -29,36 +40,37 @@ public class SaidaController extends CrudController<Saida, Long> {
         // se está editando, ele retorna o saldo de todos os itens, para depois baixar novamente com os valores atualizados
         if (object.getId() != null) {
             Saida old = saidaService.findOne(object.getId());
-            old.getSaidaItem().stream().forEach(saidaItem -> {
-                itemService.aumentaSaldoItem(
-                        saidaItem.getItem().getId(), saidaItem.getQtde()
-                );
-            });
+            estoqueService.reporSaldo(somarPorItem(old));
         }
-        object.getSaidaItem().stream().forEach(saidaItem -> {
-            if (saidaItem.getItem() != null) {
-                itemService.saldoItemIsValid(
-                        itemService.getSaldoItem(saidaItem.getItem().getId()), saidaItem.getQtde()
-                );
-            }
-        });
+        estoqueService.validarSaldo(somarPorItem(object));
     }
 
     @Override
     public void postSave(Saida object) {
-        object.getSaidaItem().stream().forEach(saidaItem -> {
-            itemService.diminuiSaldoItem(
-                    saidaItem.getItem().getId(), saidaItem.getQtde(), true
-            );
-        });
+        estoqueService.baixarSaldo(somarPorItem(object), true);
     }
 
     @Override
     public void postDelete(Saida object) {
-        object.getSaidaItem().stream().forEach(saidaItem -> {
-            itemService.aumentaSaldoItem(
-                    saidaItem.getItem().getId(), saidaItem.getQtde()
-            );
-        });
+        estoqueService.reporSaldo(somarPorItem(object));
+    }
+
+    private Map<Long, BigDecimal> somarPorItem(Saida saida) {
+        return EstoqueService.somarPorItem(saida.getSaidaItem(), SaidaItem::getItem, SaidaItem::getQtde);
+    }
+
+    @Override
+    protected Page<SaidaResumoDto> buscarResumo(Pageable pageable) {
+        return saidaService.findResumo(pageable);
+    }
+
+    @Override
+    protected Set<String> getCamposOrdenacaoResumo() {
+        return Set.of("id", "dataSaida", "idEmprestimo");
+    }
+
+    @GetMapping("resumo/{id}")
+    public SaidaDetalheDto findDetalhe(@PathVariable("id") Long id) {
+        return saidaService.findDetalhe(id);
     }
 }
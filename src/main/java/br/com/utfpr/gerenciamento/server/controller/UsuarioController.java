@@ -7,6 +7,7 @@ import br.com.utfpr.gerenciamento.server.service.EmailService;
 import br.com.utfpr.gerenciamento.server.service.PermissaoService;
 import br.com.utfpr.gerenciamento.server.service.UsuarioService;
 import br.com.utfpr.gerenciamento.server.util.Util;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+@Slf4j
 @RestController
 @RequestMapping("usuario")
 public class UsuarioController {
@@ -150,7 +152,7 @@ public class UsuarioController {
 
             return usuario;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Falha ao cadastrar o usuário", ex);
             return null;
         }
     }
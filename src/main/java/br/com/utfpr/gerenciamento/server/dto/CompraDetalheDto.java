@@ -0,0 +1,8 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+public record CompraDetalheDto(@JsonUnwrapped CompraResumoDto compra, List<CompraItemDto> compraItem) {
+}
@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import java.math.BigDecimal;
+
+public record CompraItemDto(Long id, Long itemId, String itemNome, BigDecimal qtde, BigDecimal valor) {
+}
@@ -0,0 +1,14 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.config.LocalDateSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+public record CompraResumoDto(Long id,
+                              @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataCompra,
+                              Long fornecedorId,
+                              String fornecedorNomeFantasia,
+                              Long usuarioId,
+                              String usuarioNome) {
+}
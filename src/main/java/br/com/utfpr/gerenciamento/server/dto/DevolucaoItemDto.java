@@ -0,0 +1,8 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+
+import java.math.BigDecimal;
+
+public record DevolucaoItemDto(Long id, Long itemId, String itemNome, BigDecimal qtde, StatusDevolucao statusDevolucao) {
+}
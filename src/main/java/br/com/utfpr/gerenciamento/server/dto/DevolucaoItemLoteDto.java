@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+
+public record DevolucaoItemLoteDto(Long id, StatusDevolucao statusDevolucao) {
+}
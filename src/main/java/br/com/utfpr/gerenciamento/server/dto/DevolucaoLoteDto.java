@@ -0,0 +1,7 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import java.util.List;
+
+// itens de devolução (ainda pendentes) do empréstimo com o novo status: D (devolvido) ou S (saída)
+public record DevolucaoLoteDto(Long idEmprestimo, List<DevolucaoItemLoteDto> itens) {
+}
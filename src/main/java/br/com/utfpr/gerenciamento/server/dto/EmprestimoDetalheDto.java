@@ -0,0 +1,10 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+public record EmprestimoDetalheDto(@JsonUnwrapped EmprestimoResumoDto emprestimo,
+                                   List<ItemQtdeDto> emprestimoItem,
+                                   List<DevolucaoItemDto> emprestimoDevolucaoItem) {
+}
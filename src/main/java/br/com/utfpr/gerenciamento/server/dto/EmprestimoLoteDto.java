@@ -0,0 +1,16 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.config.LocalDateDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// um empréstimo do lote; dataEmprestimo vazia assume a data atual e idReserva finaliza a reserva atendida
+public record EmprestimoLoteDto(Long usuarioEmprestimoId,
+                                @JsonDeserialize(using = LocalDateDeserializer.class) LocalDate dataEmprestimo,
+                                @JsonDeserialize(using = LocalDateDeserializer.class) LocalDate prazoDevolucao,
+                                String observacao,
+                                Long idReserva,
+                                List<ItemLoteDto> itens) {
+}
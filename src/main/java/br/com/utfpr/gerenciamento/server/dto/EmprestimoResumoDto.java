@@ -0,0 +1,18 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.config.LocalDateSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+// linha da listagem de empréstimos, sem itens e com apenas id e nome dos usuários
+public record EmprestimoResumoDto(Long id,
+                                  @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataEmprestimo,
+                                  @JsonSerialize(using = LocalDateSerializer.class) LocalDate prazoDevolucao,
+                                  @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataDevolucao,
+                                  Long usuarioEmprestimoId,
+                                  String usuarioEmprestimoNome,
+                                  Long usuarioResponsavelId,
+                                  String usuarioResponsavelNome,
+                                  String observacao) {
+}
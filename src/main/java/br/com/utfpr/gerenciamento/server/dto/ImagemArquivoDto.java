@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+// objeto do MinIO que atende a uma requisição de imagem (original ou versão reduzida); permanente = false quando é o
+// original no lugar de uma versão reduzida que não pôde ser gerada
+public record ImagemArquivoDto(String nameImage, String contentType, Integer largura, Integer altura, boolean permanente) {
+}
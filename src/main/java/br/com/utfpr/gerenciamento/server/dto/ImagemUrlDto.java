@@ -0,0 +1,4 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+public record ImagemUrlDto(Long id, String url, Integer largura, Integer altura) {
+}
@@ -0,0 +1,36 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+// imagens apenas com os metadados; o conteúdo continua em item/imagens/{idItem}
+public record ItemDetalheDto(Long id,
+                             String nome,
+                             BigInteger patrimonio,
+                             BigInteger siorg,
+                             String localizacao,
+                             TipoItem tipoItem,
+                             BigDecimal saldo,
+                             BigDecimal qtdeMinima,
+                             Long grupoId,
+                             String grupoDescricao,
+                             String descricao,
+                             BigDecimal valor,
+                             List<ItemImagemDto> imageItem) {
+
+    // usado pela consulta (SELECT new), que não monta listas
+    public ItemDetalheDto(Long id, String nome, BigInteger patrimonio, BigInteger siorg, String localizacao,
+                          TipoItem tipoItem, BigDecimal saldo, BigDecimal qtdeMinima, Long grupoId,
+                          String grupoDescricao, String descricao, BigDecimal valor) {
+        this(id, nome, patrimonio, siorg, localizacao, tipoItem, saldo, qtdeMinima, grupoId, grupoDescricao,
+                descricao, valor, List.of());
+    }
+
+    public ItemDetalheDto comImagens(List<ItemImagemDto> imagens) {
+        return new ItemDetalheDto(id, nome, patrimonio, siorg, localizacao, tipoItem, saldo, qtdeMinima, grupoId,
+                grupoDescricao, descricao, valor, imagens);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+public record ItemImagemDto(Long id, String nameImage, String contentType) {
+}
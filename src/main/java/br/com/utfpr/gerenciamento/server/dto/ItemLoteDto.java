@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import java.math.BigDecimal;
+
+public record ItemLoteDto(Long itemId, BigDecimal qtde) {
+}
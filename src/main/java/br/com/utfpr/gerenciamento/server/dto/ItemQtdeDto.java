@@ -0,0 +1,7 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import java.math.BigDecimal;
+
+// item de empréstimo, reserva ou saída
+public record ItemQtdeDto(Long id, Long itemId, String itemNome, BigDecimal qtde) {
+}
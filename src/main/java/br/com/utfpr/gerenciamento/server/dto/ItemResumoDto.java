@@ -0,0 +1,19 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// linha da listagem de itens, sem descrição e imagens
+public record ItemResumoDto(Long id,
+                            String nome,
+                            BigInteger patrimonio,
+                            BigInteger siorg,
+                            String localizacao,
+                            TipoItem tipoItem,
+                            BigDecimal saldo,
+                            BigDecimal qtdeMinima,
+                            Long grupoId,
+                            String grupoDescricao) {
+}
@@ -0,0 +1,23 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> content;
+
+    // id do último registro da página, usado como lastId na próxima requisição
+    private Object nextId;
+
+    private int size;
+
+    private boolean hasNext;
+
+}
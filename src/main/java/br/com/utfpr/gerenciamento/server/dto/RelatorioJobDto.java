@@ -0,0 +1,31 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusRelatorioJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RelatorioJobDto {
+
+    private String id;
+
+    private Long idRelatorio;
+
+    private FormatoRelatorio formato;
+
+    private StatusRelatorioJob status;
+
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime concluidoEm;
+
+    private String erro;
+}
@@ -0,0 +1,15 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.config.LocalDateSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+public record ReservaResumoDto(Long id,
+                               String descricao,
+                               @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataReserva,
+                               @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataRetirada,
+                               String observacao,
+                               Long usuarioId,
+                               String usuarioNome) {
+}
@@ -0,0 +1,13 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+// resultado de cada registro de um lote, na mesma ordem (indice) da requisição
+public record ResultadoLoteDto(int indice, Long id, boolean sucesso, String mensagem) {
+
+    public static ResultadoLoteDto sucesso(int indice, Long id) {
+        return new ResultadoLoteDto(indice, id, true, null);
+    }
+
+    public static ResultadoLoteDto falha(int indice, Long id, String mensagem) {
+        return new ResultadoLoteDto(indice, id, false, mensagem);
+    }
+}
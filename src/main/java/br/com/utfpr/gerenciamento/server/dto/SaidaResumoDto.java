@@ -0,0 +1,14 @@
+package br.com.utfpr.gerenciamento.server.dto;
+
+import br.com.utfpr.gerenciamento.server.config.LocalDateSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+public record SaidaResumoDto(Long id,
+                             @JsonSerialize(using = LocalDateSerializer.class) LocalDate dataSaida,
+                             String observacao,
+                             Long idEmprestimo,
+                             Long usuarioResponsavelId,
+                             String usuarioResponsavelNome) {
+}
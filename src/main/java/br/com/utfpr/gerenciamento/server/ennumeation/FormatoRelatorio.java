@@ -0,0 +1,23 @@
+package br.com.utfpr.gerenciamento.server.ennumeation;
+
+public enum FormatoRelatorio {
+    PDF("application/pdf", "pdf"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    CSV("text/csv", "csv");
+
+    private String contentType;
+    private String extensao;
+
+    FormatoRelatorio(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.utfpr.gerenciamento.server.ennumeation;
+
+public enum StatusEmail {
+    PENDENTE("Pendente"),
+    ENVIANDO("Enviando"),
+    ENVIADO("Enviado"),
+    ERRO("Erro");
+
+    private String label;
+
+    StatusEmail(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
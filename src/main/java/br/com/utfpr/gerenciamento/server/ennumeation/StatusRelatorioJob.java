@@ -0,0 +1,18 @@
+package br.com.utfpr.gerenciamento.server.ennumeation;
+
+public enum StatusRelatorioJob {
+    PENDENTE("Pendente"),
+    PROCESSANDO("Processando"),
+    CONCLUIDO("Concluído"),
+    ERRO("Erro");
+
+    private String label;
+
+    StatusRelatorioJob(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.utfpr.gerenciamento.server.ennumeation;
+
+// versões reduzidas das imagens dos itens, pelo maior lado em pixels
+public enum TamanhoImagem {
+    MINIATURA(200),
+    MEDIA(800);
+
+    private int lado;
+
+    TamanhoImagem(int lado) {
+        this.lado = lado;
+    }
+
+    public int getLado() {
+        return lado;
+    }
+
+    // menor versão que atende a largura pedida; null quando só o original atende
+    public static TamanhoImagem para(Integer largura) {
+        if (largura == null || largura <= 0) {
+            return null;
+        }
+        for (TamanhoImagem tamanho : values()) {
+            if (tamanho.lado >= largura) {
+                return tamanho;
+            }
+        }
+        return null;
+    }
+
+    public String nomeArquivo(String nameImage) {
+        int ponto = nameImage.lastIndexOf('.');
+        String base = ponto > 0 ? nameImage.substring(0, ponto) : nameImage;
+        return base + "_" + name().toLowerCase() + ".jpg";
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.utfpr.gerenciamento.server.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// registro buscado pelo id informado na URL (detalhes, imagens, relatórios); responde 404
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends EntityNotFoundException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+}
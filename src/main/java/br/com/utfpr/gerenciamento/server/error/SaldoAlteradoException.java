@@ -0,0 +1,13 @@
+package br.com.utfpr.gerenciamento.server.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SaldoAlteradoException extends RuntimeException {
+
+    public SaldoAlteradoException(String message) {
+        super(message);
+    }
+
+}
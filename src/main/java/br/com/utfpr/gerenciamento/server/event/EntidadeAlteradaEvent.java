@@ -0,0 +1,7 @@
+package br.com.utfpr.gerenciamento.server.event;
+
+/**
+ * Publicado pelos serviços sempre que registros da entidade são incluídos, alterados ou excluídos.
+ */
+public record EntidadeAlteradaEvent(Class<?> entidade) {
+}
@@ -35,6 +35,12 @@ public class MinioConfig {
     /** *  Maximum size of other files  */
     private long fileSize;
 
+    /** *  Uploads enviados em paralelo (anexos de uma mesma requisição)  */
+    private int uploadWorkers = 4;
+
+    /** *  Validade das URLs pré-assinadas entregues ao front, em minutos  */
+    private int urlExpiryMinutes = 60;
+
     @Bean
     public MinioClient minioClient() {
         MinioClient minioClient =
@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.minio.payload;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public record ObjectUpload(String objectName, MultipartFile file, String contentType) {
+}
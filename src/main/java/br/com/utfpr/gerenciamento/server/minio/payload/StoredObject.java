@@ -0,0 +1,6 @@
+package br.com.utfpr.gerenciamento.server.minio.payload;
+
+import java.time.Instant;
+
+public record StoredObject(String objectName, long size, Instant lastModified) {
+}
@@ -1,20 +1,36 @@
 package br.com.utfpr.gerenciamento.server.minio.service;
 
 import br.com.utfpr.gerenciamento.server.minio.payload.FileResponse;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectInfo;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectUpload;
+import br.com.utfpr.gerenciamento.server.minio.payload.StoredObject;
 import io.minio.messages.Bucket;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MinioService {
 
     // Upload files in the bucket
     FileResponse putObject(MultipartFile multipartFile, String bucketName, String fileType);
 
-    // Download file from bucket
+    // Upload files in parallel under the given names; fails if any upload fails
+    void putObjects(List<ObjectUpload> uploads, String bucketName);
+
+    // Upload content already in memory (e.g. generated files)
+    void putObject(String bucketName, String objectName, byte[] content, String contentType);
+
+    // Download file from bucket; null if the object or the bucket does not exist
     InputStream downloadObject(String bucketName, String objectName);
 
+    // Download part of a file from bucket (HTTP Range); null if the object or the bucket does not exist
+    InputStream downloadObject(String bucketName, String objectName, long offset, Long length);
+
+    // Size, ETag and modification date, or null if the object does not exist; cached, since object names are never reused
+    ObjectInfo getObjectInfo(String bucketName, String objectName);
+
     //Check whether bucket already exists
     boolean bucketExists(String bucketName);
 
@@ -33,12 +49,22 @@ public interface MinioService {
     // List all object names in the bucket
     List<String> listObjectNames(String bucketName);
 
+    // List the bucket in pages of up to pageSize objects, handing each page to the consumer as it arrives
+    void listObjects(String bucketName, int pageSize, Consumer<List<StoredObject>> consumer);
+
     // Delete file in bucket
     boolean removeObject(String bucketName, String objectName);
 
     // Delete files in bucket
     boolean removeListObject(String bucketName, List<String> objectNameList);
 
+    // Delete files in bucket, returning the names that could not be removed
+    List<String> removeObjects(String bucketName, List<String> objectNames);
+
     // Get file path from bucket
     String getObjectUrl(String bucketName,String objectName);
+
+    // Presigned GET URL valid for minio.url-expiry-minutes; the same URL is reused while it has at least half
+    // of its validity left, so browsers can cache the object
+    String getPresignedUrl(String bucketName, String objectName);
 }
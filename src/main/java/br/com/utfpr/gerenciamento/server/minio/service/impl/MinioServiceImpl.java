@@ -2,19 +2,38 @@ package br.com.utfpr.gerenciamento.server.minio.service.impl;
 
 import br.com.utfpr.gerenciamento.server.minio.config.MinioConfig;
 import br.com.utfpr.gerenciamento.server.minio.payload.FileResponse;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectInfo;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectUpload;
+import br.com.utfpr.gerenciamento.server.minio.payload.StoredObject;
 import br.com.utfpr.gerenciamento.server.minio.service.MinioService;
 import br.com.utfpr.gerenciamento.server.minio.util.MinioUtil;
+import br.com.utfpr.gerenciamento.server.util.FabricaThreads;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
 import io.minio.messages.Bucket;
+import jakarta.annotation.PreDestroy;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -22,10 +41,31 @@ public class MinioServiceImpl implements MinioService {
 
     private final MinioUtil minioUtil;
     private final MinioConfig minioProperties;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final Cache<String, String> presignedUrls;
+    private final Cache<String, ObjectInfo> objectInfos;
 
-    public MinioServiceImpl(MinioUtil minioUtil, MinioConfig minioProperties) {
+    public MinioServiceImpl(MinioUtil minioUtil, MinioConfig minioProperties,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
         this.minioUtil = minioUtil;
         this.minioProperties = minioProperties;
+        this.presignedUrls = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, minioProperties.getUrlExpiryMinutes() / 2)))
+                .maximumSize(10_000)
+                .build();
+        this.objectInfos = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofHours(1))
+                .maximumSize(10_000)
+                .build();
+        int workers = Math.max(1, minioProperties.getUploadWorkers());
+        this.uploadExecutor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), FabricaThreads.criar("minio-upload", threadsVirtuais));
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
     }
 
     @SneakyThrows
@@ -58,9 +98,89 @@ public class MinioServiceImpl implements MinioService {
         }
     }
 
+    @Override
+    public void putObjects(List<ObjectUpload> uploads, String bucketName) {
+        if (uploads.isEmpty()) {
+            return;
+        }
+        // o bucket é verificado uma vez, antes de distribuir os envios entre as threads
+        String bucket = StringUtils.isNotBlank(bucketName) ? bucketName : minioProperties.getBucketName();
+        if (!this.bucketExists(bucket)) {
+            this.makeBucket(bucket);
+        }
+        CompletableFuture<?>[] envios = uploads.stream()
+                .map(upload -> CompletableFuture.runAsync(() -> minioUtil.putObject(bucket, upload.file(),
+                        upload.objectName(), upload.contentType()), uploadExecutor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(envios).join();
+        } catch (CompletionException e) {
+            log.error("MinioServiceImpl - putObjects - Message: ".concat(String.valueOf(e.getCause().getMessage())));
+            throw new RuntimeException("Não foi possível enviar os arquivos.", e.getCause());
+        }
+    }
+
+    @Override
+    public void putObject(String bucketName, String objectName, byte[] content, String contentType) {
+        minioUtil.putObject(bucketName, objectName, new ByteArrayInputStream(content), content.length, contentType);
+    }
+
     @Override
     public InputStream downloadObject(String bucketName, String objectName) {
-        return minioUtil.getObject(bucketName,objectName);
+        return download(bucketName, objectName, () -> minioUtil.getObject(bucketName, objectName));
+    }
+
+    @Override
+    public InputStream downloadObject(String bucketName, String objectName, long offset, Long length) {
+        return download(bucketName, objectName, () -> minioUtil.getObject(bucketName, objectName, offset, length));
+    }
+
+    // null se o objeto (ou o bucket) não existe
+    private InputStream download(String bucketName, String objectName, Supplier<InputStream> getObject) {
+        try {
+            return getObject.get();
+        } catch (Exception e) {
+            if (naoEncontrado(e)) {
+                objectInfos.invalidate(chave(bucketName, objectName));
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public ObjectInfo getObjectInfo(String bucketName, String objectName) {
+        // consulta fora do Cache.get(chave, loader): o Caffeine executa o loader dentro de um bloco synchronized,
+        // o que prenderia a thread virtual à portadora durante a chamada HTTP ao MinIO
+        String chave = chave(bucketName, objectName);
+        ObjectInfo info = objectInfos.getIfPresent(chave);
+        if (info != null) {
+            return info;
+        }
+        StatObjectResponse stat;
+        try {
+            stat = minioUtil.statObject(bucketName, objectName);
+        } catch (Exception e) {
+            if (naoEncontrado(e)) {
+                return null;
+            }
+            throw e;
+        }
+        if (stat == null) {
+            return null;
+        }
+        info = new ObjectInfo(stat.size(), stat.etag(), stat.lastModified().toInstant(), stat.contentType());
+        objectInfos.put(chave, info);
+        return info;
+    }
+
+    // o MinioUtil propaga o ErrorResponseException sem declará-lo (@SneakyThrows)
+    private static boolean naoEncontrado(Exception e) {
+        if (e instanceof ErrorResponseException erro) {
+            String codigo = erro.errorResponse().code();
+            return "NoSuchKey".equals(codigo) || "NoSuchBucket".equals(codigo);
+        }
+        return false;
     }
 
     @Override
@@ -93,18 +213,54 @@ public class MinioServiceImpl implements MinioService {
         return minioUtil.listObjectNames(bucketName);
     }
 
+    @Override
+    public void listObjects(String bucketName, int pageSize, Consumer<List<StoredObject>> consumer) {
+        minioUtil.listObjects(bucketName, pageSize, consumer);
+    }
+
     @Override
     public boolean removeObject(String bucketName, String objectName) {
+        esquecer(bucketName, objectName);
         return minioUtil.removeObject(bucketName, objectName);
     }
 
     @Override
     public boolean removeListObject(String bucketName, List<String> objectNameList) {
+        objectNameList.forEach(objectName -> esquecer(bucketName, objectName));
         return minioUtil.removeObject(bucketName,objectNameList);
     }
 
+    @Override
+    public List<String> removeObjects(String bucketName, List<String> objectNames) {
+        objectNames.forEach(objectName -> esquecer(bucketName, objectName));
+        return minioUtil.removeObjects(bucketName, objectNames);
+    }
+
     @Override
     public String getObjectUrl(String bucketName, String objectName) {
         return minioUtil.getObjectUrl(bucketName, objectName);
     }
+
+    @Override
+    public String getPresignedUrl(String bucketName, String objectName) {
+        // como em getObjectInfo: a assinatura pode consultar a região do bucket no MinIO
+        String chave = chave(bucketName, objectName);
+        String url = presignedUrls.getIfPresent(chave);
+        if (url == null) {
+            url = minioUtil.getObjectUrl(bucketName, objectName, minioProperties.getUrlExpiryMinutes(), TimeUnit.MINUTES);
+            if (url != null) {
+                presignedUrls.put(chave, url);
+            }
+        }
+        return url;
+    }
+
+    private void esquecer(String bucketName, String objectName) {
+        presignedUrls.invalidate(chave(bucketName, objectName));
+        objectInfos.invalidate(chave(bucketName, objectName));
+    }
+
+    private static String chave(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
 }
@@ -0,0 +1,45 @@
+package br.com.utfpr.gerenciamento.server.minio.util;
+
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectUpload;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Nomes de objeto derivados do conteúdo (SHA-256 em hexadecimal + extensão do tipo identificado): arquivos iguais
+ * resultam no mesmo nome, independente do nome original.
+ */
+public class ContentAddressUtils {
+
+    private ContentAddressUtils() {
+    }
+
+    // o tipo e o hash saem da mesma leitura do arquivo; null se o tipo não for suportado
+    public static ObjectUpload toUpload(MultipartFile multipartFile) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+            String fileType = FileTypeUtils.getFileType(inputStream.readNBytes(FileTypeUtils.HEADER_SIZE));
+            if (fileType == null) {
+                return null;
+            }
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            String extensao = fileType.substring(fileType.indexOf('/') + 1).toLowerCase(Locale.ROOT);
+            return new ObjectUpload(HexFormat.of().formatHex(digest.digest()) + "." + extensao, multipartFile, fileType);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.utfpr.gerenciamento.server.minio.util;
 
 import cn.hutool.core.io.FileTypeUtil;
+import cn.hutool.core.util.HexUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,55 +17,61 @@ public class FileTypeUtils {
     private final static String APPLICATION_TYPE = "application/";
     private final static String TXT_TYPE = "text/";
 
-    public static String getFileType(MultipartFile multipartFile) {
-
-        InputStream inputStream;
-        String type;
+    // mesmo cabeçalho lido pelo FileTypeUtil.getType(InputStream)
+    final static int HEADER_SIZE = 64;
 
-        try {
-            inputStream = multipartFile.getInputStream();
-            type = FileTypeUtil.getType(inputStream);
-
-            if (type.equalsIgnoreCase("JPG") || type.equalsIgnoreCase("JPEG")
-                    || type.equalsIgnoreCase("GIF") || type.equalsIgnoreCase("PNG")
-                    || type.equalsIgnoreCase("BMP") || type.equalsIgnoreCase("PCX")
-                    || type.equalsIgnoreCase("TGA") || type.equalsIgnoreCase("PSD")
-                    || type.equalsIgnoreCase("TIFF")|| type.equalsIgnoreCase("WEBP")) {
+    public static String getFileType(MultipartFile multipartFile) {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return getFileType(inputStream.readNBytes(HEADER_SIZE));
+        } catch (IOException e) {
+            log.error(e.getMessage());
+        }
+        return null;
+    }
 
-                return IMAGE_TYPE+type;
-            }
+    // identifica o tipo apenas pelo cabeçalho, sem ler o arquivo inteiro
+    public static String getFileType(byte[] header) {
+        String type = FileTypeUtil.getType(HexUtil.encodeHexStr(header, false));
+        if (type == null) {
+            return null;
+        }
 
-            if (type.equalsIgnoreCase("mp3") || type.equalsIgnoreCase("OGG")
-                    || type.equalsIgnoreCase("WAV") || type.equalsIgnoreCase("REAL")
-                    || type.equalsIgnoreCase("APE") || type.equalsIgnoreCase("MODULE")
-                    || type.equalsIgnoreCase("MIDI") || type.equalsIgnoreCase("VQF")
-                    || type.equalsIgnoreCase("CD")) {
+        if (type.equalsIgnoreCase("JPG") || type.equalsIgnoreCase("JPEG")
+                || type.equalsIgnoreCase("GIF") || type.equalsIgnoreCase("PNG")
+                || type.equalsIgnoreCase("BMP") || type.equalsIgnoreCase("PCX")
+                || type.equalsIgnoreCase("TGA") || type.equalsIgnoreCase("PSD")
+                || type.equalsIgnoreCase("TIFF")|| type.equalsIgnoreCase("WEBP")) {
 
-                return AUDIO_TYPE+type;
-            }
-            if (type.equalsIgnoreCase("mp4") || type.equalsIgnoreCase("avi")
-                    || type.equalsIgnoreCase("MPEG-1") || type.equalsIgnoreCase("RM")
-                    || type.equalsIgnoreCase("ASF") || type.equalsIgnoreCase("WMV")
-                    || type.equalsIgnoreCase("qlv") || type.equalsIgnoreCase("MPEG-2")
-                    || type.equalsIgnoreCase("MPEG4") || type.equalsIgnoreCase("mov")
-                    || type.equalsIgnoreCase("3gp")) {
+            return IMAGE_TYPE+type;
+        }
 
-                return VIDEO_TYPE+type;
-            }
-            if (type.equalsIgnoreCase("doc") || type.equalsIgnoreCase("docx")
-                    || type.equalsIgnoreCase("ppt") || type.equalsIgnoreCase("pptx")
-                    || type.equalsIgnoreCase("xls") || type.equalsIgnoreCase("xlsx")
-                    || type.equalsIgnoreCase("zip")||type.equalsIgnoreCase("jar")) {
+        if (type.equalsIgnoreCase("mp3") || type.equalsIgnoreCase("OGG")
+                || type.equalsIgnoreCase("WAV") || type.equalsIgnoreCase("REAL")
+                || type.equalsIgnoreCase("APE") || type.equalsIgnoreCase("MODULE")
+                || type.equalsIgnoreCase("MIDI") || type.equalsIgnoreCase("VQF")
+                || type.equalsIgnoreCase("CD")) {
 
-                return APPLICATION_TYPE+type;
-            }
-            if (type.equalsIgnoreCase("txt")) {
+            return AUDIO_TYPE+type;
+        }
+        if (type.equalsIgnoreCase("mp4") || type.equalsIgnoreCase("avi")
+                || type.equalsIgnoreCase("MPEG-1") || type.equalsIgnoreCase("RM")
+                || type.equalsIgnoreCase("ASF") || type.equalsIgnoreCase("WMV")
+                || type.equalsIgnoreCase("qlv") || type.equalsIgnoreCase("MPEG-2")
+                || type.equalsIgnoreCase("MPEG4") || type.equalsIgnoreCase("mov")
+                || type.equalsIgnoreCase("3gp")) {
+
+            return VIDEO_TYPE+type;
+        }
+        if (type.equalsIgnoreCase("doc") || type.equalsIgnoreCase("docx")
+                || type.equalsIgnoreCase("ppt") || type.equalsIgnoreCase("pptx")
+                || type.equalsIgnoreCase("xls") || type.equalsIgnoreCase("xlsx")
+                || type.equalsIgnoreCase("zip")||type.equalsIgnoreCase("jar")) {
 
-                return TXT_TYPE+type;
-            }
+            return APPLICATION_TYPE+type;
+        }
+        if (type.equalsIgnoreCase("txt")) {
 
-        }catch (IOException e){
-            log.error(e.getMessage());
+            return TXT_TYPE+type;
         }
 
         return null;
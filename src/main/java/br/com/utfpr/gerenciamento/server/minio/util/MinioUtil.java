@@ -1,7 +1,11 @@
 package br.com.utfpr.gerenciamento.server.minio.util;
 
 import br.com.utfpr.gerenciamento.server.minio.config.MinioConfig;
+import br.com.utfpr.gerenciamento.server.minio.payload.StoredObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import io.minio.messages.Bucket;
 import io.minio.messages.DeleteError;
@@ -12,45 +16,61 @@ import lombok.SneakyThrows;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class MinioUtil {
     private final MinioClient minioClient;
     private final MinioConfig minioConfig;
+    private final MeterRegistry meterRegistry;
 
-    // Upload Files
+    // buckets não são removidos pela aplicação fora do removeBucket; só a existência confirmada fica em cache
+    private final Set<String> existingBuckets = ConcurrentHashMap.newKeySet();
+
+    // Upload Files: envia direto do arquivo temporário do multipart, com tamanho conhecido
     @SneakyThrows
     public void putObject(String bucketName, MultipartFile multipartFile, String filename, String fileType) {
-        InputStream inputStream = new ByteArrayInputStream(multipartFile.getBytes());
-
-        minioClient.putObject(
-                PutObjectArgs.builder().bucket(bucketName).object(filename).stream(
-                        inputStream, -1, minioConfig.getFileSize())
-                        .contentType(fileType)
-                        .build());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            minioClient.putObject(
+                    PutObjectArgs.builder().bucket(bucketName).object(filename).stream(
+                            inputStream, multipartFile.getSize(), -1)
+                            .contentType(fileType)
+                            .build());
+        } catch (ErrorResponseException e) {
+            // bucket removido por fora: a próxima verificação consulta o MinIO novamente
+            if ("NoSuchBucket".equals(e.errorResponse().code())) {
+                existingBuckets.remove(bucketName);
+            }
+            throw e;
+        } finally {
+            sample.stop(timer("put"));
+        }
     }
 
-    // Get a file object as a stream from the specified bucket
+    // Get a file object as a stream from the specified bucket; a missing object fails on the GET itself,
+    // so no statObject round trip is needed
     @SneakyThrows
     public InputStream getObject(String bucketName, String objectName) {
         boolean flag = bucketExists(bucketName);
         if (flag) {
-            StatObjectResponse statObject = statObject(bucketName, objectName);
-            if (statObject != null && statObject.size() > 0) {
-                InputStream stream =
-                        minioClient.getObject(
-                                GetObjectArgs.builder()
-                                        .bucket(bucketName)
-                                        .object(objectName)
-                                        .build());
-                return stream;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return minioClient.getObject(
+                        GetObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build());
+            } finally {
+                sample.stop(timer("get"));
             }
         }
         return null;
@@ -59,12 +79,17 @@ public class MinioUtil {
     // Check if bucket name exists
     @SneakyThrows
     public boolean bucketExists(String bucketName) {
+        if (existingBuckets.contains(bucketName)) {
+            return true;
+        }
         boolean found =
                 minioClient.bucketExists(
                         BucketExistsArgs.builder().
                                 bucket(bucketName).
                                 build());
-
+        if (found) {
+            existingBuckets.add(bucketName);
+        }
         return found;
     }
 
@@ -78,6 +103,7 @@ public class MinioUtil {
                     MakeBucketArgs.builder()
                             .bucket(bucketName)
                             .build());
+            existingBuckets.add(bucketName);
             return true;
         } else {
             return false;
@@ -130,6 +156,7 @@ public class MinioUtil {
 
             //  Delete bucket when bucket is empty
             minioClient.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
+            existingBuckets.remove(bucketName);
             flag = bucketExists(bucketName);
 
             if (!flag) {
@@ -139,6 +166,31 @@ public class MinioUtil {
         return false;
     }
 
+    // List the bucket page by page (one ListObjects request per page), without holding the whole listing in memory
+    @SneakyThrows
+    public void listObjects(String bucketName, int pageSize, Consumer<List<StoredObject>> consumer) {
+        if (!bucketExists(bucketName)) {
+            return;
+        }
+        Iterable<Result<Item>> results = minioClient.listObjects(
+                ListObjectsArgs.builder().bucket(bucketName).recursive(true).maxKeys(pageSize).build());
+        List<StoredObject> page = new ArrayList<>(pageSize);
+        for (Result<Item> result : results) {
+            Item item = result.get();
+            if (item.isDir()) {
+                continue;
+            }
+            page.add(new StoredObject(item.objectName(), item.size(), item.lastModified().toInstant()));
+            if (page.size() == pageSize) {
+                consumer.accept(page);
+                page = new ArrayList<>(pageSize);
+            }
+        }
+        if (!page.isEmpty()) {
+            consumer.accept(page);
+        }
+    }
+
     // List all object names from the specified bucket
     @SneakyThrows
     public List<String> listObjectNames(String bucketName) {
@@ -171,8 +223,12 @@ public class MinioUtil {
     }
 
     // Get file path from the specified bucket
-    @SneakyThrows
     public String getObjectUrl(String bucketName, String objectName) {
+        return getObjectUrl(bucketName, objectName, 2, TimeUnit.MINUTES);
+    }
+
+    @SneakyThrows
+    public String getObjectUrl(String bucketName, String objectName, int duration, TimeUnit unit) {
         boolean flag = bucketExists(bucketName);
         String url = "";
         if (flag) {
@@ -181,7 +237,7 @@ public class MinioUtil {
                             .method(Method.GET)
                             .bucket(bucketName)
                             .object(objectName)
-                            .expiry(2, TimeUnit.MINUTES)
+                            .expiry(duration, unit)
                             .build());
         }
         return url;
@@ -192,10 +248,13 @@ public class MinioUtil {
     public StatObjectResponse statObject(String bucketName, String objectName) {
         boolean flag = bucketExists(bucketName);
         if (flag) {
-            StatObjectResponse stat =
-                    minioClient.statObject(
-                            StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
-            return stat;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return minioClient.statObject(
+                        StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            } finally {
+                sample.stop(timer("stat"));
+            }
         }
         return null;
     }
@@ -205,22 +264,37 @@ public class MinioUtil {
     public InputStream getObject(String bucketName, String objectName, long offset, Long length) {
         boolean flag = bucketExists(bucketName);
         if (flag) {
-            StatObjectResponse statObject = statObject(bucketName, objectName);
-            if (statObject != null && statObject.size() > 0) {
-                InputStream stream =
-                        minioClient.getObject(
-                                GetObjectArgs.builder()
-                                        .bucket(bucketName)
-                                        .object(objectName)
-                                        .offset(offset)
-                                        .length(length)
-                                        .build());
-                return stream;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return minioClient.getObject(
+                        GetObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .offset(offset)
+                                .length(length)
+                                .build());
+            } finally {
+                sample.stop(timer("get"));
             }
         }
         return null;
     }
 
+    // Delete multiple file objects, returning the names MinIO could not remove (missing objects are not errors)
+    @SneakyThrows
+    public List<String> removeObjects(String bucketName, List<String> objectNames) {
+        List<DeleteObject> objects = objectNames.stream().map(DeleteObject::new).toList();
+        List<String> falhas = new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // o resultado é preguiçoso: a remoção só acontece enquanto ele é percorrido
+        for (Result<DeleteError> result : minioClient.removeObjects(
+                RemoveObjectsArgs.builder().bucket(bucketName).objects(objects).build())) {
+            falhas.add(result.get().objectName());
+        }
+        sample.stop(timer("remove"));
+        return falhas;
+    }
+
     // Delete multiple file objects from the specified bucket
     @SneakyThrows
     public boolean removeObject(String bucketName, List<String> objectNames) {
@@ -242,6 +316,21 @@ public class MinioUtil {
         return true;
     }
 
+    // Upload InputStream object of known size to the specified bucket, without the stat round trip
+    @SneakyThrows
+    public void putObject(String bucketName, String objectName, InputStream inputStream, long size, String contentType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder().bucket(bucketName).object(objectName).stream(
+                            inputStream, size, -1)
+                            .contentType(contentType)
+                            .build());
+        } finally {
+            sample.stop(timer("put"));
+        }
+    }
+
     // Upload InputStream object to the specified bucket
     @SneakyThrows
     public boolean putObject(String bucketName, String objectName, InputStream inputStream, String contentType) {
@@ -260,4 +349,9 @@ public class MinioUtil {
         }
         return false;
     }
+
+    // latência das chamadas ao MinIO; no GET, até a resposta começar a chegar
+    private Timer timer(String operacao) {
+        return meterRegistry.timer("utfpr.minio", "operacao", operacao);
+    }
 }
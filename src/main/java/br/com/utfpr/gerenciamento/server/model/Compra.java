@@ -26,7 +26,8 @@ import java.util.Objects;
 public class Compra {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compra_id_seq")
+    @SequenceGenerator(name = "compra_id_seq", sequenceName = "compra_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
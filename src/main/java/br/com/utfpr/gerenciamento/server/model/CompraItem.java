@@ -20,7 +20,8 @@ import java.util.Objects;
 public class CompraItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compra_item_id_seq")
+    @SequenceGenerator(name = "compra_item_id_seq", sequenceName = "compra_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -20,7 +20,9 @@ public class Email {
     private String para;
     private String titulo;
     private String conteudo;
+    @Builder.Default
     private Map<String, byte[]> fileMap = new HashMap<>();
+    @Builder.Default
     private List<String> paraList = new ArrayList<>();
 
     public Email addFile(String fileName, byte[] fileBytes) {
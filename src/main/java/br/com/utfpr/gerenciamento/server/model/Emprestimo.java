@@ -26,7 +26,8 @@ import java.util.Objects;
 public class Emprestimo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emprestimo_id_seq")
+    @SequenceGenerator(name = "emprestimo_id_seq", sequenceName = "emprestimo_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -21,7 +21,8 @@ import java.util.Objects;
 public class EmprestimoDevolucaoItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emprestimo_devolucao_item_id_seq")
+    @SequenceGenerator(name = "emprestimo_devolucao_item_id_seq", sequenceName = "emprestimo_devolucao_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
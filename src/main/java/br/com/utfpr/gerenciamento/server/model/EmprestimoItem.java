@@ -20,7 +20,8 @@ import java.util.Objects;
 public class EmprestimoItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emprestimo_item_id_seq")
+    @SequenceGenerator(name = "emprestimo_item_id_seq", sequenceName = "emprestimo_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
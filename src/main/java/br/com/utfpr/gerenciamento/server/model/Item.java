@@ -24,7 +24,8 @@ import java.util.Objects;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_seq")
+    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -51,7 +52,8 @@ public class Item {
     @Column(name = "tipo_item", length = 1)
     private TipoItem tipoItem;
 
-    @Column(name = "saldo")
+    // alterado só pelos UPDATEs atômicos do EstoqueService; a edição do item com saldo diferente do atual é recusada
+    @Column(name = "saldo", updatable = false)
     private BigDecimal saldo;
 
     @ManyToOne
@@ -66,6 +68,11 @@ public class Item {
     @JsonManagedReference
     private List<ItemImage> imageItem;
 
+    // a edição precisa enviar a versão lida em GET /item/{id}; versão desatualizada responde 409 (CrudController.save)
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -1,5 +1,6 @@
 package br.com.utfpr.gerenciamento.server.model;
 
+import br.com.utfpr.gerenciamento.server.ennumeation.TamanhoImagem;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -19,7 +20,8 @@ import java.util.Objects;
 public class ItemImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_image_id_seq")
+    @SequenceGenerator(name = "item_image_id_seq", sequenceName = "item_image_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -29,6 +31,29 @@ public class ItemImage {
     @Column(name = "name_image")
     private String nameImage;
 
+    @Column(name = "largura")
+    private Integer largura;
+
+    @Column(name = "altura")
+    private Integer altura;
+
+    // geradas na primeira requisição de cada tamanho, sempre em JPEG
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "nameImage", column = @Column(name = "miniatura_name_image")),
+            @AttributeOverride(name = "largura", column = @Column(name = "miniatura_largura")),
+            @AttributeOverride(name = "altura", column = @Column(name = "miniatura_altura"))
+    })
+    private ImagemDerivada miniatura;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "nameImage", column = @Column(name = "media_name_image")),
+            @AttributeOverride(name = "largura", column = @Column(name = "media_largura")),
+            @AttributeOverride(name = "altura", column = @Column(name = "media_altura"))
+    })
+    private ImagemDerivada media;
+
     @ManyToOne
     @JsonBackReference
     @JoinColumn(name = "item_id", referencedColumnName = "id")
@@ -37,6 +62,20 @@ public class ItemImage {
     @Transient
     private String base64;
 
+    public ImagemDerivada getDerivada(TamanhoImagem tamanho) {
+        return switch (tamanho) {
+            case MINIATURA -> miniatura;
+            case MEDIA -> media;
+        };
+    }
+
+    public void setDerivada(TamanhoImagem tamanho, ImagemDerivada derivada) {
+        switch (tamanho) {
+            case MINIATURA -> miniatura = derivada;
+            case MEDIA -> media = derivada;
+        }
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
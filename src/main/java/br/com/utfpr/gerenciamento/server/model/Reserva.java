@@ -26,7 +26,8 @@ import java.util.Objects;
 public class Reserva {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserva_id_seq")
+    @SequenceGenerator(name = "reserva_id_seq", sequenceName = "reserva_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
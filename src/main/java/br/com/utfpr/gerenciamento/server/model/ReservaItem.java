@@ -21,7 +21,8 @@ import java.util.Objects;
 public class ReservaItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserva_item_id_seq")
+    @SequenceGenerator(name = "reserva_item_id_seq", sequenceName = "reserva_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
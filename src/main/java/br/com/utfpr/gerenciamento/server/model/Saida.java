@@ -26,7 +26,8 @@ import java.util.Objects;
 public class Saida {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saida_id_seq")
+    @SequenceGenerator(name = "saida_id_seq", sequenceName = "saida_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
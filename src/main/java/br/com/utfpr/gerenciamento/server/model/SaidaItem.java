@@ -20,7 +20,8 @@ import java.util.Objects;
 public class SaidaItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saida_item_id_seq")
+    @SequenceGenerator(name = "saida_item_id_seq", sequenceName = "saida_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
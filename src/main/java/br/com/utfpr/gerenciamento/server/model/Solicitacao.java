@@ -26,7 +26,8 @@ import java.util.Objects;
 public class Solicitacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitacao_id_seq")
+    @SequenceGenerator(name = "solicitacao_id_seq", sequenceName = "solicitacao_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
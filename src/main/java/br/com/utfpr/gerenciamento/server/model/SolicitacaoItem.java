@@ -21,7 +21,8 @@ import java.util.Objects;
 public class SolicitacaoItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitacao_item_id_seq")
+    @SequenceGenerator(name = "solicitacao_item_id_seq", sequenceName = "solicitacao_item_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -1,16 +1,13 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
 import br.com.utfpr.gerenciamento.server.model.Cidade;
-import br.com.utfpr.gerenciamento.server.model.Estado;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CidadeRepository extends JpaRepository<Cidade, Long> {
 
-    List<Cidade> findByNomeLikeIgnoreCase(String query);
-
-    List<Cidade> findAllByEstado(Estado estado);
-
-    List<Cidade> findByNomeLikeIgnoreCaseAndEstado(String query, Estado estado);
+    @Query("SELECT c FROM Cidade c LEFT JOIN FETCH c.estado e LEFT JOIN FETCH e.pais")
+    List<Cidade> findAllFetchEstado();
 }
@@ -1,13 +1,18 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
+import br.com.utfpr.gerenciamento.server.dto.CompraItemDto;
+import br.com.utfpr.gerenciamento.server.dto.CompraResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Compra;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensAdquiridos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface CompraRepository extends JpaRepository<Compra, Long> {
 
@@ -21,4 +26,20 @@ public interface CompraRepository extends JpaRepository<Compra, Long> {
             "GROUP BY i.nome")
     List<DashboardItensAdquiridos> findItensMaisAdquiridos(@Param("dtIni") LocalDate dtIni,
                                                            @Param("dtFim") LocalDate dtFim);
+
+    @Query(value = "SELECT new br.com.utfpr.gerenciamento.server.dto.CompraResumoDto(c.id, c.dataCompra, f.id, f.nomeFantasia, u.id, u.nome) " +
+            "FROM Compra c LEFT JOIN c.fornecedor f LEFT JOIN c.usuario u",
+            countQuery = "SELECT COUNT(c) FROM Compra c")
+    Page<CompraResumoDto> findResumo(Pageable pageable);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.CompraResumoDto(c.id, c.dataCompra, f.id, f.nomeFantasia, u.id, u.nome) " +
+            "FROM Compra c LEFT JOIN c.fornecedor f LEFT JOIN c.usuario u " +
+            "WHERE c.id = :id")
+    Optional<CompraResumoDto> findResumoById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.CompraItemDto(ci.id, i.id, i.nome, ci.qtde, ci.valor) " +
+            "FROM CompraItem ci JOIN ci.item i " +
+            "WHERE ci.compra.id = :id " +
+            "ORDER BY ci.id")
+    List<CompraItemDto> findItensResumoById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package br.com.utfpr.gerenciamento.server.repository;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusEmail;
+import br.com.utfpr.gerenciamento.server.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT DISTINCT e FROM EmailOutbox e LEFT JOIN FETCH e.anexos WHERE e.id IN :ids ORDER BY e.id")
+    List<EmailOutbox> findAllWithAnexosByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(StatusEmail status);
+}
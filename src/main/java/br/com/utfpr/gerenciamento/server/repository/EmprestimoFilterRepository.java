@@ -2,10 +2,18 @@ package br.com.utfpr.gerenciamento.server.repository;
 
 import br.com.utfpr.gerenciamento.server.model.Emprestimo;
 import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmprestimoFilterRepository {
 
     List<Emprestimo> filter(EmprestimoFilter emprestimoFilter);
+
+    Page<Emprestimo> filter(EmprestimoFilter emprestimoFilter, Pageable pageable);
+
+    // percorre o resultado em lotes ordenados por id, sem manter o resultado completo em memória
+    void filter(EmprestimoFilter emprestimoFilter, int tamanhoLote, Consumer<List<Emprestimo>> consumer);
 }
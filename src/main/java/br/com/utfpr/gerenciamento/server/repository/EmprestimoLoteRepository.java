@@ -0,0 +1,53 @@
+package br.com.utfpr.gerenciamento.server.repository;
+
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemLoteDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// gravação de empréstimos e devoluções em lote (JDBC batch), sem passar pelo contexto de persistência
+public interface EmprestimoLoteRepository {
+
+    record ItemSaldo(Long id, TipoItem tipoItem, BigDecimal saldo) {
+    }
+
+    record NovoEmprestimo(Long usuarioEmprestimoId, Long usuarioResponsavelId, LocalDate dataEmprestimo,
+                          LocalDate prazoDevolucao, String observacao,
+                          List<ItemLoteDto> itens, List<ItemLoteDto> devolucao) {
+    }
+
+    record SituacaoEmprestimo(Long id, LocalDate dataDevolucao, Long usuarioResponsavelId) {
+    }
+
+    record DevolucaoItem(Long id, Long emprestimoId, Long itemId, BigDecimal qtde, StatusDevolucao status) {
+    }
+
+    record NovaSaida(Long emprestimoId, Long usuarioId, List<ItemLoteDto> itens) {
+    }
+
+    // bloqueia as linhas dos itens até o fim da transação: o saldo lido continua válido até a baixa
+    Map<Long, ItemSaldo> findItens(Collection<Long> ids);
+
+    Set<Long> findUsuarios(Collection<Long> ids);
+
+    // insere empréstimos, itens e itens de devolução; devolve os ids na ordem recebida
+    List<Long> inserir(List<NovoEmprestimo> emprestimos);
+
+    Map<Long, SituacaoEmprestimo> findSituacao(Collection<Long> idsEmprestimo);
+
+    List<DevolucaoItem> findDevolucaoItens(Collection<Long> idsEmprestimo);
+
+    // só altera itens ainda pendentes; devolve quantos foram alterados
+    int atualizarStatusDevolucao(List<DevolucaoItemLoteDto> itens);
+
+    void finalizar(Collection<Long> idsEmprestimo, LocalDate dataDevolucao);
+
+    void inserirSaidas(List<NovaSaida> saidas, LocalDate dataSaida);
+}
@@ -1,15 +1,22 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoItemDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto;
 import br.com.utfpr.gerenciamento.server.model.Emprestimo;
 import br.com.utfpr.gerenciamento.server.model.Usuario;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoDia;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensEmprestados;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long> {
 
@@ -38,4 +45,41 @@ public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long> {
     List<Emprestimo> findAllByDataDevolucaoIsNullOrderById();
 
     List<Emprestimo> findByDataDevolucaoIsNullAndPrazoDevolucaoEquals(LocalDate dt);
+
+    // as duas listas do empréstimo são buscadas em consultas separadas (não dá para fazer JOIN FETCH de duas
+    // listas na mesma consulta); a segunda completa as mesmas instâncias no contexto de persistência
+    @Query("SELECT DISTINCT e FROM Emprestimo e " +
+            "LEFT JOIN FETCH e.usuarioEmprestimo ue LEFT JOIN FETCH ue.permissoes " +
+            "LEFT JOIN FETCH e.usuarioResponsavel ur LEFT JOIN FETCH ur.permissoes " +
+            "LEFT JOIN FETCH e.emprestimoItem ei LEFT JOIN FETCH ei.item " +
+            "WHERE e.id IN :ids ORDER BY e.id")
+    List<Emprestimo> findAllComItensByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT e FROM Emprestimo e " +
+            "LEFT JOIN FETCH e.emprestimoDevolucaoItem d LEFT JOIN FETCH d.item " +
+            "WHERE e.id IN :ids")
+    List<Emprestimo> findAllComDevolucaoItensByIdIn(@Param("ids") Collection<Long> ids);
+
+    // consultas de leitura com projeção: não carregam itens, senhas nem permissões dos usuários
+    @Query(value = "SELECT new br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto(e.id, e.dataEmprestimo, e.prazoDevolucao, e.dataDevolucao, ue.id, ue.nome, ur.id, ur.nome, e.observacao) " +
+            "FROM Emprestimo e LEFT JOIN e.usuarioEmprestimo ue LEFT JOIN e.usuarioResponsavel ur",
+            countQuery = "SELECT COUNT(e) FROM Emprestimo e")
+    Page<EmprestimoResumoDto> findResumo(Pageable pageable);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto(e.id, e.dataEmprestimo, e.prazoDevolucao, e.dataDevolucao, ue.id, ue.nome, ur.id, ur.nome, e.observacao) " +
+            "FROM Emprestimo e LEFT JOIN e.usuarioEmprestimo ue LEFT JOIN e.usuarioResponsavel ur " +
+            "WHERE e.id = :id")
+    Optional<EmprestimoResumoDto> findResumoById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto(ei.id, i.id, i.nome, ei.qtde) " +
+            "FROM EmprestimoItem ei JOIN ei.item i " +
+            "WHERE ei.emprestimo.id = :id " +
+            "ORDER BY ei.id")
+    List<ItemQtdeDto> findItensResumoById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.DevolucaoItemDto(d.id, i.id, i.nome, d.qtde, d.statusDevolucao) " +
+            "FROM EmprestimoDevolucaoItem d JOIN d.item i " +
+            "WHERE d.emprestimo.id = :id " +
+            "ORDER BY d.id")
+    List<DevolucaoItemDto> findDevolucaoItensResumoById(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package br.com.utfpr.gerenciamento.server.repository;
+
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoCountRange;
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoDia;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// tabela emprestimo_resumo_dia: quantidade de empréstimos por data, prazo e situação, mantida pelos gatilhos da
+// tabela emprestimo (V2.11) em toda inclusão, alteração ou exclusão
+public interface EmprestimoResumoRepository {
+
+    // refaz o resumo a partir dos empréstimos gravados
+    void recalcular();
+
+    DashboardEmprestimoCountRange countRange(LocalDate dtIni, LocalDate dtFim, LocalDate hoje);
+
+    List<DashboardEmprestimoDia> countByDataEmprestimo(LocalDate dtIni, LocalDate dtFim);
+}
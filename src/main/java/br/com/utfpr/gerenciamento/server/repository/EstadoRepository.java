@@ -2,10 +2,12 @@ package br.com.utfpr.gerenciamento.server.repository;
 
 import br.com.utfpr.gerenciamento.server.model.Estado;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface EstadoRepository extends JpaRepository<Estado, Long> {
 
-    List<Estado> findByNomeLikeIgnoreCase(String query);
+    @Query("SELECT e FROM Estado e LEFT JOIN FETCH e.pais")
+    List<Estado> findAllFetchPais();
 }
@@ -1,11 +1,24 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
 import br.com.utfpr.gerenciamento.server.model.Fornecedor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface FornecedorRepository extends JpaRepository<Fornecedor, Long> {
 
-    List<Fornecedor> findByNomeFantasiaLikeIgnoreCase (String query);
+    List<Fornecedor> findAllByOrderByNomeFantasia(Limit limit);
+
+    @Query(value = "SELECT F.* FROM FORNECEDOR F " +
+            "WHERE F_BUSCA(F.NOME_FANTASIA) LIKE F_BUSCA(:contem) " +
+            "ORDER BY F_BUSCA(F.NOME_FANTASIA) LIKE F_BUSCA(:prefixo) DESC, " +
+            "SIMILARITY(F_BUSCA(F.NOME_FANTASIA), F_BUSCA(:termo)) DESC, F.NOME_FANTASIA " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Fornecedor> search(@Param("termo") String termo,
+                            @Param("contem") String contem,
+                            @Param("prefixo") String prefixo,
+                            @Param("limite") int limite);
 }
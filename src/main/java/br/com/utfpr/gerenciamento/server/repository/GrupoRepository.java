@@ -3,9 +3,5 @@ package br.com.utfpr.gerenciamento.server.repository;
 import br.com.utfpr.gerenciamento.server.model.Grupo;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.List;
-
 public interface GrupoRepository extends JpaRepository<Grupo, Long> {
-
-    List<Grupo> findByDescricaoLikeIgnoreCase(String query);
 }
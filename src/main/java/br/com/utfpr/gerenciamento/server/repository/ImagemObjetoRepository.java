@@ -0,0 +1,23 @@
+package br.com.utfpr.gerenciamento.server.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// tabela imagem_objeto: objetos de imagem no MinIO e a quantidade de item_image que aponta para cada um,
+// mantida por trigger na tabela item_image
+public interface ImagemObjetoRepository {
+
+    // registra o objeto e bloqueia a linha até o fim da transação; true se ele precisa ser enviado (objeto novo ou
+    // sem nenhuma referência, que a coleta de órfãos pode ter removido do MinIO)
+    boolean reservar(String nameImage);
+
+    // objetos sem referência há mais tempo que a carência, bloqueados para a transação atual
+    List<String> findOrfaos(Duration carencia, int limite);
+
+    void remover(Collection<String> nameImages);
+
+    // nomes, entre os informados, que são objetos registrados ou versões reduzidas de alguma imagem
+    Set<String> findReferenciados(Collection<String> nameImages);
+}
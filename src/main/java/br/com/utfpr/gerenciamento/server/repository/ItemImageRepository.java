@@ -6,6 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface ItemImageRepository extends JpaRepository<ItemImage, Long> {
-    List<ItemImage> findItemImageByNameImage(String imageName);
+    List<ItemImage> findAllByItemIdOrderById(Long idItem);
 
 }
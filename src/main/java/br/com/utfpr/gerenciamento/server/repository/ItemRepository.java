@@ -1,27 +1,62 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
+import br.com.utfpr.gerenciamento.server.dto.ItemDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemImagemDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Item;
 import br.com.utfpr.gerenciamento.server.model.ItemImage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findAllBySaldoIsGreaterThanOrderByNome(BigDecimal saldo);
-
-    List<Item> findByNomeLikeIgnoreCaseOrderByNome(String query);
-
-    List<Item> findByNomeLikeIgnoreCaseAndSaldoIsGreaterThanOrderByNome(String query, BigDecimal saldo);
+    List<Item> findAllBySaldoIsGreaterThanOrderByNome(BigDecimal saldo, Limit limit);
+
+    // f_busca e os índices trigram estão na migração V2.6
+    @Query(value = "SELECT I.* FROM ITEM I " +
+            "WHERE F_BUSCA(I.NOME) LIKE F_BUSCA(:contem) " +
+            "AND (:somenteComSaldo = FALSE OR I.SALDO > 0) " +
+            "ORDER BY F_BUSCA(I.NOME) LIKE F_BUSCA(:prefixo) DESC, " +
+            "SIMILARITY(F_BUSCA(I.NOME), F_BUSCA(:termo)) DESC, I.NOME " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Item> search(@Param("termo") String termo,
+                      @Param("contem") String contem,
+                      @Param("prefixo") String prefixo,
+                      @Param("somenteComSaldo") boolean somenteComSaldo,
+                      @Param("limite") int limite);
 
     List<Item> findByGrupoIdOrderByNome(Long idGrupo);
 
+    @Query("SELECT i.saldo FROM Item i WHERE i.id = :id")
+    Optional<BigDecimal> findSaldoById(@Param("id") Long id);
+
     @Query("SELECT COUNT(i.id) FROM Item i WHERE i.saldo <= i.qtdeMinima")
     long countAllByQtdeMinimaIsLessThanSaldo();
 
 
-    List<Item> findAllByOrderByNome();
+    List<Item> findAllByOrderByNome(Limit limit);
+
+    @Query(value = "SELECT new br.com.utfpr.gerenciamento.server.dto.ItemResumoDto(i.id, i.nome, i.patrimonio, i.siorg, i.localizacao, i.tipoItem, i.saldo, i.qtdeMinima, g.id, g.descricao) " +
+            "FROM Item i LEFT JOIN i.grupo g",
+            countQuery = "SELECT COUNT(i) FROM Item i")
+    Page<ItemResumoDto> findResumo(Pageable pageable);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ItemDetalheDto(i.id, i.nome, i.patrimonio, i.siorg, i.localizacao, i.tipoItem, i.saldo, i.qtdeMinima, g.id, g.descricao, i.descricao, i.valor) " +
+            "FROM Item i LEFT JOIN i.grupo g " +
+            "WHERE i.id = :id")
+    Optional<ItemDetalheDto> findDetalheById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ItemImagemDto(ii.id, ii.nameImage, ii.contentType) " +
+            "FROM ItemImage ii " +
+            "WHERE ii.item.id = :id " +
+            "ORDER BY ii.id")
+    List<ItemImagemDto> findImagensResumoById(@Param("id") Long id);
 }
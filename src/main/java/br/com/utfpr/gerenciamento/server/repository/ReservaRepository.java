@@ -1,14 +1,19 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
+import br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto;
+import br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Reserva;
 import br.com.utfpr.gerenciamento.server.model.Usuario;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensEmprestados;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
 
@@ -20,4 +25,20 @@ public interface ReservaRepository extends JpaRepository<Reserva, Long> {
             " ON RI.RESERVA_ID = R.ID\n" +
             "WHERE RI.ITEM_ID = :IDITEM \n", nativeQuery = true)
     List<Reserva> findReservaByIdItem(@Param("IDITEM") Long id);
+
+    @Query(value = "SELECT new br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto(r.id, r.descricao, r.dataReserva, r.dataRetirada, r.observacao, u.id, u.nome) " +
+            "FROM Reserva r LEFT JOIN r.usuario u",
+            countQuery = "SELECT COUNT(r) FROM Reserva r")
+    Page<ReservaResumoDto> findResumo(Pageable pageable);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto(r.id, r.descricao, r.dataReserva, r.dataRetirada, r.observacao, u.id, u.nome) " +
+            "FROM Reserva r LEFT JOIN r.usuario u " +
+            "WHERE r.id = :id")
+    Optional<ReservaResumoDto> findResumoById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto(ri.id, i.id, i.nome, ri.qtde) " +
+            "FROM ReservaItem ri JOIN ri.item i " +
+            "WHERE ri.reserva.id = :id " +
+            "ORDER BY ri.id")
+    List<ItemQtdeDto> findItensResumoById(@Param("id") Long id);
 }
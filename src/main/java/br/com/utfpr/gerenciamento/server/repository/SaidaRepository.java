@@ -1,13 +1,18 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
+import br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto;
+import br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Saida;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensSaidas;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface SaidaRepository extends JpaRepository<Saida, Long> {
 
@@ -23,4 +28,20 @@ public interface SaidaRepository extends JpaRepository<Saida, Long> {
                                                    @Param("dtFim") LocalDate dtFim);
 
     Saida findByIdEmprestimo(Long idEmprestimo);
+
+    @Query(value = "SELECT new br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto(s.id, s.dataSaida, s.observacao, s.idEmprestimo, u.id, u.nome) " +
+            "FROM Saida s LEFT JOIN s.usuarioResponsavel u",
+            countQuery = "SELECT COUNT(s) FROM Saida s")
+    Page<SaidaResumoDto> findResumo(Pageable pageable);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto(s.id, s.dataSaida, s.observacao, s.idEmprestimo, u.id, u.nome) " +
+            "FROM Saida s LEFT JOIN s.usuarioResponsavel u " +
+            "WHERE s.id = :id")
+    Optional<SaidaResumoDto> findResumoById(@Param("id") Long id);
+
+    @Query("SELECT new br.com.utfpr.gerenciamento.server.dto.ItemQtdeDto(si.id, i.id, i.nome, si.qtde) " +
+            "FROM SaidaItem si JOIN si.item i " +
+            "WHERE si.saida.id = :id " +
+            "ORDER BY si.id")
+    List<ItemQtdeDto> findItensResumoById(@Param("id") Long id);
 }
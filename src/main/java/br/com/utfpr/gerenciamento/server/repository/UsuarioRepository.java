@@ -1,10 +1,12 @@
 package br.com.utfpr.gerenciamento.server.repository;
 
 import br.com.utfpr.gerenciamento.server.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
@@ -17,47 +19,40 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Usuario findByEmail(String email);
 
-    List<Usuario> findByNomeLikeIgnoreCase(String query);
-
-    @Query(value="SELECT DISTINCT U.* " +
-            "FROM USUARIO U  " +
-            "LEFT JOIN USUARIO_PERMISSOES UE " +
-            " ON UE.USUARIO_ID = U.ID " +
-            "LEFT JOIN PERMISSAO P " +
-            " ON P.ID = UE.PERMISSOES_ID " +
-            "WHERE ((UPPER(U.DOCUMENTO) LIKE :QUERY) " +
-            " OR (UPPER(U.NOME) LIKE :QUERY) " +
-            " OR (UPPER(U.USERNAME) LIKE :QUERY)) " +
-            " AND P.ID IN (3, 4) " , nativeQuery = true)
-    List<Usuario> findUsuarioCompleteCustom(@Param("QUERY") String query);
-
-    @Query(value="SELECT DISTINCT U.* " +
-            "FROM USUARIO U  " +
-            "LEFT JOIN USUARIO_PERMISSOES UE " +
-            " ON UE.USUARIO_ID = U.ID " +
-            "LEFT JOIN PERMISSAO P " +
-            " ON P.ID = UE.PERMISSOES_ID " +
-            "WHERE P.ID IN (3, 4) ", nativeQuery = true)
-    List<Usuario> findAllCustom();
-
-    @Query(value="SELECT DISTINCT U.* " +
-            "FROM USUARIO U  " +
-            "LEFT JOIN USUARIO_PERMISSOES UE " +
-            " ON UE.USUARIO_ID = U.ID " +
-            "LEFT JOIN PERMISSAO P " +
-            " ON P.ID = UE.PERMISSOES_ID " +
-            "WHERE P.ID IN (1, 2) ", nativeQuery = true)
-    List<Usuario> findAllCustomLab();
-
-    @Query(value="SELECT DISTINCT U.* " +
-            "FROM USUARIO U  " +
-            "LEFT JOIN USUARIO_PERMISSOES UE " +
-            " ON UE.USUARIO_ID = U.ID " +
-            "LEFT JOIN PERMISSAO P " +
-            " ON P.ID = UE.PERMISSOES_ID " +
-            "WHERE ((UPPER(U.DOCUMENTO) LIKE :QUERY) " +
-            " OR (UPPER(U.NOME) LIKE :QUERY) " +
-            " OR (UPPER(U.USERNAME) LIKE :QUERY)) " +
-            " AND P.ID IN (1, 2) " , nativeQuery = true)
-    List<Usuario> findUsuarioCompleteCustomLab(@Param("QUERY") String query);
+    List<Usuario> findAllByOrderByNome(Limit limit);
+
+    // f_busca e os índices trigram estão na migração V2.6
+    @Query(value = "SELECT U.* FROM USUARIO U " +
+            "WHERE F_BUSCA(U.NOME) LIKE F_BUSCA(:contem) " +
+            "ORDER BY F_BUSCA(U.NOME) LIKE F_BUSCA(:prefixo) DESC, " +
+            "SIMILARITY(F_BUSCA(U.NOME), F_BUSCA(:termo)) DESC, U.NOME " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Usuario> searchByNome(@Param("termo") String termo,
+                               @Param("contem") String contem,
+                               @Param("prefixo") String prefixo,
+                               @Param("limite") int limite);
+
+    @Query(value = "SELECT U.* FROM USUARIO U " +
+            "WHERE (F_BUSCA(U.DOCUMENTO) LIKE F_BUSCA(:contem) " +
+            " OR F_BUSCA(U.NOME) LIKE F_BUSCA(:contem) " +
+            " OR F_BUSCA(U.USERNAME) LIKE F_BUSCA(:contem)) " +
+            " AND EXISTS (SELECT 1 FROM USUARIO_PERMISSOES UP " +
+            "  WHERE UP.USUARIO_ID = U.ID AND UP.PERMISSOES_ID IN (:permissoes)) " +
+            "ORDER BY (F_BUSCA(U.NOME) LIKE F_BUSCA(:prefixo) OR F_BUSCA(U.USERNAME) LIKE F_BUSCA(:prefixo)) DESC, " +
+            "GREATEST(SIMILARITY(F_BUSCA(U.NOME), F_BUSCA(:termo)), " +
+            " SIMILARITY(F_BUSCA(U.USERNAME), F_BUSCA(:termo))) DESC, U.NOME " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Usuario> searchByPermissoes(@Param("termo") String termo,
+                                     @Param("contem") String contem,
+                                     @Param("prefixo") String prefixo,
+                                     @Param("permissoes") Collection<Long> permissoes,
+                                     @Param("limite") int limite);
+
+    @Query(value = "SELECT U.* FROM USUARIO U " +
+            "WHERE EXISTS (SELECT 1 FROM USUARIO_PERMISSOES UP " +
+            " WHERE UP.USUARIO_ID = U.ID AND UP.PERMISSOES_ID IN (:permissoes)) " +
+            "ORDER BY U.NOME " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Usuario> findAllByPermissoes(@Param("permissoes") Collection<Long> permissoes,
+                                      @Param("limite") int limite);
 }
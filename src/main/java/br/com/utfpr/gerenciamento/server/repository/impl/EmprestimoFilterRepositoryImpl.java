@@ -1,39 +1,124 @@
 package br.com.utfpr.gerenciamento.server.repository.impl;
 
-import br.com.utfpr.gerenciamento.server.model.Emprestimo;
-import br.com.utfpr.gerenciamento.server.model.Permissao;
-import br.com.utfpr.gerenciamento.server.model.Usuario;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.*;
 import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
 import br.com.utfpr.gerenciamento.server.repository.EmprestimoFilterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Repository
 public class EmprestimoFilterRepositoryImpl implements EmprestimoFilterRepository {
 
+    private static final int TAMANHO_LOTE_PADRAO = 500;
+
+    private static final String SQL_FROM = "FROM \n" +
+            "EMPRESTIMO E \n" +
+            "LEFT JOIN USUARIO UE\n" +
+            "ON UE.ID = E.USUARIO_EMPRESTIMO_ID\n" +
+            "LEFT JOIN USUARIO UR \n" +
+            "ON UR.ID = E.USUARIO_RESPONSAVEL_ID";
+
+    private static final String SQL_SELECT = "SELECT E.ID, E.DATA_EMPRESTIMO, E.PRAZO_DEVOLUCAO, E.DATA_DEVOLUCAO, E.OBSERVACAO, \n" +
+            colunasUsuario("UE") + ", \n" +
+            colunasUsuario("UR") + " \n" +
+            SQL_FROM;
+
+    private static final String SQL_PERMISSOES = "SELECT " +
+            " UP.USUARIO_ID," +
+            " P.ID," +
+            " P.NOME" +
+            " FROM USUARIO_PERMISSOES UP" +
+            " JOIN PERMISSAO P" +
+            " ON P.ID = UP.PERMISSOES_ID" +
+            " WHERE UP.USUARIO_ID IN (:IDS)";
+
+    private static final String SQL_ITENS = "SELECT EI.ID AS EI_ID, EI.EMPRESTIMO_ID AS EI_EMPRESTIMO_ID, EI.QTDE AS EI_QTDE, " +
+            colunasItem() +
+            " FROM EMPRESTIMO_ITEM EI" +
+            " JOIN ITEM I ON I.ID = EI.ITEM_ID" +
+            " LEFT JOIN GRUPO G ON G.ID = I.GRUPO_ID" +
+            " WHERE EI.EMPRESTIMO_ID IN (:IDS)" +
+            " ORDER BY EI.ID";
+
+    private static final String SQL_ITENS_DEVOLUCAO = "SELECT EI.ID AS EI_ID, EI.EMPRESTIMO_ID AS EI_EMPRESTIMO_ID, EI.QTDE AS EI_QTDE, EI.STATUS AS EI_STATUS, " +
+            colunasItem() +
+            " FROM EMPRESTIMO_DEVOLUCAO_ITEM EI" +
+            " JOIN ITEM I ON I.ID = EI.ITEM_ID" +
+            " LEFT JOIN GRUPO G ON G.ID = I.GRUPO_ID" +
+            " WHERE EI.EMPRESTIMO_ID IN (:IDS)" +
+            " ORDER BY EI.ID";
+
     @Autowired
     private NamedParameterJdbcTemplate jdbcTemplate;
 
     @Override
     public List<Emprestimo> filter(EmprestimoFilter emprestimoFilter) {
-        String sql = "SELECT E.* \n" +
-                "FROM \n" +
-                "EMPRESTIMO E \n" +
-                "LEFT JOIN USUARIO UE\n" +
-                "ON UE.ID = E.USUARIO_EMPRESTIMO_ID\n" +
-                "LEFT JOIN USUARIO UR \n" +
-                "ON UR.ID = E.USUARIO_RESPONSAVEL_ID";
+        List<Emprestimo> toReturn = new ArrayList<>();
+        filter(emprestimoFilter, TAMANHO_LOTE_PADRAO, toReturn::addAll);
+        return toReturn;
+    }
 
-        StringBuilder where = new StringBuilder();
+    @Override
+    public Page<Emprestimo> filter(EmprestimoFilter emprestimoFilter, Pageable pageable) {
         MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = buildWhere(emprestimoFilter, params);
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + SQL_FROM + where, params, Long.class);
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(new ArrayList<>(), pageable, total == null ? 0 : total);
+        }
+
+        params.addValue("LIMITE", pageable.getPageSize());
+        params.addValue("DESLOCAMENTO", pageable.getOffset());
+        List<Emprestimo> emprestimos = jdbcTemplate.query(
+                SQL_SELECT + where + " ORDER BY E.ID LIMIT :LIMITE OFFSET :DESLOCAMENTO", params, this::mapEmprestimo);
+        carregarAssociacoes(emprestimos);
+        return new PageImpl<>(emprestimos, pageable, total);
+    }
+
+    @Override
+    public void filter(EmprestimoFilter emprestimoFilter, int tamanhoLote, Consumer<List<Emprestimo>> consumer) {
+        // o laço para quando um lote vem incompleto: com tamanho 0 ele nunca terminaria
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho de lote inválido: " + tamanhoLote);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = buildWhere(emprestimoFilter, params);
+        String sql = SQL_SELECT +
+                (where.isEmpty() ? " WHERE " : where + " AND ") + "E.ID > :ULTIMO_ID" +
+                " ORDER BY E.ID LIMIT :LIMITE";
+        params.addValue("LIMITE", tamanhoLote);
+
+        long ultimoId = 0L;
+        List<Emprestimo> lote;
+        do {
+            params.addValue("ULTIMO_ID", ultimoId);
+            lote = jdbcTemplate.query(sql, params, this::mapEmprestimo);
+            if (!lote.isEmpty()) {
+                carregarAssociacoes(lote);
+                ultimoId = lote.get(lote.size() - 1).getId();
+                consumer.accept(lote);
+            }
+        } while (lote.size() == tamanhoLote);
+    }
+
+    private String buildWhere(EmprestimoFilter emprestimoFilter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder();
 
         if (emprestimoFilter != null) {
 
@@ -66,20 +151,21 @@ public class EmprestimoFilterRepositoryImpl implements EmprestimoFilterRepositor
             }
 
             if (emprestimoFilter.getStatus() != null) {
-                if (!emprestimoFilter.getStatus().equals("T")) putAnd(where, params);
-
                 // p - em andamento/ a - atraso/ f - finalizado
                 switch (emprestimoFilter.getStatus()) {
                     case ("A"): {
-                        where.append("(DATA_DEVOLUCAO IS NULL AND PRAZO_DEVOLUCAO < CURRENT_DATE) ");
+                        putAnd(where, params);
+                        where.append("(E.DATA_DEVOLUCAO IS NULL AND E.PRAZO_DEVOLUCAO < CURRENT_DATE) ");
                         break;
                     }
                     case ("P"): {
-                        where.append("(DATA_DEVOLUCAO IS NULL AND PRAZO_DEVOLUCAO >= CURRENT_DATE) ");
+                        putAnd(where, params);
+                        where.append("(E.DATA_DEVOLUCAO IS NULL AND E.PRAZO_DEVOLUCAO >= CURRENT_DATE) ");
                         break;
                     }
                     case ("F"): {
-                        where.append("DATA_DEVOLUCAO IS NOT NULL ");
+                        putAnd(where, params);
+                        where.append("E.DATA_DEVOLUCAO IS NOT NULL ");
                         break;
                     }
                     default: {
@@ -88,49 +174,141 @@ public class EmprestimoFilterRepositoryImpl implements EmprestimoFilterRepositor
                 }
             }
         }
-        if (where.toString().length() > 0) {
-            sql = sql + " WHERE " + where.toString();
+        return where.length() > 0 ? " WHERE " + where : "";
+    }
+
+    private void putAnd(StringBuilder where, MapSqlParameterSource params) {
+        if (where.length() > 0) {
+            where.append(" AND ");
         }
-        sql = sql + " ORDER BY E.ID";
-        List<Emprestimo> toReturn = jdbcTemplate.query(sql, params, new BeanPropertyRowMapper<>(Emprestimo.class));
-        setUsuarioOnEmprestimo(toReturn);
-        return toReturn;
     }
 
-    private void setUsuarioOnEmprestimo(List<Emprestimo> emprestimoList) {
-        emprestimoList.forEach(emprestimo -> {
-            String sql = "SELECT U.* FROM USUARIO U" +
-                    " LEFT JOIN EMPRESTIMO E" +
-                    " ON E.USUARIO_EMPRESTIMO_ID = U.ID" +
-                    " WHERE E.ID = :IDEMPRESTIMO";
-            MapSqlParameterSource params = new MapSqlParameterSource();
-            params.addValue("IDEMPRESTIMO", emprestimo.getId());
-            Usuario usuario = jdbcTemplate.queryForObject(sql, params, new BeanPropertyRowMapper<>(Usuario.class));
-            setPermissaoUsuario(usuario);
-            emprestimo.setUsuarioEmprestimo(usuario);
+    /**
+     * Carrega permissões dos usuários e itens do lote com uma consulta por associação,
+     * independente da quantidade de empréstimos do lote.
+     */
+    private void carregarAssociacoes(List<Emprestimo> emprestimos) {
+        if (emprestimos.isEmpty()) {
+            return;
+        }
+        Map<Long, Emprestimo> emprestimoById = new HashMap<>();
+        Map<Long, List<Usuario>> usuariosById = new HashMap<>();
+        for (Emprestimo emprestimo : emprestimos) {
+            emprestimoById.put(emprestimo.getId(), emprestimo);
+            emprestimo.setEmprestimoItem(new ArrayList<>());
+            emprestimo.setEmprestimoDevolucaoItem(new ArrayList<>());
+            addUsuario(usuariosById, emprestimo.getUsuarioEmprestimo());
+            addUsuario(usuariosById, emprestimo.getUsuarioResponsavel());
+        }
+
+        if (!usuariosById.isEmpty()) {
+            jdbcTemplate.query(SQL_PERMISSOES, new MapSqlParameterSource("IDS", usuariosById.keySet()), rs -> {
+                Permissao permissao = new Permissao(rs.getLong("ID"), rs.getString("NOME"));
+                usuariosById.get(rs.getLong("USUARIO_ID"))
+                        .forEach(usuario -> usuario.getPermissoes().add(permissao));
+            });
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("IDS", emprestimoById.keySet());
+        Map<Long, Item> itemById = new HashMap<>();
+        jdbcTemplate.query(SQL_ITENS, params, rs -> {
+            Emprestimo emprestimo = emprestimoById.get(rs.getLong("EI_EMPRESTIMO_ID"));
+            EmprestimoItem emprestimoItem = new EmprestimoItem();
+            emprestimoItem.setId(rs.getLong("EI_ID"));
+            emprestimoItem.setQtde(rs.getBigDecimal("EI_QTDE"));
+            emprestimoItem.setItem(mapItem(rs, itemById));
+            emprestimoItem.setEmprestimo(emprestimo);
+            emprestimo.getEmprestimoItem().add(emprestimoItem);
+        });
+        jdbcTemplate.query(SQL_ITENS_DEVOLUCAO, params, rs -> {
+            Emprestimo emprestimo = emprestimoById.get(rs.getLong("EI_EMPRESTIMO_ID"));
+            EmprestimoDevolucaoItem devolucaoItem = new EmprestimoDevolucaoItem();
+            devolucaoItem.setId(rs.getLong("EI_ID"));
+            devolucaoItem.setQtde(rs.getBigDecimal("EI_QTDE"));
+            String status = rs.getString("EI_STATUS");
+            devolucaoItem.setStatusDevolucao(status != null ? StatusDevolucao.valueOf(status) : null);
+            devolucaoItem.setItem(mapItem(rs, itemById));
+            devolucaoItem.setEmprestimo(emprestimo);
+            emprestimo.getEmprestimoDevolucaoItem().add(devolucaoItem);
         });
     }
 
-    private void setPermissaoUsuario(Usuario usuario) {
-        String sql = "SELECT " +
-                " P.ID," +
-                " P.NOME" +
-                " FROM USUARIO_PERMISSOES U" +
-                " LEFT JOIN PERMISSAO P" +
-                " ON P.ID = U.PERMISSOES_ID" +
-                " WHERE U.USUARIO_ID = :IDUSUARIO";
-        MapSqlParameterSource params = new MapSqlParameterSource();
-        params.addValue("IDUSUARIO", usuario.getId());
-        List<Permissao> p = jdbcTemplate.query(sql, params, new BeanPropertyRowMapper<>(Permissao.class));
-        Set<Permissao> permissoes = new HashSet<>();
-        p.forEach(permissao -> permissoes.add(permissao));
-        usuario.setPermissoes(permissoes);
+    private void addUsuario(Map<Long, List<Usuario>> usuariosById, Usuario usuario) {
+        if (usuario != null) {
+            usuariosById.computeIfAbsent(usuario.getId(), id -> new ArrayList<>()).add(usuario);
+        }
     }
 
-    private void putAnd(StringBuilder where, MapSqlParameterSource params) {
-        if (params.getValues().size() > 0) {
-            where.append(" AND ");
+    private Emprestimo mapEmprestimo(ResultSet rs, int rowNum) throws SQLException {
+        Emprestimo emprestimo = new Emprestimo();
+        emprestimo.setId(rs.getLong("ID"));
+        emprestimo.setDataEmprestimo(rs.getObject("DATA_EMPRESTIMO", LocalDate.class));
+        emprestimo.setPrazoDevolucao(rs.getObject("PRAZO_DEVOLUCAO", LocalDate.class));
+        emprestimo.setDataDevolucao(rs.getObject("DATA_DEVOLUCAO", LocalDate.class));
+        emprestimo.setObservacao(rs.getString("OBSERVACAO"));
+        emprestimo.setUsuarioEmprestimo(mapUsuario(rs, "UE"));
+        emprestimo.setUsuarioResponsavel(mapUsuario(rs, "UR"));
+        return emprestimo;
+    }
+
+    private Usuario mapUsuario(ResultSet rs, String alias) throws SQLException {
+        long id = rs.getLong(alias + "_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome(rs.getString(alias + "_NOME"));
+        usuario.setUsername(rs.getString(alias + "_USERNAME"));
+        usuario.setDocumento(rs.getString(alias + "_DOCUMENTO"));
+        usuario.setEmail(rs.getString(alias + "_EMAIL"));
+        usuario.setTelefone(rs.getString(alias + "_TELEFONE"));
+        usuario.setFotoUrl(rs.getString(alias + "_FOTO_URL"));
+        usuario.setEmailVerificado(rs.getBoolean(alias + "_EMAIL_VERIFICADO"));
+        usuario.setPermissoes(new HashSet<>());
+        return usuario;
+    }
+
+    private Item mapItem(ResultSet rs, Map<Long, Item> itemById) throws SQLException {
+        long id = rs.getLong("I_ID");
+        Item item = itemById.get(id);
+        if (item != null) {
+            return item;
+        }
+        item = new Item();
+        item.setId(id);
+        item.setNome(rs.getString("I_NOME"));
+        BigDecimal patrimonio = rs.getBigDecimal("I_PATRIMONIO");
+        item.setPatrimonio(patrimonio != null ? patrimonio.toBigInteger() : null);
+        BigDecimal siorg = rs.getBigDecimal("I_SIORG");
+        item.setSiorg(siorg != null ? siorg.toBigInteger() : null);
+        item.setValor(rs.getBigDecimal("I_VALOR"));
+        item.setQtdeMinima(rs.getBigDecimal("I_QTDE_MINIMA"));
+        item.setLocalizacao(rs.getString("I_LOCALIZACAO"));
+        String tipoItem = rs.getString("I_TIPO_ITEM");
+        item.setTipoItem(tipoItem != null ? TipoItem.valueOf(tipoItem) : null);
+        item.setSaldo(rs.getBigDecimal("I_SALDO"));
+        item.setDescricao(rs.getString("I_DESCRICAO"));
+        long grupoId = rs.getLong("G_ID");
+        if (!rs.wasNull()) {
+            item.setGrupo(new Grupo(grupoId, rs.getString("G_DESCRICAO")));
+        }
+        item.setImageItem(new ArrayList<>());
+        itemById.put(id, item);
+        return item;
+    }
+
+    private static String colunasUsuario(String alias) {
+        StringJoiner colunas = new StringJoiner(", ");
+        for (String coluna : new String[]{"ID", "NOME", "USERNAME", "DOCUMENTO", "EMAIL", "TELEFONE", "FOTO_URL", "EMAIL_VERIFICADO"}) {
+            colunas.add(alias + "." + coluna + " AS " + alias + "_" + coluna);
         }
+        return colunas.toString();
     }
 
+    private static String colunasItem() {
+        return "I.ID AS I_ID, I.NOME AS I_NOME, I.PATRIMONIO AS I_PATRIMONIO, I.SIORG AS I_SIORG, I.VALOR AS I_VALOR, " +
+                "I.QTDE_MINIMA AS I_QTDE_MINIMA, I.LOCALIZACAO AS I_LOCALIZACAO, I.TIPO_ITEM AS I_TIPO_ITEM, " +
+                "I.SALDO AS I_SALDO, I.DESCRICAO AS I_DESCRICAO, G.ID AS G_ID, G.DESCRICAO AS G_DESCRICAO";
+    }
 }
@@ -0,0 +1,225 @@
+package br.com.utfpr.gerenciamento.server.repository.impl;
+
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemLoteDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.*;
+
+@Repository
+public class EmprestimoLoteRepositoryImpl implements EmprestimoLoteRepository {
+
+    // bloqueia os itens na mesma ordem crescente das baixas de saldo (EstoqueServiceImpl)
+    private static final String SQL_ITENS = "SELECT ID, TIPO_ITEM, SALDO FROM ITEM WHERE ID IN (:ids) ORDER BY ID FOR UPDATE";
+
+    private static final String SQL_USUARIOS = "SELECT ID FROM USUARIO WHERE ID IN (:ids)";
+
+    private static final String SQL_PROXIMOS_IDS = "SELECT NEXTVAL(CAST(:sequencia AS regclass)) FROM GENERATE_SERIES(1, :qtde)";
+
+    // mesmo incremento das sequências e do allocationSize das entidades: cada NEXTVAL reserva os ids (valor - 49 .. valor)
+    private static final int INCREMENTO_SEQUENCIA = 50;
+
+    private static final String SQL_INSERT_EMPRESTIMO = "INSERT INTO EMPRESTIMO " +
+            "(ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, OBSERVACAO, USUARIO_EMPRESTIMO_ID, USUARIO_RESPONSAVEL_ID) " +
+            "VALUES (:id, :dataEmprestimo, :prazoDevolucao, :observacao, :usuarioEmprestimoId, :usuarioResponsavelId)";
+
+    private static final String SQL_INSERT_EMPRESTIMO_ITEM = "INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, EMPRESTIMO_ID, ITEM_ID) " +
+            "VALUES (:id, :qtde, :emprestimoId, :itemId)";
+
+    private static final String SQL_INSERT_DEVOLUCAO_ITEM = "INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, STATUS, EMPRESTIMO_ID, ITEM_ID) " +
+            "VALUES (:id, :qtde, :status, :emprestimoId, :itemId)";
+
+    private static final String SQL_SITUACAO = "SELECT ID, DATA_DEVOLUCAO, USUARIO_RESPONSAVEL_ID FROM EMPRESTIMO WHERE ID IN (:ids)";
+
+    private static final String SQL_DEVOLUCAO_ITENS = "SELECT ID, EMPRESTIMO_ID, ITEM_ID, QTDE, STATUS " +
+            "FROM EMPRESTIMO_DEVOLUCAO_ITEM WHERE EMPRESTIMO_ID IN (:ids) ORDER BY ID";
+
+    private static final String SQL_UPDATE_STATUS = "UPDATE EMPRESTIMO_DEVOLUCAO_ITEM SET STATUS = :status " +
+            "WHERE ID = :id AND STATUS = 'P'";
+
+    private static final String SQL_FINALIZAR = "UPDATE EMPRESTIMO SET DATA_DEVOLUCAO = :dataDevolucao " +
+            "WHERE ID IN (:ids) AND DATA_DEVOLUCAO IS NULL";
+
+    private static final String SQL_INSERT_SAIDA = "INSERT INTO SAIDA (ID, DATA_SAIDA, EMPRESTIMO_ID, OBSERVACAO, USUARIO_ID) " +
+            "VALUES (:id, :dataSaida, :emprestimoId, :observacao, :usuarioId)";
+
+    private static final String SQL_INSERT_SAIDA_ITEM = "INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) " +
+            "VALUES (:id, :qtde, :itemId, :saidaId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EmprestimoLoteRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, ItemSaldo> findItens(Collection<Long> ids) {
+        Map<Long, ItemSaldo> toReturn = new HashMap<>();
+        if (ids.isEmpty()) {
+            return toReturn;
+        }
+        jdbcTemplate.query(SQL_ITENS, new MapSqlParameterSource("ids", ids), rs -> {
+            String tipoItem = rs.getString("TIPO_ITEM");
+            toReturn.put(rs.getLong("ID"), new ItemSaldo(rs.getLong("ID"),
+                    tipoItem != null ? TipoItem.valueOf(tipoItem) : null,
+                    rs.getBigDecimal("SALDO")));
+        });
+        return toReturn;
+    }
+
+    @Override
+    public Set<Long> findUsuarios(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(SQL_USUARIOS, new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    @Override
+    public List<Long> inserir(List<NovoEmprestimo> emprestimos) {
+        List<Long> ids = proximosIds("emprestimo_id_seq", emprestimos.size());
+        List<SqlParameterSource> linhasEmprestimo = new ArrayList<>(emprestimos.size());
+        List<SqlParameterSource> linhasItem = new ArrayList<>();
+        List<SqlParameterSource> linhasDevolucao = new ArrayList<>();
+
+        for (int i = 0; i < emprestimos.size(); i++) {
+            NovoEmprestimo emprestimo = emprestimos.get(i);
+            Long id = ids.get(i);
+            linhasEmprestimo.add(new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("dataEmprestimo", toDate(emprestimo.dataEmprestimo()), Types.DATE)
+                    .addValue("prazoDevolucao", toDate(emprestimo.prazoDevolucao()), Types.DATE)
+                    .addValue("observacao", emprestimo.observacao(), Types.VARCHAR)
+                    .addValue("usuarioEmprestimoId", emprestimo.usuarioEmprestimoId())
+                    .addValue("usuarioResponsavelId", emprestimo.usuarioResponsavelId()));
+            emprestimo.itens().forEach(item -> linhasItem.add(linha(id, item)));
+            emprestimo.devolucao().forEach(item -> linhasDevolucao.add(linha(id, item)
+                    .addValue("status", StatusDevolucao.P.name())));
+        }
+
+        atribuirIds(linhasItem, "emprestimo_item_id_seq");
+        atribuirIds(linhasDevolucao, "emprestimo_devolucao_item_id_seq");
+        jdbcTemplate.batchUpdate(SQL_INSERT_EMPRESTIMO, linhasEmprestimo.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(SQL_INSERT_EMPRESTIMO_ITEM, linhasItem.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(SQL_INSERT_DEVOLUCAO_ITEM, linhasDevolucao.toArray(SqlParameterSource[]::new));
+        return ids;
+    }
+
+    @Override
+    public Map<Long, SituacaoEmprestimo> findSituacao(Collection<Long> idsEmprestimo) {
+        Map<Long, SituacaoEmprestimo> toReturn = new HashMap<>();
+        if (idsEmprestimo.isEmpty()) {
+            return toReturn;
+        }
+        jdbcTemplate.query(SQL_SITUACAO, new MapSqlParameterSource("ids", idsEmprestimo), rs -> {
+            Date dataDevolucao = rs.getDate("DATA_DEVOLUCAO");
+            toReturn.put(rs.getLong("ID"), new SituacaoEmprestimo(rs.getLong("ID"),
+                    dataDevolucao != null ? dataDevolucao.toLocalDate() : null,
+                    rs.getObject("USUARIO_RESPONSAVEL_ID", Long.class)));
+        });
+        return toReturn;
+    }
+
+    @Override
+    public List<DevolucaoItem> findDevolucaoItens(Collection<Long> idsEmprestimo) {
+        if (idsEmprestimo.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SQL_DEVOLUCAO_ITENS, new MapSqlParameterSource("ids", idsEmprestimo),
+                (rs, rowNum) -> {
+                    String status = rs.getString("STATUS");
+                    return new DevolucaoItem(rs.getLong("ID"), rs.getLong("EMPRESTIMO_ID"), rs.getLong("ITEM_ID"),
+                            rs.getBigDecimal("QTDE"), status != null ? StatusDevolucao.valueOf(status) : null);
+                });
+    }
+
+    @Override
+    public int atualizarStatusDevolucao(List<DevolucaoItemLoteDto> itens) {
+        SqlParameterSource[] linhas = itens.stream()
+                .map(item -> new MapSqlParameterSource()
+                        .addValue("id", item.id())
+                        .addValue("status", item.statusDevolucao().name()))
+                .toArray(SqlParameterSource[]::new);
+        return Arrays.stream(jdbcTemplate.batchUpdate(SQL_UPDATE_STATUS, linhas)).sum();
+    }
+
+    @Override
+    public void finalizar(Collection<Long> idsEmprestimo, LocalDate dataDevolucao) {
+        if (idsEmprestimo.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(SQL_FINALIZAR, new MapSqlParameterSource("ids", idsEmprestimo)
+                .addValue("dataDevolucao", toDate(dataDevolucao), Types.DATE));
+    }
+
+    @Override
+    public void inserirSaidas(List<NovaSaida> saidas, LocalDate dataSaida) {
+        if (saidas.isEmpty()) {
+            return;
+        }
+        List<Long> ids = proximosIds("saida_id_seq", saidas.size());
+        List<SqlParameterSource> linhasSaida = new ArrayList<>(saidas.size());
+        List<SqlParameterSource> linhasItem = new ArrayList<>();
+        for (int i = 0; i < saidas.size(); i++) {
+            NovaSaida saida = saidas.get(i);
+            Long id = ids.get(i);
+            linhasSaida.add(new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("dataSaida", toDate(dataSaida), Types.DATE)
+                    .addValue("emprestimoId", saida.emprestimoId())
+                    .addValue("observacao", "Saída originada do empréstimo: " + saida.emprestimoId())
+                    .addValue("usuarioId", saida.usuarioId(), Types.BIGINT));
+            saida.itens().forEach(item -> linhasItem.add(new MapSqlParameterSource()
+                    .addValue("qtde", item.qtde())
+                    .addValue("itemId", item.itemId())
+                    .addValue("saidaId", id)));
+        }
+        atribuirIds(linhasItem, "saida_item_id_seq");
+        jdbcTemplate.batchUpdate(SQL_INSERT_SAIDA, linhasSaida.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(SQL_INSERT_SAIDA_ITEM, linhasItem.toArray(SqlParameterSource[]::new));
+    }
+
+    // reserva os ids de uma vez, para poder gravar pais e filhos em lotes
+    private List<Long> proximosIds(String sequencia, int qtde) {
+        if (qtde == 0) {
+            return List.of();
+        }
+        int blocos = (qtde + INCREMENTO_SEQUENCIA - 1) / INCREMENTO_SEQUENCIA;
+        List<Long> ids = new ArrayList<>(blocos * INCREMENTO_SEQUENCIA);
+        jdbcTemplate.queryForList(SQL_PROXIMOS_IDS, new MapSqlParameterSource("sequencia", sequencia)
+                        .addValue("qtde", blocos), Long.class)
+                .forEach(fim -> {
+                    for (long id = fim - INCREMENTO_SEQUENCIA + 1; id <= fim; id++) {
+                        ids.add(id);
+                    }
+                });
+        return ids.subList(0, qtde);
+    }
+
+    private void atribuirIds(List<SqlParameterSource> linhas, String sequencia) {
+        List<Long> ids = proximosIds(sequencia, linhas.size());
+        for (int i = 0; i < linhas.size(); i++) {
+            ((MapSqlParameterSource) linhas.get(i)).addValue("id", ids.get(i));
+        }
+    }
+
+    private static MapSqlParameterSource linha(Long emprestimoId, ItemLoteDto item) {
+        return new MapSqlParameterSource()
+                .addValue("qtde", item.qtde())
+                .addValue("emprestimoId", emprestimoId)
+                .addValue("itemId", item.itemId());
+    }
+
+    private static Date toDate(LocalDate data) {
+        return data != null ? Date.valueOf(data) : null;
+    }
+}
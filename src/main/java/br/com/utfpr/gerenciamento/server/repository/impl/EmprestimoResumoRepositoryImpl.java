@@ -0,0 +1,77 @@
+package br.com.utfpr.gerenciamento.server.repository.impl;
+
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoCountRange;
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoDia;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoResumoRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class EmprestimoResumoRepositoryImpl implements EmprestimoResumoRepository {
+
+    private static final String SQL_RECALCULAR = "INSERT INTO EMPRESTIMO_RESUMO_DIA (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, FINALIZADO, QTDE) \n" +
+            "SELECT DATA_EMPRESTIMO, COALESCE(PRAZO_DEVOLUCAO, 'infinity'::date), DATA_DEVOLUCAO IS NOT NULL, COUNT(*) \n" +
+            "FROM EMPRESTIMO \n" +
+            "GROUP BY DATA_EMPRESTIMO, COALESCE(PRAZO_DEVOLUCAO, 'infinity'::date), DATA_DEVOLUCAO IS NOT NULL";
+
+    private static final String SQL_COUNT_RANGE = "SELECT \n" +
+            "COALESCE(SUM(QTDE), 0) AS TOTAL, \n" +
+            "COALESCE(SUM(QTDE) FILTER (WHERE NOT FINALIZADO AND PRAZO_DEVOLUCAO >= :hoje), 0) AS EM_ANDAMENTO, \n" +
+            "COALESCE(SUM(QTDE) FILTER (WHERE NOT FINALIZADO AND PRAZO_DEVOLUCAO < :hoje), 0) AS EM_ATRASO, \n" +
+            "COALESCE(SUM(QTDE) FILTER (WHERE FINALIZADO), 0) AS FINALIZADO \n" +
+            "FROM EMPRESTIMO_RESUMO_DIA \n" +
+            "WHERE DATA_EMPRESTIMO BETWEEN :dtIni AND :dtFim";
+
+    private static final String SQL_COUNT_DIA = "SELECT DATA_EMPRESTIMO, SUM(QTDE) AS QTDE \n" +
+            "FROM EMPRESTIMO_RESUMO_DIA \n" +
+            "WHERE DATA_EMPRESTIMO BETWEEN :dtIni AND :dtFim \n" +
+            "GROUP BY DATA_EMPRESTIMO \n" +
+            "HAVING SUM(QTDE) > 0 \n" +
+            "ORDER BY DATA_EMPRESTIMO";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EmprestimoResumoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void recalcular() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM EMPRESTIMO_RESUMO_DIA");
+        jdbcTemplate.getJdbcTemplate().update(SQL_RECALCULAR);
+    }
+
+    @Override
+    public DashboardEmprestimoCountRange countRange(LocalDate dtIni, LocalDate dtFim, LocalDate hoje) {
+        return jdbcTemplate.queryForObject(SQL_COUNT_RANGE, periodo(dtIni, dtFim).addValue("hoje", toDate(hoje), Types.DATE),
+                (rs, rowNum) -> new DashboardEmprestimoCountRange(
+                        rs.getInt("TOTAL"),
+                        rs.getInt("EM_ANDAMENTO"),
+                        rs.getInt("EM_ATRASO"),
+                        rs.getInt("FINALIZADO")));
+    }
+
+    @Override
+    public List<DashboardEmprestimoDia> countByDataEmprestimo(LocalDate dtIni, LocalDate dtFim) {
+        return jdbcTemplate.query(SQL_COUNT_DIA, periodo(dtIni, dtFim),
+                (rs, rowNum) -> new DashboardEmprestimoDia(
+                        rs.getLong("QTDE"),
+                        rs.getDate("DATA_EMPRESTIMO").toLocalDate()));
+    }
+
+    private static MapSqlParameterSource periodo(LocalDate dtIni, LocalDate dtFim) {
+        return new MapSqlParameterSource()
+                .addValue("dtIni", toDate(dtIni), Types.DATE)
+                .addValue("dtFim", toDate(dtFim), Types.DATE);
+    }
+
+    private static Date toDate(LocalDate data) {
+        return data != null ? Date.valueOf(data) : null;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.utfpr.gerenciamento.server.repository.impl;
+
+import br.com.utfpr.gerenciamento.server.repository.ImagemObjetoRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public class ImagemObjetoRepositoryImpl implements ImagemObjetoRepository {
+
+    // xmax = 0 só na linha recém-inserida; no conflito a linha é atualizada, o que também adia a coleta do objeto.
+    // Sem referências o objeto pode ter sido removido em parte por uma coleta que falhou, então é enviado de novo
+    private static final String SQL_RESERVAR = "INSERT INTO IMAGEM_OBJETO (NAME_IMAGE) VALUES (:nameImage) \n" +
+            "ON CONFLICT (NAME_IMAGE) DO UPDATE SET ATUALIZADO_EM = now() \n" +
+            "RETURNING (xmax = 0 OR REFERENCIAS = 0) AS ENVIAR";
+
+    private static final String SQL_ORFAOS = "SELECT NAME_IMAGE FROM IMAGEM_OBJETO \n" +
+            "WHERE REFERENCIAS = 0 AND ATUALIZADO_EM < now() - make_interval(secs => :carencia) \n" +
+            "ORDER BY ATUALIZADO_EM \n" +
+            "LIMIT :limite \n" +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String SQL_REMOVER = "DELETE FROM IMAGEM_OBJETO WHERE NAME_IMAGE IN (:nameImages) AND REFERENCIAS = 0";
+
+    // item_image.name_image não precisa ser consultado: o trigger registra todo nome em imagem_objeto
+    private static final String SQL_REFERENCIADOS = "SELECT NAME_IMAGE FROM IMAGEM_OBJETO WHERE NAME_IMAGE IN (:nameImages) \n" +
+            "UNION SELECT MINIATURA_NAME_IMAGE FROM ITEM_IMAGE WHERE MINIATURA_NAME_IMAGE IN (:nameImages) \n" +
+            "UNION SELECT MEDIA_NAME_IMAGE FROM ITEM_IMAGE WHERE MEDIA_NAME_IMAGE IN (:nameImages)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ImagemObjetoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean reservar(String nameImage) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SQL_RESERVAR,
+                new MapSqlParameterSource("nameImage", nameImage), Boolean.class));
+    }
+
+    @Override
+    public List<String> findOrfaos(Duration carencia, int limite) {
+        return jdbcTemplate.queryForList(SQL_ORFAOS, new MapSqlParameterSource()
+                .addValue("carencia", carencia.toSeconds())
+                .addValue("limite", limite), String.class);
+    }
+
+    @Override
+    public void remover(Collection<String> nameImages) {
+        if (nameImages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(SQL_REMOVER, new MapSqlParameterSource("nameImages", nameImages));
+    }
+
+    @Override
+    public Set<String> findReferenciados(Collection<String> nameImages) {
+        if (nameImages.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(SQL_REFERENCIADOS,
+                new MapSqlParameterSource("nameImages", nameImages), String.class));
+    }
+}
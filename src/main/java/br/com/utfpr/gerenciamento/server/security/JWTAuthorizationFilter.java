@@ -3,7 +3,11 @@ package br.com.utfpr.gerenciamento.server.security;
 import br.com.utfpr.gerenciamento.server.model.Usuario;
 import br.com.utfpr.gerenciamento.server.service.impl.UsuarioServiceImpl;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,21 +19,29 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 import static br.com.utfpr.gerenciamento.server.security.SecurityConstants.*;
 
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
     private final UsuarioServiceImpl usuarioService;
-    private final String tokenSecret;
+    private final JwtPrincipalCache principalCache;
+    // o verificador é imutável e thread-safe, então é criado uma vez só
+    private final JWTVerifier verifier;
+    private final MeterRegistry meterRegistry;
 
 
     public JWTAuthorizationFilter(AuthenticationManager authenticationManager,
                                   UsuarioServiceImpl usuarioService,
-                                  Environment env) {
+                                  JwtPrincipalCache principalCache,
+                                  Environment env,
+                                  MeterRegistry meterRegistry) {
         super(authenticationManager);
         this.usuarioService = usuarioService;
-        this.tokenSecret = env.getProperty("utfpr.token.secret");
+        this.principalCache = principalCache;
+        this.meterRegistry = meterRegistry;
+        this.verifier = JWT.require(Algorithm.HMAC512(env.getProperty("utfpr.token.secret"))).build();
     }
 
     @Override
@@ -51,15 +63,41 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
     private UsernamePasswordAuthenticationToken getAuthentication(HttpServletRequest request) {
         String token = request.getHeader(HEADER_STRING);
         if (token != null) {
-            String user = JWT.require(Algorithm.HMAC512(tokenSecret))
-                    .build()
-                    .verify(token.replace(TOKEN_PREFIX, ""))
-                    .getSubject();
-            if (user != null) {
-                Usuario u = usuarioService.findByUsername(user);
-                return new UsernamePasswordAuthenticationToken(user, null, u.getAuthorities());
+            String jwt = token.replace(TOKEN_PREFIX, "");
+            // cache=miss quando o token foi verificado e o usuário buscado no banco nesta requisição
+            boolean[] carregado = {false};
+            String resultado = "rejeitado";
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                JwtPrincipalCache.Principal principal = principalCache.get(jwt, () -> {
+                    carregado[0] = true;
+                    return loadPrincipal(jwt);
+                });
+                if (principal != null) {
+                    resultado = "autenticado";
+                    return new UsernamePasswordAuthenticationToken(principal.subject(), null, principal.authorities());
+                }
+                return null;
+            } catch (RuntimeException e) {
+                resultado = "erro";
+                throw e;
+            } finally {
+                sample.stop(meterRegistry.timer("utfpr.auth.token",
+                        "resultado", resultado, "cache", carregado[0] ? "miss" : "hit"));
+            }
+        }
+        return null;
+    }
+
+    private JwtPrincipalCache.Principal loadPrincipal(String jwt) {
+        DecodedJWT decoded = verifier.verify(jwt);
+        String user = decoded.getSubject();
+        if (user != null) {
+            Usuario u = usuarioService.findByUsername(user);
+            if (u != null) {
+                return new JwtPrincipalCache.Principal(user, u.getUsername(), u.getEmail(),
+                        List.copyOf(u.getAuthorities()), decoded.getExpiresAtAsInstant());
             }
-            return null;
         }
         return null;
     }
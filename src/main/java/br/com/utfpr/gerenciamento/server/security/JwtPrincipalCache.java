@@ -0,0 +1,107 @@
+package br.com.utfpr.gerenciamento.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Guarda, por token, o usuário e as permissões resolvidos na primeira requisição. A chave é o
+ * hash do token, então um token novo (ex.: após novo login) nunca reaproveita uma entrada antiga.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    public record Principal(String subject, String username, String email,
+                            Collection<? extends GrantedAuthority> authorities, Instant expiresAt) {
+    }
+
+    private final Cache<String, Principal> cache;
+
+    public JwtPrincipalCache(@Value("${utfpr.token.cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${utfpr.token.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Principal get(String token, Supplier<Principal> loader) {
+        String key = hash(token);
+        Principal principal = cache.getIfPresent(key);
+        if (principal != null && principal.expiresAt() != null && principal.expiresAt().isBefore(Instant.now())) {
+            cache.invalidate(key);
+            principal = null;
+        }
+        if (principal == null) {
+            principal = loader.get();
+            if (principal != null) {
+                cache.put(key, principal);
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Remove as entradas do usuário (por username, email ou subject do token). Dentro de uma transação,
+     * remove de novo após o commit, para não manter dados carregados por requisições concorrentes.
+     */
+    public void invalidate(String... identificadores) {
+        removeEntries(identificadores);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeEntries(identificadores);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private void removeEntries(String... identificadores) {
+        cache.asMap().values().removeIf(principal -> {
+            for (String identificador : identificadores) {
+                if (identificador != null && (identificador.equals(principal.subject())
+                        || identificador.equals(principal.username())
+                        || Objects.equals(identificador, principal.email()))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
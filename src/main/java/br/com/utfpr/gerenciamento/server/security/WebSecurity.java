@@ -1,7 +1,13 @@
 package br.com.utfpr.gerenciamento.server.security;
 
+import br.com.utfpr.gerenciamento.server.config.ContadorSqlFilter;
 import br.com.utfpr.gerenciamento.server.service.impl.UsuarioServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.SneakyThrows;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -27,10 +33,15 @@ import java.util.List;
 public class WebSecurity {
     private final UsuarioServiceImpl usuarioService;
     private final Environment env;
+    private final JwtPrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
 
-    public WebSecurity(@Lazy UsuarioServiceImpl usuarioService, Environment env) {
+    public WebSecurity(@Lazy UsuarioServiceImpl usuarioService, Environment env, JwtPrincipalCache principalCache,
+                       MeterRegistry meterRegistry) {
         this.usuarioService = usuarioService;
         this.env = env;
+        this.principalCache = principalCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -46,6 +57,9 @@ public class WebSecurity {
         http.cors(cors -> corsConfigurationSource());
 
         http.authorizeHttpRequests((authorize) -> authorize
+                // o encaminhamento para /error não passa pelo filtro do JWT: sem isso todo erro (400, 404, 409...)
+                // chegaria ao cliente como 403
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                 .requestMatchers("/cidade/**",
                         "/estado/**",
                         "/pais/**",
@@ -66,7 +80,8 @@ public class WebSecurity {
 
                 .requestMatchers(HttpMethod.POST, "/usuario/update-user").authenticated()
 
-                .requestMatchers(HttpMethod.POST, "/emprestimo/save-emprestimo", "/emprestimo/save-devolucao").hasAnyRole("LABORATORISTA", "ADMINISTRADOR")
+                .requestMatchers(HttpMethod.POST, "/emprestimo/save-emprestimo", "/emprestimo/save-devolucao",
+                        "/emprestimo/save-emprestimo-lote", "/emprestimo/save-devolucao-lote").hasAnyRole("LABORATORISTA", "ADMINISTRADOR")
                 .requestMatchers(HttpMethod.DELETE, "/emprestimo/**").hasAnyRole("LABORATORISTA", "ADMINISTRADOR")
 
                 .requestMatchers(HttpMethod.GET, "/usuario/user-info").authenticated()
@@ -81,6 +96,8 @@ public class WebSecurity {
 
                 .requestMatchers(HttpMethod.POST, "/auth").permitAll()
                 .requestMatchers(HttpMethod.GET, "/test").permitAll()
+                // servidos na porta de gerenciamento (management.server.port), que não deve ser exposta
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 .anyRequest().authenticated()
         );
 
@@ -89,7 +106,7 @@ public class WebSecurity {
                         new JWTAuthenticationFilter(authenticationManager, usuarioService, env)
                 )
                 .addFilter(
-                        new JWTAuthorizationFilter(authenticationManager, usuarioService, env)
+                        new JWTAuthorizationFilter(authenticationManager, usuarioService, principalCache, env, meterRegistry)
                 )
                 .sessionManagement(sessionManagement ->
                         sessionManagement.sessionCreationPolicy(
@@ -117,6 +134,7 @@ public class WebSecurity {
                 "Accept", "X-Requested-With", "Content-Type",
                 "Access-Control-Request-Method",
                 "Access-Control-Request-Headers", "Auth-Id-Token"));
+        configuration.setExposedHeaders(List.of(ContadorSqlFilter.HEADER_COMANDOS, ContadorSqlFilter.HEADER_LINHAS));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
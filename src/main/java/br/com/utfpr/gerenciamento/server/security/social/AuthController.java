@@ -9,6 +9,7 @@ import br.com.utfpr.gerenciamento.server.service.UsuarioService;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.util.Date;
 import java.util.HashSet;
 
+@Slf4j
 @RestController
 @RequestMapping("auth")
 public class AuthController {
@@ -106,7 +108,7 @@ public class AuthController {
                     throw new Exception("O email precisa ser da UTFPR");
                 }
             } catch (Exception e) {
-                e.printStackTrace();
+                log.warn("Falha na autenticação com o Google: {}", e.getMessage());
                 // This is not a valid token, the application will send HTTP 401 as a response
             }
         }
@@ -20,8 +20,16 @@ public class GoogleTokenVerifier {
 
     private static final HttpTransport transport = new NetHttpTransport();
     private static final JsonFactory jsonFactory = new GsonFactory().getDefaultInstance();
-    @Value("${google.clientId}")
-    private String CLIENT_ID;
+
+    // reaproveitado entre as chamadas: mantém em cache as chaves públicas do Google, sem baixá-las a cada login
+    private final GoogleIdTokenVerifier verifier;
+
+    public GoogleTokenVerifier(@Value("${google.clientId}") String clientId) {
+        this.verifier = new GoogleIdTokenVerifier.Builder(transport, jsonFactory)
+                .setIssuers(Arrays.asList("https://accounts.google.com", "accounts.google.com"))
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+    }
 
     public Payload verify(String idTokenString) throws GeneralSecurityException, IOException {
         return verifyToken(idTokenString);
@@ -29,12 +37,6 @@ public class GoogleTokenVerifier {
 
     private Payload verifyToken(String idTokenString)
             throws GeneralSecurityException, IOException {
-        final GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.
-                Builder(transport, jsonFactory)
-                .setIssuers(Arrays.asList("https://accounts.google.com", "accounts.google.com"))
-                .setAudience(Collections.singletonList(CLIENT_ID))
-                .build();
-
         //System.out.println("validating:" + idTokenString);
         GoogleIdToken idToken = null;
         try {
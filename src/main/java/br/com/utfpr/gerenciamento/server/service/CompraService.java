@@ -1,7 +1,11 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.CompraDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.CompraResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Compra;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensAdquiridos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -9,4 +13,8 @@ import java.util.List;
 public interface CompraService extends CrudService<Compra, Long>{
 
     List<DashboardItensAdquiridos> findItensMaisAdquiridos(LocalDate dtIni, LocalDate dtFim);
+
+    Page<CompraResumoDto> findResumo(Pageable pageable);
+
+    CompraDetalheDto findDetalhe(Long id);
 }
@@ -1,11 +1,13 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CrudService<T, ID extends Serializable> {
 
@@ -15,6 +17,12 @@ public interface CrudService<T, ID extends Serializable> {
 
     Page<T> findAll(Pageable pageable);
 
+    // paginação por chave (id > lastId), sem OFFSET
+    KeysetPage<T> findAllAfter(ID lastId, int size);
+
+    // percorre a tabela com cursor, entregando um registro por vez ao consumer
+    void streamAll(Consumer<T> consumer);
+
     T save(T entity);
 
     T saveAndFlush(T entity);
@@ -0,0 +1,34 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.model.Email;
+import br.com.utfpr.gerenciamento.server.model.EmailOutbox;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxService {
+
+    // grava o e-mail na transação de quem chama: uma falha desfaz também a operação que gerou o e-mail
+    EmailOutbox enfileirar(Email email);
+
+    // grava os e-mails em uma transação própria (REQUIRES_NEW), para uso depois do commit de quem chama
+    List<EmailOutbox> enfileirarEmNovaTransacao(List<Email> emails);
+
+    // marca até "limite" e-mails pendentes como ENVIANDO e devolve os ids reservados
+    List<Long> reservarPendentes(int limite);
+
+    List<EmailOutbox> findParaEnvio(Collection<Long> ids);
+
+    void marcarEnviados(Collection<Long> ids);
+
+    void marcarFalha(Long id, String erro);
+
+    // devolve para a fila e-mails que ficaram em ENVIANDO (ex.: aplicação reiniciada durante o envio)
+    int liberarTravados(Duration tempoMaximoEnvio);
+
+    // apaga até "limite" e-mails ENVIADO ou ERRO sem alteração há mais de "retencao", com os anexos; devolve quantos
+    int removerAntigos(Duration retencao, int limite);
+
+    long countPendentes();
+}
@@ -2,11 +2,18 @@ package br.com.utfpr.gerenciamento.server.service;
 
 import br.com.utfpr.gerenciamento.server.model.Email;
 
+import java.util.List;
+
 public interface EmailService {
 
+    // grava na fila dentro da transação de quem chama: uma falha chega a quem chama e desfaz a transação
     void enviar(Email email) throws Exception;
 
     String buildTemplateEmail(Object object, String nameTemplate);
 
+    // avisos: entram na fila depois do commit de quem chama; uma falha fica no log e não desfaz a operação
     void sendEmailWithTemplate(Object objectTemplate, String to, String titleEmail, String nameTemplate);
+
+    // renderiza o template uma vez por modelo em um único lote; to.get(i) recebe o modelo objectsTemplate.get(i)
+    void sendEmailsWithTemplate(List<?> objectsTemplate, List<String> to, String titleEmail, String nameTemplate);
 }
@@ -1,14 +1,24 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto;
+import br.com.utfpr.gerenciamento.server.dto.ResultadoLoteDto;
 import br.com.utfpr.gerenciamento.server.model.Emprestimo;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoDevolucaoItem;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoItem;
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoCountRange;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoDia;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensEmprestados;
 import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmprestimoService extends CrudService<Emprestimo, Long> {
 
@@ -16,16 +26,27 @@ public interface EmprestimoService extends CrudService<Emprestimo, Long> {
 
     List<DashboardEmprestimoDia> countByDataEmprestimo(LocalDate dtIni, LocalDate dtFim);
 
+    DashboardEmprestimoCountRange countRangeByDataEmprestimo(LocalDate dtIni, LocalDate dtFim);
+
     List<DashboardItensEmprestados> findItensMaisEmprestados(LocalDate dtIni, LocalDate dtFim);
 
     List<EmprestimoDevolucaoItem> createEmprestimoItemDevolucao(List<EmprestimoItem> emprestimoItem);
 
     List<Emprestimo> filter(EmprestimoFilter emprestimoFilter);
 
+    Page<Emprestimo> filter(EmprestimoFilter emprestimoFilter, Pageable pageable);
+
+    void filter(EmprestimoFilter emprestimoFilter, int tamanhoLote, Consumer<List<Emprestimo>> consumer);
+
     List<Emprestimo> findAllUsuarioEmprestimo(String username);
 
     List<Emprestimo> findAllEmprestimosAbertos();
 
+    // grava vários empréstimos em uma transação; registros inválidos são recusados sem impedir os demais
+    List<ResultadoLoteDto> saveLote(List<EmprestimoLoteDto> emprestimos);
+
+    List<ResultadoLoteDto> saveDevolucaoLote(List<DevolucaoLoteDto> devolucoes);
+
     void changePrazoDevolucao(Long idEmprestimo, LocalDate novaData);
 
     void sendEmailConfirmacaoEmprestimo(Emprestimo emprestimo);
@@ -33,4 +54,8 @@ public interface EmprestimoService extends CrudService<Emprestimo, Long> {
     void sendEmailConfirmacaoDevolucao(Emprestimo emprestimo);
 
     void sendEmailPrazoDevolucaoProximo();
+
+    Page<EmprestimoResumoDto> findResumo(Pageable pageable);
+
+    EmprestimoDetalheDto findDetalhe(Long id);
 }
@@ -0,0 +1,33 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.model.Item;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+public interface EstoqueService {
+
+    // diminui o saldo dos itens em um único lote; com validação, falha se algum item não tiver saldo suficiente
+    void baixarSaldo(Map<Long, BigDecimal> qtdePorItem, boolean needValidationSaldo);
+
+    void reporSaldo(Map<Long, BigDecimal> qtdePorItem);
+
+    void validarSaldo(Map<Long, BigDecimal> qtdePorItem);
+
+    /**
+     * Soma as quantidades das linhas de um movimento (empréstimo, compra, saída) por item,
+     * ordenadas pelo id do item.
+     */
+    static <E> Map<Long, BigDecimal> somarPorItem(Collection<E> linhas, Function<E, Item> item, Function<E, BigDecimal> qtde) {
+        Map<Long, BigDecimal> qtdePorItem = new TreeMap<>();
+        if (linhas != null) {
+            linhas.stream()
+                    .filter(linha -> item.apply(linha) != null)
+                    .forEach(linha -> qtdePorItem.merge(item.apply(linha).getId(), qtde.apply(linha), BigDecimal::add));
+        }
+        return qtdePorItem;
+    }
+}
@@ -1,11 +1,18 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.ImagemArquivoDto;
+import br.com.utfpr.gerenciamento.server.dto.ImagemUrlDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Item;
 import br.com.utfpr.gerenciamento.server.model.ItemImage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 public interface ItemService extends CrudService<Item, Long> {
@@ -26,9 +33,24 @@ public interface ItemService extends CrudService<Item, Long> {
 
     List<ItemImage> getImagesItem(Long idItem);
 
+    // o objeto no MinIO fica para a coleta de órfãos, pois pode ser compartilhado com outras imagens
     void deleteImage(ItemImage image, Long idItem);
 
+    // remove do MinIO até {@code limite} objetos sem referência há mais que {@code carencia}; retorna quantos removeu
+    int removerImagensOrfas(Duration carencia, int limite);
+
+    // versão da imagem que atende a largura pedida (sem largura, o original); gera as versões reduzidas na primeira vez
+    ImagemArquivoDto findImagem(Long idImagem, Integer largura);
+
+    // URLs pré-assinadas de todas as imagens do item, para o front baixar direto do MinIO; não gera versões reduzidas,
+    // e as que ainda não existem vêm com url = null
+    List<ImagemUrlDto> findImagemUrls(Long idItem, Integer largura);
+
     void sendNotificationItensAtingiramQtdeMin();
 
     void copyImagesItem(List<ItemImage> itemImages, Long id);
+
+    Page<ItemResumoDto> findResumo(Pageable pageable);
+
+    ItemDetalheDto findDetalhe(Long id);
 }
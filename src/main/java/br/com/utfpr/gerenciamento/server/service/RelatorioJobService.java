@@ -0,0 +1,21 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dto.RelatorioJobDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
+import br.com.utfpr.gerenciamento.server.model.RelatorioParamsValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface RelatorioJobService {
+
+    RelatorioJobDto submit(Long idRelatorio, List<RelatorioParamsValue> paramsRel, FormatoRelatorio formato, String username);
+
+    RelatorioJobDto findJob(String idJob, String username);
+
+    // escreve o arquivo gerado no outputStream; o job precisa estar concluído
+    void download(String idJob, String username, OutputStream outputStream) throws IOException;
+
+    void purgeJobsExpirados();
+}
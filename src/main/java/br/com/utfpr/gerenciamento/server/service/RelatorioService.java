@@ -1,5 +1,6 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
 import br.com.utfpr.gerenciamento.server.model.Relatorio;
 import br.com.utfpr.gerenciamento.server.model.RelatorioParamsValue;
 import net.sf.jasperreports.engine.JRException;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -17,5 +19,11 @@ public interface RelatorioService extends CrudService<Relatorio, Long> {
 
     JasperPrint generateReport(Long idRelatorio, List<RelatorioParamsValue> paramsRel) throws SQLException, JRException;
 
+    byte[] generatePdf(Long idRelatorio, List<RelatorioParamsValue> paramsRel) throws SQLException, JRException;
+
+    // preenche o relatório paginando em disco e exporta direto para o outputStream
+    void exportReport(Long idRelatorio, List<RelatorioParamsValue> paramsRel, FormatoRelatorio formato,
+                      OutputStream outputStream) throws SQLException, JRException;
+
     void deleteFileReport(String nameRelatorio);
 }
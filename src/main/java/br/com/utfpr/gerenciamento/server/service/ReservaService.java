@@ -1,7 +1,11 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.ReservaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.Reserva;
 import br.com.utfpr.gerenciamento.server.model.Usuario;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -14,4 +18,8 @@ public interface ReservaService extends CrudService<Reserva, Long> {
     void finalizarReserva(Long idReserva);
 
     void sendEmailConfirmacaoReserva(Reserva reserva);
+
+    Page<ReservaResumoDto> findResumo(Pageable pageable);
+
+    ReservaDetalheDto findDetalhe(Long id);
 }
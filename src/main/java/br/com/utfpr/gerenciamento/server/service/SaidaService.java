@@ -1,8 +1,12 @@
 package br.com.utfpr.gerenciamento.server.service;
 
+import br.com.utfpr.gerenciamento.server.dto.SaidaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoDevolucaoItem;
 import br.com.utfpr.gerenciamento.server.model.Saida;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensSaidas;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,4 +18,8 @@ public interface SaidaService extends CrudService<Saida, Long> {
     void createSaidaByDevolucaoEmprestimo(List<EmprestimoDevolucaoItem> emprestimoDevolucaoItem);
 
     void deleteSaidaByEmprestimo(Long idEmprestimo);
+
+    Page<SaidaResumoDto> findResumo(Pageable pageable);
+
+    SaidaDetalheDto findDetalhe(Long id);
 }
@@ -1,12 +1,13 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.component.GeografiaCache;
 import br.com.utfpr.gerenciamento.server.model.Cidade;
 import br.com.utfpr.gerenciamento.server.model.Estado;
 import br.com.utfpr.gerenciamento.server.repository.CidadeRepository;
 import br.com.utfpr.gerenciamento.server.service.CidadeService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,9 +15,11 @@ import java.util.List;
 public class CidadeServiceImpl extends CrudServiceImpl<Cidade, Long> implements CidadeService {
 
     private final CidadeRepository cidadeRepository;
+    private final GeografiaCache geografiaCache;
 
-    public CidadeServiceImpl(CidadeRepository cidadeRepository) {
+    public CidadeServiceImpl(CidadeRepository cidadeRepository, GeografiaCache geografiaCache) {
         this.cidadeRepository = cidadeRepository;
+        this.geografiaCache = geografiaCache;
     }
 
     @Override
@@ -25,22 +28,13 @@ public class CidadeServiceImpl extends CrudServiceImpl<Cidade, Long> implements
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Cidade> cidadeComplete(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return this.cidadeRepository.findAll();
-        } else {
-            return this.cidadeRepository.findByNomeLikeIgnoreCase("%" + query + "%");
-        }
+        return geografiaCache.get().cidades().search(query, BuscaUtil.LIMITE);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Cidade> completeByEstado(String query, Estado estado) {
-        if ("".equalsIgnoreCase(query)) {
-            return this.cidadeRepository.findAllByEstado(estado);
-        } else {
-            return this.cidadeRepository.findByNomeLikeIgnoreCaseAndEstado("%" + query + "%", estado);
-        }
+        // a busca vazia devolve as primeiras cidades do estado, com o mesmo limite das demais
+        return geografiaCache.get().cidadesDoEstado(estado.getId()).search(query, BuscaUtil.LIMITE);
     }
 }
@@ -1,9 +1,14 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.CompraDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.CompraResumoDto;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
 import br.com.utfpr.gerenciamento.server.model.Compra;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensAdquiridos;
 import br.com.utfpr.gerenciamento.server.repository.CompraRepository;
 import br.com.utfpr.gerenciamento.server.service.CompraService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,4 +35,18 @@ public class CompraServiceImpl extends CrudServiceImpl<Compra, Long> implements
     public List<DashboardItensAdquiridos> findItensMaisAdquiridos(LocalDate dtIni, LocalDate dtFim) {
         return compraRepository.findItensMaisAdquiridos(dtIni, dtFim);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CompraResumoDto> findResumo(Pageable pageable) {
+        return compraRepository.findResumo(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompraDetalheDto findDetalhe(Long id) {
+        CompraResumoDto resumo = compraRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Compra não encontrada."));
+        return new CompraDetalheDto(resumo, compraRepository.findItensResumoById(id));
+    }
 }
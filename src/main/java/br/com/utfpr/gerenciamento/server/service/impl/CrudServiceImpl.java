@@ -1,6 +1,18 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.KeysetPage;
+import br.com.utfpr.gerenciamento.server.event.EntidadeAlteradaEvent;
 import br.com.utfpr.gerenciamento.server.service.CrudService;
+import br.com.utfpr.gerenciamento.server.util.PaginacaoUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,46 +21,111 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public abstract class CrudServiceImpl<T, ID extends Serializable>
         implements CrudService<T, ID> {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // um timer por operação, com a entidade do serviço como tag
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
     protected abstract JpaRepository<T, ID> getRepository();
 
     @Override
     @Transactional(readOnly = true)
     public List<T> findAll() {
-        return getRepository().findAll();
+        return medir("findAll", () -> getRepository().findAll());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<T> findAll(Sort sort) {
-        return getRepository().findAll(sort);
+        return medir("findAll", () -> getRepository().findAll(sort));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<T> findAll(Pageable pageable) {
-        return getRepository().findAll(pageable);
+        return medir("findAllPage", () -> getRepository().findAll(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<T> findAllAfter(ID lastId, int size) {
+        // size vem da requisição: negativo quebraria o setMaxResults e Integer.MAX_VALUE + 1 estouraria
+        return medir("findAllAfter", () -> buscarApos(lastId, PaginacaoUtil.tamanho(size)));
+    }
+
+    private KeysetPage<T> buscarApos(ID lastId, int size) {
+        String entityName = entityManager.getMetamodel().entity(getEntityClass()).getName();
+        TypedQuery<T> query = lastId == null
+                ? entityManager.createQuery("SELECT e FROM " + entityName + " e ORDER BY e.id", getEntityClass())
+                : entityManager.createQuery("SELECT e FROM " + entityName + " e WHERE e.id > :lastId ORDER BY e.id", getEntityClass())
+                .setParameter("lastId", lastId);
+        // busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+        List<T> content = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        Object nextId = content.isEmpty() ? lastId
+                : entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(content.get(content.size() - 1));
+        return new KeysetPage<>(content, nextId, content.size(), hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<T> consumer) {
+        String entityName = entityManager.getMetamodel().entity(getEntityClass()).getName();
+        try (Stream<T> stream = entityManager.createQuery("SELECT e FROM " + entityName + " e ORDER BY e.id", getEntityClass())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            int[] count = {0};
+            stream.forEach(entity -> {
+                consumer.accept(entity);
+                // libera as entidades já escritas para o contexto de persistência não crescer com a tabela
+                if (++count[0] % STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
     }
 
     @Override
     @Transactional //(readOnly = false)
     public T save(T entity) {
-        return getRepository().save(entity);
+        publicarAlteracao();
+        return medir("save", () -> getRepository().save(entity));
     }
 
     @Override
     @Transactional
     public T saveAndFlush(T entity) {
-        return getRepository().saveAndFlush(entity);
+        publicarAlteracao();
+        return medir("saveAndFlush", () -> getRepository().saveAndFlush(entity));
     }
 
     @Override
     @Transactional
     public Iterable<T> save(Iterable<T> iterable) {
-        return getRepository().saveAll(iterable);
+        publicarAlteracao();
+        return medir("saveAll", () -> getRepository().saveAll(iterable));
     }
 
     @Override
@@ -66,36 +143,70 @@ public abstract class CrudServiceImpl<T, ID extends Serializable>
     @Override
     @Transactional(readOnly = true)
     public boolean exists(ID id) {
-        return getRepository().existsById(id);
+        return medir("exists", () -> getRepository().existsById(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public long count() {
-        return getRepository().count();
+        return medir("count", () -> getRepository().count());
     }
 
     @Override
     @Transactional
     public void delete(ID id) {
-        getRepository().deleteById(id);
+        publicarAlteracao();
+        medir("delete", () -> getRepository().deleteById(id));
     }
 
     @Override
     @Transactional
     public void delete(T entity) {
-        getRepository().delete(entity);
+        publicarAlteracao();
+        medir("delete", () -> getRepository().delete(entity));
     }
 
     @Override
     @Transactional
     public void delete(Iterable<T> iterable) {
-        getRepository().deleteAll(iterable);
+        publicarAlteracao();
+        medir("deleteAll", () -> getRepository().deleteAll(iterable));
     }
 
     @Override
     @Transactional
     public void deleteAll() {
-        getRepository().deleteAll();
+        publicarAlteracao();
+        medir("deleteAll", () -> getRepository().deleteAll());
+    }
+
+    // ouvintes com @TransactionalEventListener só recebem o evento após o commit
+    protected void publicarAlteracao() {
+        publicarAlteracao(getEntityClass());
+    }
+
+    protected void publicarAlteracao(Class<?> entidade) {
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(entidade));
+    }
+
+    protected <R> R medir(String operacao, Supplier<R> supplier) {
+        return timer(operacao).record(supplier);
+    }
+
+    protected void medir(String operacao, Runnable runnable) {
+        timer(operacao).record(runnable);
+    }
+
+    private Timer timer(String operacao) {
+        return timers.computeIfAbsent(operacao, op -> Timer.builder("utfpr.crud")
+                .description("Operações dos serviços CRUD")
+                .tag("entidade", getEntityClass().getSimpleName())
+                .tag("operacao", op)
+                .register(meterRegistry));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<T> getEntityClass() {
+        return (Class<T>) GenericTypeResolver.resolveTypeArguments(getClass(), CrudServiceImpl.class)[0];
     }
 }
@@ -1,13 +1,12 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
-import br.com.utfpr.gerenciamento.server.model.Emprestimo;
+import br.com.utfpr.gerenciamento.server.component.DashboardCache;
 import br.com.utfpr.gerenciamento.server.model.dashboards.*;
 import br.com.utfpr.gerenciamento.server.service.CompraService;
 import br.com.utfpr.gerenciamento.server.service.DashboardService;
 import br.com.utfpr.gerenciamento.server.service.EmprestimoService;
 import br.com.utfpr.gerenciamento.server.service.SaidaService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,55 +17,44 @@ public class DashboardServiceImpl implements DashboardService {
     private final EmprestimoService emprestimoService;
     private final CompraService compraService;
     private final SaidaService saidaService;
+    private final DashboardCache dashboardCache;
 
-    public DashboardServiceImpl(EmprestimoService emprestimoService, CompraService compraService, SaidaService saidaService) {
+    public DashboardServiceImpl(EmprestimoService emprestimoService, CompraService compraService, SaidaService saidaService,
+                                DashboardCache dashboardCache) {
         this.emprestimoService = emprestimoService;
         this.compraService = compraService;
         this.saidaService = saidaService;
+        this.dashboardCache = dashboardCache;
     }
 
+    // sem transação própria: um acerto no cache não precisa de conexão com o banco
     @Override
-    @Transactional(readOnly = true)
     public DashboardEmprestimoCountRange findDadosEmprestimoCountRange(LocalDate dtIni, LocalDate dtFim) {
-        List<Emprestimo> emprestimoList = emprestimoService.findAllByDataEmprestimoBetween(dtIni, dtFim);
-
-        DashboardEmprestimoCountRange toReturn = new DashboardEmprestimoCountRange();
-        toReturn.setTotal(emprestimoList.size());
-        toReturn.setEmAtraso((int) emprestimoList
-                .stream()
-                .filter(emprestimo -> emprestimo.getPrazoDevolucao().isBefore(LocalDate.now())
-                        && emprestimo.getDataDevolucao() == null)
-                .count());
-        toReturn.setEmAndamento((int) emprestimoList.stream()
-                .filter(emprestimo -> emprestimo.getDataDevolucao() == null
-                        && (emprestimo.getPrazoDevolucao().isEqual(LocalDate.now())
-                        || emprestimo.getPrazoDevolucao().isAfter(LocalDate.now())))
-                .count());
-        toReturn.setFinalizado((int) emprestimoList.stream().filter(emprestimo -> emprestimo.getDataDevolucao() != null).count());
-        return toReturn;
+        return dashboardCache.get("emprestimo-count-range", dtIni, dtFim,
+                () -> emprestimoService.countRangeByDataEmprestimo(dtIni, dtFim));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<DashboardEmprestimoDia> findTotalEmprestimoByDia(LocalDate dtIni, LocalDate dtFim) {
-        return emprestimoService.countByDataEmprestimo(dtIni, dtFim);
+        return dashboardCache.get("emprestimo-count-day-range", dtIni, dtFim,
+                () -> emprestimoService.countByDataEmprestimo(dtIni, dtFim));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<DashboardItensEmprestados> findItensMaisEmprestados(LocalDate dtIni, LocalDate dtFim) {
-        return emprestimoService.findItensMaisEmprestados(dtIni, dtFim);
+        return dashboardCache.get("itens-mais-emprestados", dtIni, dtFim,
+                () -> emprestimoService.findItensMaisEmprestados(dtIni, dtFim));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<DashboardItensAdquiridos> findItensMaisAdquiridos(LocalDate dtIni, LocalDate dtFim) {
-        return compraService.findItensMaisAdquiridos(dtIni, dtFim);
+        return dashboardCache.get("itens-mais-adquiridos", dtIni, dtFim,
+                () -> compraService.findItensMaisAdquiridos(dtIni, dtFim));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<DashboardItensSaidas> findItensComMaisSaidas(LocalDate dtIni, LocalDate dtFim) {
-        return saidaService.findItensMaisSaidas(dtIni, dtFim);
+        return dashboardCache.get("itens-mais-saidas", dtIni, dtFim,
+                () -> saidaService.findItensMaisSaidas(dtIni, dtFim));
     }
 }
@@ -0,0 +1,169 @@
+package br.com.utfpr.gerenciamento.server.service.impl;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusEmail;
+import br.com.utfpr.gerenciamento.server.model.Email;
+import br.com.utfpr.gerenciamento.server.model.EmailOutbox;
+import br.com.utfpr.gerenciamento.server.model.EmailOutboxAnexo;
+import br.com.utfpr.gerenciamento.server.repository.EmailOutboxRepository;
+import br.com.utfpr.gerenciamento.server.service.EmailOutboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    // SKIP LOCKED permite que mais de uma instância (ou thread) reserve lotes diferentes sem se bloquearem
+    private static final String SQL_RESERVAR = "UPDATE email_outbox SET status = 'ENVIANDO', atualizado_em = now() " +
+            " WHERE id IN (" +
+            "   SELECT id FROM email_outbox " +
+            "    WHERE status = 'PENDENTE' AND proxima_tentativa <= now() " +
+            "    ORDER BY id " +
+            "    LIMIT :limite " +
+            "    FOR UPDATE SKIP LOCKED) " +
+            " RETURNING id";
+
+    // os anexos saem junto pelo ON DELETE CASCADE de email_outbox_anexo
+    private static final String SQL_REMOVER_ANTIGOS = "DELETE FROM email_outbox WHERE id IN (" +
+            "   SELECT id FROM email_outbox " +
+            "    WHERE status IN ('ENVIADO', 'ERRO') AND atualizado_em < :limite " +
+            "    ORDER BY id " +
+            "    LIMIT :tamanho)";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${utfpr.email.outbox.max-tentativas:5}")
+    private int maxTentativas;
+
+    @Value("${utfpr.email.outbox.backoff-inicial-segundos:30}")
+    private long backoffInicialSegundos;
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public EmailOutbox enfileirar(Email email) {
+        return emailOutboxRepository.save(criarOutbox(email));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<EmailOutbox> enfileirarEmNovaTransacao(List<Email> emails) {
+        return emailOutboxRepository.saveAll(emails.stream().map(EmailOutboxServiceImpl::criarOutbox).toList());
+    }
+
+    private static EmailOutbox criarOutbox(Email email) {
+        List<String> destinatarios = new ArrayList<>();
+        if (email.getPara() != null && !email.getPara().isEmpty()) {
+            destinatarios.add(email.getPara());
+        } else if (email.getParaList() != null) {
+            destinatarios.addAll(email.getParaList());
+        }
+        if (destinatarios.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum email encontrado para envio.");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setRemetente(email.getDe());
+        outbox.setDestinatarios(String.join(",", destinatarios));
+        outbox.setTitulo(email.getTitulo());
+        outbox.setConteudo(email.getConteudo());
+        outbox.setStatus(StatusEmail.PENDENTE);
+        outbox.setProximaTentativa(agora);
+        outbox.setCriadoEm(agora);
+        outbox.setAtualizadoEm(agora);
+        if (email.getFileMap() != null) {
+            for (Map.Entry<String, byte[]> entry : email.getFileMap().entrySet()) {
+                EmailOutboxAnexo anexo = new EmailOutboxAnexo();
+                anexo.setEmailOutbox(outbox);
+                anexo.setNome(entry.getKey());
+                anexo.setConteudo(entry.getValue());
+                outbox.getAnexos().add(anexo);
+            }
+        }
+        return outbox;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> reservarPendentes(int limite) {
+        return jdbcTemplate.queryForList(SQL_RESERVAR, new MapSqlParameterSource("limite", limite), Long.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmailOutbox> findParaEnvio(Collection<Long> ids) {
+        List<EmailOutbox> emails = emailOutboxRepository.findAllWithAnexosByIdIn(ids);
+        // os anexos são lidos aqui porque o envio acontece fora da transação
+        emails.forEach(email -> email.getAnexos().forEach(EmailOutboxAnexo::getConteudo));
+        return emails;
+    }
+
+    @Override
+    @Transactional
+    public void marcarEnviados(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'ENVIADO', enviado_em = now(), atualizado_em = now(), ultimo_erro = NULL " +
+                " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    @Override
+    @Transactional
+    public void marcarFalha(Long id, String erro) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            int tentativas = email.getTentativas() + 1;
+            email.setTentativas(tentativas);
+            email.setUltimoErro(erro != null && erro.length() > 2000 ? erro.substring(0, 2000) : erro);
+            email.setAtualizadoEm(LocalDateTime.now());
+            if (tentativas >= maxTentativas) {
+                email.setStatus(StatusEmail.ERRO);
+            } else {
+                // backoff exponencial: 30s, 1min, 2min, 4min... limitado a 1 hora
+                long espera = Math.min(backoffInicialSegundos << (tentativas - 1), Duration.ofHours(1).toSeconds());
+                email.setStatus(StatusEmail.PENDENTE);
+                email.setProximaTentativa(LocalDateTime.now().plusSeconds(espera));
+            }
+            emailOutboxRepository.save(email);
+        });
+    }
+
+    @Override
+    @Transactional
+    public int liberarTravados(Duration tempoMaximoEnvio) {
+        return jdbcTemplate.update("UPDATE email_outbox SET status = 'PENDENTE', atualizado_em = now() " +
+                        " WHERE status = 'ENVIANDO' AND atualizado_em < :limite",
+                new MapSqlParameterSource("limite", Timestamp.valueOf(LocalDateTime.now().minus(tempoMaximoEnvio))));
+    }
+
+    @Override
+    @Transactional
+    public int removerAntigos(Duration retencao, int limite) {
+        return jdbcTemplate.update(SQL_REMOVER_ANTIGOS, new MapSqlParameterSource()
+                .addValue("limite", Timestamp.valueOf(LocalDateTime.now().minus(retencao)))
+                .addValue("tamanho", limite));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPendentes() {
+        return emailOutboxRepository.countByStatus(StatusEmail.PENDENTE);
+    }
+}
@@ -1,20 +1,19 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.component.EmailOutboxDispatcher;
+import br.com.utfpr.gerenciamento.server.component.EmailTemplateRenderer;
 import br.com.utfpr.gerenciamento.server.model.Email;
+import br.com.utfpr.gerenciamento.server.service.EmailOutboxService;
 import br.com.utfpr.gerenciamento.server.service.EmailService;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import jakarta.mail.internet.MimeMessage;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -23,59 +22,33 @@ public class EmailServiceImpl implements EmailService {
     @Value("${utfpr.email.address}")
     private String emailAddress;
 
-    private final JavaMailSender javaMailSender;
-    private final Configuration freemarkerConfiguration;
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender javaMailSender,
-                            Configuration freemarkerConfiguration) {
-        this.javaMailSender = javaMailSender;
-        this.freemarkerConfiguration = freemarkerConfiguration;
+    public EmailServiceImpl(EmailTemplateRenderer emailTemplateRenderer,
+                            EmailOutboxService emailOutboxService,
+                            EmailOutboxDispatcher emailOutboxDispatcher) {
+        this.emailTemplateRenderer = emailTemplateRenderer;
+        this.emailOutboxService = emailOutboxService;
+        this.emailOutboxDispatcher = emailOutboxDispatcher;
     }
 
     @Override
     public void enviar(Email email) throws Exception {
-        new Thread(() -> {
-            try {
-                MimeMessage message = javaMailSender.createMimeMessage();
-
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-                helper.setFrom(email.getDe(), "Laboratório de Informática - UTFPR/PB");
-                helper.setReplyTo(email.getDe());
-
-                if (email.getPara() != null && !email.getPara().isEmpty()) {
-                    helper.setBcc(email.getPara());
-                } else if (email.getParaList() != null && !email.getParaList().isEmpty()) {
-                    helper.setBcc(email.getParaList().toArray(new String[0]));
-                } else {
-                    throw new Exception("Nenhum email encontrado para envio.");
-                }
-
-                helper.setSubject(email.getTitulo());
-                helper.setText(email.getConteudo(), true);
-
-                if (email.getFileMap() != null && !email.getFileMap().isEmpty()) {
-                    for (Map.Entry<String, byte[]> entry : email.getFileMap().entrySet()) {
-                        helper.addAttachment(entry.getKey(), new ByteArrayResource(entry.getValue()));
-                    }
-                }
-
-                log.info("Sending email....");
-                javaMailSender.send(message);
-                log.info("Email sent.");
-            } catch (Exception ex) {
-                log.error("Error sending email. ", ex);
-            }
-        }).start();
+        if (semDestinatario(email)) {
+            throw new Exception("Nenhum email encontrado para envio.");
+        }
+        emailOutboxService.enfileirar(email);
+        // o envio só começa depois do commit, para não mandar e-mail de uma operação desfeita
+        aposCommit(emailOutboxDispatcher::wakeUp);
     }
 
     @Override
     public String buildTemplateEmail(Object object, String nameTemplate) {
-        Template template;
         try {
-            template = freemarkerConfiguration.getTemplate(String.format("%s.ftl", nameTemplate));
-            return FreeMarkerTemplateUtils.processTemplateIntoString(template, object);
+            return emailTemplateRenderer.render(nameTemplate, object);
         } catch (Exception ex) {
             log.error("Building email template. ", ex);
             return null;
@@ -89,10 +62,71 @@ public class EmailServiceImpl implements EmailService {
                 .de(emailAddress)
                 .titulo(titleEmail)
                 .conteudo(this.buildTemplateEmail(objectTemplate, nameTemplate)).build();
+        enfileirarAposCommit(List.of(email));
+    }
+
+    @Override
+    public void sendEmailsWithTemplate(List<?> objectsTemplate, List<String> to, String titleEmail, String nameTemplate) {
+        List<String> conteudos;
         try {
-            this.enviar(email);
+            conteudos = emailTemplateRenderer.renderAll(nameTemplate, objectsTemplate);
         } catch (Exception ex) {
-            log.error("Error sending email. ", ex);
+            log.error("Building email template. ", ex);
+            return;
+        }
+        List<Email> emails = new ArrayList<>();
+        for (int i = 0; i < conteudos.size(); i++) {
+            if (conteudos.get(i) == null) {
+                continue;
+            }
+            emails.add(Email.builder()
+                    .para(to.get(i))
+                    .de(emailAddress)
+                    .titulo(titleEmail)
+                    .conteudo(conteudos.get(i)).build());
+        }
+        enfileirarAposCommit(emails);
+    }
+
+    // avisos das operações: entram na fila depois do commit de quem chama, em transação própria. Uma falha ao
+    // enfileirar fica no log sem desfazer a operação, e uma operação desfeita não gera e-mail
+    private void enfileirarAposCommit(List<Email> emails) {
+        List<Email> validos = new ArrayList<>();
+        for (Email email : emails) {
+            if (semDestinatario(email)) {
+                log.error("Error sending email. Nenhum email encontrado para envio: {}", email.getTitulo());
+            } else {
+                validos.add(email);
+            }
+        }
+        if (validos.isEmpty()) {
+            return;
+        }
+        aposCommit(() -> {
+            try {
+                emailOutboxService.enfileirarEmNovaTransacao(validos);
+                emailOutboxDispatcher.wakeUp();
+            } catch (RuntimeException ex) {
+                log.error("Error sending email. ", ex);
+            }
+        });
+    }
+
+    private static boolean semDestinatario(Email email) {
+        return (email.getPara() == null || email.getPara().isEmpty())
+                && (email.getParaList() == null || email.getParaList().isEmpty());
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
         }
     }
 }
@@ -1,53 +1,102 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ResultadoLoteDto;
 import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
 import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
 import br.com.utfpr.gerenciamento.server.model.Emprestimo;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoDevolucaoItem;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoItem;
+import br.com.utfpr.gerenciamento.server.model.Saida;
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoCountRange;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoDia;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensEmprestados;
 import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
 import br.com.utfpr.gerenciamento.server.model.modelTemplateEmail.EmprestimoTemplate;
 import br.com.utfpr.gerenciamento.server.repository.EmprestimoFilterRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository.DevolucaoItem;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository.ItemSaldo;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository.NovaSaida;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository.NovoEmprestimo;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository.SituacaoEmprestimo;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoLoteRepository;
 import br.com.utfpr.gerenciamento.server.repository.EmprestimoRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoResumoRepository;
 import br.com.utfpr.gerenciamento.server.repository.UsuarioRepository;
 import br.com.utfpr.gerenciamento.server.service.EmailService;
 import br.com.utfpr.gerenciamento.server.service.EmprestimoService;
+import br.com.utfpr.gerenciamento.server.service.EstoqueService;
+import br.com.utfpr.gerenciamento.server.service.ReservaService;
 import br.com.utfpr.gerenciamento.server.service.UsuarioService;
 import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 @Service
 public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> implements EmprestimoService {
 
     private final EmprestimoRepository emprestimoRepository;
     private final EmprestimoFilterRepository emprestimoFilterRepository;
+    private final EmprestimoResumoRepository emprestimoResumoRepository;
     private final UsuarioService usuarioService;
     private final EmailService emailService;
     private final UsuarioRepository usuarioRepository;
+    private final EmprestimoLoteRepository emprestimoLoteRepository;
+    private final EstoqueService estoqueService;
+    private final ReservaService reservaService;
 
 
-    public EmprestimoServiceImpl(EmprestimoRepository emprestimoRepository, EmprestimoFilterRepository emprestimoFilterRepository, UsuarioService usuarioService, EmailService emailService, UsuarioRepository usuarioRepository) {
+    @Autowired
+    public EmprestimoServiceImpl(EmprestimoRepository emprestimoRepository, EmprestimoFilterRepository emprestimoFilterRepository, EmprestimoResumoRepository emprestimoResumoRepository, UsuarioService usuarioService, EmailService emailService, UsuarioRepository usuarioRepository, EmprestimoLoteRepository emprestimoLoteRepository, EstoqueService estoqueService, ReservaService reservaService) {
         this.emprestimoRepository = emprestimoRepository;
         this.emprestimoFilterRepository = emprestimoFilterRepository;
+        this.emprestimoResumoRepository = emprestimoResumoRepository;
         this.usuarioService = usuarioService;
         this.emailService = emailService;
         this.usuarioRepository = usuarioRepository;
+        this.emprestimoLoteRepository = emprestimoLoteRepository;
+        this.estoqueService = estoqueService;
+        this.reservaService = reservaService;
+    }
+
+    // só as consultas do dashboard (resumo diário e itens mais emprestados), fora do Spring: usado pelo DashboardBenchmark
+    EmprestimoServiceImpl(EmprestimoRepository emprestimoRepository, EmprestimoResumoRepository emprestimoResumoRepository) {
+        this(emprestimoRepository, null, emprestimoResumoRepository, null, null, null, null, null, null);
     }
 
     private static final Logger LOGGER = Logger.getLogger(EmprestimoServiceImpl.class.getName());
 
+    private static final int TAMANHO_MAXIMO_LOTE = 500;
+
     @Override
     protected JpaRepository<Emprestimo, Long> getRepository() {
         return emprestimoRepository;
@@ -73,7 +122,13 @@ public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> imp
     @Override
     @Transactional(readOnly = true)
     public List<DashboardEmprestimoDia> countByDataEmprestimo(LocalDate dtIni, LocalDate dtFim) {
-        return emprestimoRepository.countByDataEmprestimo(dtIni, dtFim);
+        return emprestimoResumoRepository.countByDataEmprestimo(dtIni, dtFim);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DashboardEmprestimoCountRange countRangeByDataEmprestimo(LocalDate dtIni, LocalDate dtFim) {
+        return emprestimoResumoRepository.countRange(dtIni, dtFim, LocalDate.now());
     }
 
     @Override
@@ -104,6 +159,18 @@ public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> imp
         return emprestimoFilterRepository.filter(emprestimoFilter);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Emprestimo> filter(EmprestimoFilter emprestimoFilter, Pageable pageable) {
+        return emprestimoFilterRepository.filter(emprestimoFilter, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void filter(EmprestimoFilter emprestimoFilter, int tamanhoLote, Consumer<List<Emprestimo>> consumer) {
+        emprestimoFilterRepository.filter(emprestimoFilter, tamanhoLote, consumer);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Emprestimo> findAllUsuarioEmprestimo(String username) {
@@ -117,6 +184,245 @@ public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> imp
         return emprestimoRepository.findAllByDataDevolucaoIsNullOrderById();
     }
 
+    @Override
+    @Transactional
+    public List<ResultadoLoteDto> saveLote(List<EmprestimoLoteDto> emprestimos) {
+        validarTamanhoLote(emprestimos);
+        // saldo e tipo de todos os itens do lote em uma única consulta, com as linhas bloqueadas até o commit: lotes
+        // concorrentes sobre os mesmos itens esperam, e o saldo é consumido à medida que os empréstimos são aceitos
+        Map<Long, ItemSaldo> itens = emprestimoLoteRepository.findItens(emprestimos.stream()
+                .filter(emprestimo -> emprestimo.itens() != null)
+                .flatMap(emprestimo -> emprestimo.itens().stream())
+                .map(ItemLoteDto::itemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Set<Long> usuarios = emprestimoLoteRepository.findUsuarios(emprestimos.stream()
+                .map(EmprestimoLoteDto::usuarioEmprestimoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Long usuarioResponsavelId = usuarioService.findByUsername(
+                (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+
+        Map<Long, BigDecimal> saldos = new HashMap<>();
+        itens.values().forEach(item -> saldos.put(item.id(), item.saldo() != null ? item.saldo() : BigDecimal.ZERO));
+        Map<Long, BigDecimal> baixa = new TreeMap<>();
+        List<NovoEmprestimo> novos = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        ResultadoLoteDto[] resultados = new ResultadoLoteDto[emprestimos.size()];
+
+        for (int i = 0; i < emprestimos.size(); i++) {
+            EmprestimoLoteDto emprestimo = emprestimos.get(i);
+            Map<Long, BigDecimal> qtdePorItem = new TreeMap<>();
+            String erro = validarEmprestimo(emprestimo, usuarios, itens, saldos, qtdePorItem);
+            if (erro != null) {
+                resultados[i] = ResultadoLoteDto.falha(i, null, erro);
+                continue;
+            }
+            qtdePorItem.forEach((idItem, qtde) -> {
+                saldos.merge(idItem, qtde, BigDecimal::subtract);
+                baixa.merge(idItem, qtde, BigDecimal::add);
+            });
+            List<ItemLoteDto> devolucao = emprestimo.itens().stream()
+                    .filter(item -> itens.get(item.itemId()).tipoItem() == TipoItem.C)
+                    .collect(Collectors.toList());
+            novos.add(new NovoEmprestimo(emprestimo.usuarioEmprestimoId(), usuarioResponsavelId,
+                    emprestimo.dataEmprestimo() != null ? emprestimo.dataEmprestimo() : LocalDate.now(),
+                    emprestimo.prazoDevolucao(), emprestimo.observacao(), emprestimo.itens(), devolucao));
+            indices.add(i);
+        }
+        if (novos.isEmpty()) {
+            return Arrays.asList(resultados);
+        }
+
+        List<Long> ids = emprestimoLoteRepository.inserir(novos);
+        for (int i = 0; i < ids.size(); i++) {
+            resultados[indices.get(i)] = ResultadoLoteDto.sucesso(indices.get(i), ids.get(i));
+        }
+        // a baixa ainda confere o saldo no UPDATE, mas com os itens bloqueados nenhum outro movimento o altera antes
+        estoqueService.baixarSaldo(baixa, true);
+        publicarAlteracao();
+
+        indices.stream()
+                .map(indice -> emprestimos.get(indice).idReserva())
+                .filter(idReserva -> idReserva != null && idReserva != 0)
+                .distinct()
+                .forEach(reservaService::finalizarReserva);
+
+        // os emails entram na fila depois do commit, sem desfazer o lote se a gravação deles falhar
+        Map<Boolean, List<Emprestimo>> porTemplate = findParaEmail(ids).stream()
+                .collect(Collectors.partitioningBy(emprestimo -> !emprestimo.getEmprestimoDevolucaoItem().isEmpty()));
+        enfileirarEmails(porTemplate.get(true), "Confirmação de Empréstimo", "templateConfirmacaoEmprestimo");
+        enfileirarEmails(porTemplate.get(false), "Confirmação de Empréstimo", "templateConfirmacaoFinalizacaoEmprestimo");
+        return Arrays.asList(resultados);
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoLoteDto> saveDevolucaoLote(List<DevolucaoLoteDto> devolucoes) {
+        validarTamanhoLote(devolucoes);
+        Set<Long> idsEmprestimo = devolucoes.stream()
+                .map(DevolucaoLoteDto::idEmprestimo)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, SituacaoEmprestimo> situacoes = emprestimoLoteRepository.findSituacao(idsEmprestimo);
+        Map<Long, DevolucaoItem> devolucaoItens = new HashMap<>();
+        emprestimoLoteRepository.findDevolucaoItens(idsEmprestimo).forEach(item -> devolucaoItens.put(item.id(), item));
+
+        Set<Long> processados = new HashSet<>();
+        List<DevolucaoItemLoteDto> alterados = new ArrayList<>();
+        ResultadoLoteDto[] resultados = new ResultadoLoteDto[devolucoes.size()];
+        for (int i = 0; i < devolucoes.size(); i++) {
+            DevolucaoLoteDto devolucao = devolucoes.get(i);
+            String erro = validarDevolucao(devolucao, situacoes, devolucaoItens, processados);
+            if (erro != null) {
+                resultados[i] = ResultadoLoteDto.falha(i, devolucao.idEmprestimo(), erro);
+                continue;
+            }
+            processados.add(devolucao.idEmprestimo());
+            if (devolucao.itens() != null) {
+                devolucao.itens().stream()
+                        .filter(item -> devolucaoItens.get(item.id()).status() == StatusDevolucao.P
+                                && item.statusDevolucao() != StatusDevolucao.P)
+                        .forEach(alterados::add);
+            }
+            resultados[i] = ResultadoLoteDto.sucesso(i, devolucao.idEmprestimo());
+        }
+        if (processados.isEmpty()) {
+            return Arrays.asList(resultados);
+        }
+
+        // o UPDATE só altera itens ainda pendentes; uma devolução concorrente desfaz o lote em vez de repor o saldo duas vezes
+        if (emprestimoLoteRepository.atualizarStatusDevolucao(alterados) != alterados.size()) {
+            throw new RuntimeException("Itens do empréstimo já devolvidos por outra operação.");
+        }
+        Map<Long, StatusDevolucao> novoStatus = new HashMap<>();
+        alterados.forEach(item -> novoStatus.put(item.id(), item.statusDevolucao()));
+
+        Map<Long, BigDecimal> reposicao = new TreeMap<>();
+        Map<Long, List<ItemLoteDto>> saidaPorEmprestimo = new TreeMap<>();
+        Set<Long> pendentes = new HashSet<>();
+        devolucaoItens.values().stream()
+                .filter(item -> processados.contains(item.emprestimoId()))
+                .forEach(item -> {
+                    StatusDevolucao status = novoStatus.getOrDefault(item.id(), item.status());
+                    if (status == StatusDevolucao.P) {
+                        pendentes.add(item.emprestimoId());
+                    } else if (novoStatus.containsKey(item.id()) && status == StatusDevolucao.D) {
+                        reposicao.merge(item.itemId(), item.qtde(), BigDecimal::add);
+                    } else if (novoStatus.containsKey(item.id()) && status == StatusDevolucao.S) {
+                        saidaPorEmprestimo.computeIfAbsent(item.emprestimoId(), id -> new ArrayList<>())
+                                .add(new ItemLoteDto(item.itemId(), item.qtde()));
+                    }
+                });
+
+        List<Long> finalizados = processados.stream()
+                .filter(id -> !pendentes.contains(id))
+                .collect(Collectors.toList());
+        emprestimoLoteRepository.finalizar(finalizados, LocalDate.now());
+
+        estoqueService.reporSaldo(reposicao);
+        emprestimoLoteRepository.inserirSaidas(saidaPorEmprestimo.entrySet().stream()
+                .map(saida -> new NovaSaida(saida.getKey(), situacoes.get(saida.getKey()).usuarioResponsavelId(), saida.getValue()))
+                .collect(Collectors.toList()), LocalDate.now());
+        publicarAlteracao();
+        if (!saidaPorEmprestimo.isEmpty()) {
+            publicarAlteracao(Saida.class);
+        }
+
+        enfileirarEmails(findParaEmail(processados),
+                "Confirmação de Devolução do Empréstimo", "templateDevolucaoEmprestimo");
+        return Arrays.asList(resultados);
+    }
+
+    private String validarEmprestimo(EmprestimoLoteDto emprestimo, Set<Long> usuarios, Map<Long, ItemSaldo> itens,
+                                     Map<Long, BigDecimal> saldos, Map<Long, BigDecimal> qtdePorItem) {
+        if (emprestimo.usuarioEmprestimoId() == null || !usuarios.contains(emprestimo.usuarioEmprestimoId())) {
+            return "Usuário do empréstimo não encontrado.";
+        }
+        if (emprestimo.itens() == null || emprestimo.itens().isEmpty()) {
+            return "Empréstimo sem itens.";
+        }
+        for (ItemLoteDto item : emprestimo.itens()) {
+            if (item.itemId() == null || !itens.containsKey(item.itemId())) {
+                return "Item não encontrado: " + item.itemId();
+            }
+            if (item.qtde() == null || item.qtde().compareTo(BigDecimal.ZERO) <= 0) {
+                return "Quantidade inválida para o item: " + item.itemId();
+            }
+            qtdePorItem.merge(item.itemId(), item.qtde(), BigDecimal::add);
+        }
+        for (Map.Entry<Long, BigDecimal> entry : qtdePorItem.entrySet()) {
+            BigDecimal saldo = saldos.get(entry.getKey());
+            if (saldo.compareTo(BigDecimal.ZERO) <= 0) {
+                return "Saldo menor ou igual a 0";
+            } else if (saldo.compareTo(entry.getValue()) < 0) {
+                return "Saldo menor que a quantidade informada";
+            }
+        }
+        return null;
+    }
+
+    private String validarDevolucao(DevolucaoLoteDto devolucao, Map<Long, SituacaoEmprestimo> situacoes,
+                                    Map<Long, DevolucaoItem> devolucaoItens, Set<Long> processados) {
+        SituacaoEmprestimo situacao = devolucao.idEmprestimo() != null ? situacoes.get(devolucao.idEmprestimo()) : null;
+        if (situacao == null) {
+            return "Empréstimo não encontrado.";
+        }
+        if (situacao.dataDevolucao() != null) {
+            return "Empréstimo já finalizado.";
+        }
+        if (processados.contains(devolucao.idEmprestimo())) {
+            return "Empréstimo repetido no lote.";
+        }
+        if (devolucao.itens() == null) {
+            return null;
+        }
+        Set<Long> idsItem = new HashSet<>();
+        for (DevolucaoItemLoteDto item : devolucao.itens()) {
+            DevolucaoItem atual = item.id() != null ? devolucaoItens.get(item.id()) : null;
+            if (atual == null || !atual.emprestimoId().equals(devolucao.idEmprestimo()) || !idsItem.add(item.id())) {
+                return "Item de devolução inválido: " + item.id();
+            }
+            if (item.statusDevolucao() == null) {
+                return "Situação não informada para o item de devolução: " + item.id();
+            }
+            if (atual.status() != StatusDevolucao.P && item.statusDevolucao() != atual.status()) {
+                return "Item de devolução já processado: " + item.id();
+            }
+        }
+        return null;
+    }
+
+    private void validarTamanhoLote(List<?> lote) {
+        if (lote == null || lote.isEmpty()) {
+            throw new RuntimeException("Nenhum registro informado.");
+        }
+        if (lote.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new RuntimeException("O lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " registros.");
+        }
+    }
+
+    // empréstimos com usuários, itens e itens de devolução já carregados, em duas consultas: os templates
+    // percorrem essas associações, que carregadas sob demanda custariam algumas consultas por empréstimo
+    private List<Emprestimo> findParaEmail(Collection<Long> ids) {
+        List<Emprestimo> emprestimos = emprestimoRepository.findAllComItensByIdIn(ids);
+        emprestimoRepository.findAllComDevolucaoItensByIdIn(ids);
+        return emprestimos;
+    }
+
+    private void enfileirarEmails(List<Emprestimo> emprestimos, String titulo, String template) {
+        if (emprestimos.isEmpty()) {
+            return;
+        }
+        List<EmprestimoTemplate> templates = new ArrayList<>(emprestimos.size());
+        List<String> destinatarios = new ArrayList<>(emprestimos.size());
+        emprestimos.forEach(emprestimo -> {
+            templates.add(converterEmprestimoToObjectTemplate(emprestimo));
+            destinatarios.add(emprestimo.getUsuarioEmprestimo().getEmail());
+        });
+        emailService.sendEmailsWithTemplate(templates, destinatarios, titulo, template);
+    }
+
     @Override
     @Transactional
     public void changePrazoDevolucao(Long idEmprestimo, LocalDate novaData) {
@@ -162,14 +468,16 @@ public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> imp
         List<Emprestimo> emprestimos = emprestimoRepository
                 .findByDataDevolucaoIsNullAndPrazoDevolucaoEquals(LocalDate.now().plusDays(3));
         if (emprestimos.size() > 0) {
+            List<EmprestimoTemplate> templates = new ArrayList<>(emprestimos.size());
+            List<String> destinatarios = new ArrayList<>(emprestimos.size());
             emprestimos.forEach(emprestimo -> {
-                emailService.sendEmailWithTemplate(
-                        converterEmprestimoToObjectTemplate(emprestimo),
-                        emprestimo.getUsuarioEmprestimo().getEmail(),
-                        "Empréstimo próximo da data de devolução",
-                        "templateProximoPrazoDevolucaoEmprestimo");
-                LOGGER.log(Level.INFO, "Email de aviso enviado com sucesso para: " + emprestimo.getUsuarioEmprestimo().getEmail());
+                templates.add(converterEmprestimoToObjectTemplate(emprestimo));
+                destinatarios.add(emprestimo.getUsuarioEmprestimo().getEmail());
             });
+            emailService.sendEmailsWithTemplate(templates, destinatarios,
+                    "Empréstimo próximo da data de devolução",
+                    "templateProximoPrazoDevolucaoEmprestimo");
+            LOGGER.log(Level.INFO, "Emails de aviso enfileirados: " + destinatarios.size());
         } else {
             LOGGER.log(Level.INFO, "Nenhum empréstimo vencerá daqui 3 dias.");
         }
@@ -188,4 +496,20 @@ public class EmprestimoServiceImpl extends CrudServiceImpl<Emprestimo, Long> imp
         toReturn.setEmprestimoDevolucaoItem(e.getEmprestimoDevolucaoItem());
         return toReturn;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EmprestimoResumoDto> findResumo(Pageable pageable) {
+        return emprestimoRepository.findResumo(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmprestimoDetalheDto findDetalhe(Long id) {
+        EmprestimoResumoDto resumo = emprestimoRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Empréstimo não encontrado."));
+        return new EmprestimoDetalheDto(resumo,
+                emprestimoRepository.findItensResumoById(id),
+                emprestimoRepository.findDevolucaoItensResumoById(id));
+    }
 }
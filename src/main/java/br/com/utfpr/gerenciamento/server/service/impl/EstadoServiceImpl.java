@@ -1,11 +1,13 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.component.GeografiaCache;
 import br.com.utfpr.gerenciamento.server.model.Estado;
 import br.com.utfpr.gerenciamento.server.repository.EstadoRepository;
 import br.com.utfpr.gerenciamento.server.service.EstadoService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import br.com.utfpr.gerenciamento.server.util.PrefixIndex;
  import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,9 +15,11 @@ import java.util.List;
 public class EstadoServiceImpl extends CrudServiceImpl<Estado, Long> implements EstadoService {
 
     private final EstadoRepository estadoRepository;
+    private final GeografiaCache geografiaCache;
 
-    public EstadoServiceImpl(EstadoRepository estadoRepository) {
+    public EstadoServiceImpl(EstadoRepository estadoRepository, GeografiaCache geografiaCache) {
         this.estadoRepository = estadoRepository;
+        this.geografiaCache = geografiaCache;
     }
 
     @Override
@@ -24,12 +28,11 @@ public class EstadoServiceImpl extends CrudServiceImpl<Estado, Long> implements
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Estado> estadoComplete(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return estadoRepository.findAll();
-        } else {
-            return estadoRepository.findByNomeLikeIgnoreCase("%" + query + "%");
+        PrefixIndex<Estado> estados = geografiaCache.get().estados();
+        if (BuscaUtil.isVazia(query)) {
+            return estados.all();
         }
+        return estados.search(query, BuscaUtil.LIMITE);
     }
 }
@@ -0,0 +1,85 @@
+package br.com.utfpr.gerenciamento.server.service.impl;
+
+import br.com.utfpr.gerenciamento.server.service.EstoqueService;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Service
+public class EstoqueServiceImpl implements EstoqueService {
+
+    private static final String SQL_BAIXAR_VALIDANDO =
+            "UPDATE item SET saldo = saldo - ? WHERE id = ? AND saldo >= ?";
+    private static final String SQL_BAIXAR =
+            "UPDATE item SET saldo = saldo - ? WHERE id = ?";
+    private static final String SQL_REPOR =
+            "UPDATE item SET saldo = saldo + ? WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EstoqueServiceImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void baixarSaldo(Map<Long, BigDecimal> qtdePorItem, boolean needValidationSaldo) {
+        if (qtdePorItem.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(qtdePorItem.size());
+        new TreeMap<>(qtdePorItem).forEach((idItem, qtde) -> args.add(
+                needValidationSaldo ? new Object[]{qtde, idItem, qtde} : new Object[]{qtde, idItem}));
+
+        int[] atualizados = executar(needValidationSaldo ? SQL_BAIXAR_VALIDANDO : SQL_BAIXAR, args);
+        for (int atualizado : atualizados) {
+            // nenhuma linha atualizada = saldo insuficiente; a exceção desfaz o lote inteiro
+            if (atualizado == 0) {
+                throw new RuntimeException("Saldo menor que a quantidade informada");
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reporSaldo(Map<Long, BigDecimal> qtdePorItem) {
+        if (qtdePorItem.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(qtdePorItem.size());
+        new TreeMap<>(qtdePorItem).forEach((idItem, qtde) -> args.add(new Object[]{qtde, idItem}));
+        executar(SQL_REPOR, args);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validarSaldo(Map<Long, BigDecimal> qtdePorItem) {
+        if (qtdePorItem.isEmpty()) {
+            return;
+        }
+        Map<Long, BigDecimal> saldoPorItem = new HashMap<>();
+        jdbcTemplate.query("SELECT id, saldo FROM item WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", qtdePorItem.keySet()),
+                rs -> {
+                    saldoPorItem.put(rs.getLong("id"), rs.getBigDecimal("saldo"));
+                });
+        qtdePorItem.forEach((idItem, qtde) -> {
+            BigDecimal saldo = saldoPorItem.getOrDefault(idItem, BigDecimal.ZERO);
+            if (saldo.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new RuntimeException("Saldo menor ou igual a 0");
+            } else if (saldo.compareTo(qtde) < 0) {
+                throw new RuntimeException("Saldo menor que a quantidade informada");
+            }
+        });
+    }
+
+    // o lock de linha do UPDATE vale até o fim da transação externa (ex.: o lote de empréstimos); os ids vão
+    // sempre em ordem crescente para que dois lotes sobre os mesmos itens não entrem em deadlock no banco
+    private int[] executar(String sql, List<Object[]> args) {
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(sql, args);
+    }
+}
@@ -3,6 +3,8 @@ package br.com.utfpr.gerenciamento.server.service.impl;
 import br.com.utfpr.gerenciamento.server.model.Fornecedor;
 import br.com.utfpr.gerenciamento.server.repository.FornecedorRepository;
 import br.com.utfpr.gerenciamento.server.service.FornecedorService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,10 +28,11 @@ public class FornecedorServiceImpl extends CrudServiceImpl<Fornecedor, Long> imp
     @Override
     @Transactional(readOnly = true)
     public List<Fornecedor> completeFornecedor(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return fornecedorRepository.findAll();
+        if (BuscaUtil.isVazia(query)) {
+            return fornecedorRepository.findAllByOrderByNomeFantasia(Limit.of(BuscaUtil.LIMITE));
         } else {
-            return fornecedorRepository.findByNomeFantasiaLikeIgnoreCase("%" + query + "%");
+            return fornecedorRepository.search(BuscaUtil.termo(query), BuscaUtil.contem(query),
+                    BuscaUtil.prefixo(query), BuscaUtil.LIMITE);
         }
     }
 }
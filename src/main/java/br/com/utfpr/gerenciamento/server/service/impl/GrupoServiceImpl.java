@@ -1,19 +1,28 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.event.EntidadeAlteradaEvent;
 import br.com.utfpr.gerenciamento.server.model.Grupo;
 import br.com.utfpr.gerenciamento.server.repository.GrupoRepository;
 import br.com.utfpr.gerenciamento.server.service.GrupoService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import br.com.utfpr.gerenciamento.server.util.PrefixIndex;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class GrupoServiceImpl extends CrudServiceImpl<Grupo, Long> implements GrupoService {
 
     private final GrupoRepository grupoRepository;
 
+    // poucos registros: o autocomplete é atendido em memória e reconstruído após qualquer alteração
+    private volatile PrefixIndex<Grupo> indice;
+    private final AtomicLong versao = new AtomicLong();
+
     public GrupoServiceImpl(GrupoRepository grupoRepository) {
         this.grupoRepository = grupoRepository;
     }
@@ -26,10 +35,22 @@ public class GrupoServiceImpl extends CrudServiceImpl<Grupo, Long> implements Gr
     @Override
     @Transactional(readOnly = true)
     public List<Grupo> completeGrupo(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return grupoRepository.findAll();
-        } else {
-            return grupoRepository.findByDescricaoLikeIgnoreCase("%" + query + "%");
+        PrefixIndex<Grupo> atual = indice;
+        if (atual == null) {
+            long versaoInicial = versao.get();
+            atual = new PrefixIndex<>(grupoRepository.findAll(), Grupo::getDescricao);
+            if (versaoInicial == versao.get()) {
+                indice = atual;
+            }
+        }
+        return atual.search(query, BuscaUtil.LIMITE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntidadeAlterada(EntidadeAlteradaEvent event) {
+        if (Grupo.class.equals(event.entidade())) {
+            versao.incrementAndGet();
+            indice = null;
         }
     }
 }
@@ -1,18 +1,33 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.ImagemArquivoDto;
+import br.com.utfpr.gerenciamento.server.dto.ImagemUrlDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemResumoDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.TamanhoImagem;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
+import br.com.utfpr.gerenciamento.server.error.SaldoAlteradoException;
 import br.com.utfpr.gerenciamento.server.minio.config.MinioConfig;
-import br.com.utfpr.gerenciamento.server.minio.payload.FileResponse;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectUpload;
 import br.com.utfpr.gerenciamento.server.minio.service.MinioService;
-import br.com.utfpr.gerenciamento.server.minio.util.FileTypeUtils;
+import br.com.utfpr.gerenciamento.server.minio.util.ContentAddressUtils;
 import br.com.utfpr.gerenciamento.server.model.Email;
+import br.com.utfpr.gerenciamento.server.model.ImagemDerivada;
 import br.com.utfpr.gerenciamento.server.model.Item;
 import br.com.utfpr.gerenciamento.server.model.ItemImage;
+import br.com.utfpr.gerenciamento.server.repository.ImagemObjetoRepository;
 import br.com.utfpr.gerenciamento.server.repository.ItemImageRepository;
 import br.com.utfpr.gerenciamento.server.repository.ItemRepository;
 import br.com.utfpr.gerenciamento.server.service.EmailService;
+import br.com.utfpr.gerenciamento.server.service.EstoqueService;
 import br.com.utfpr.gerenciamento.server.service.ItemService;
 import br.com.utfpr.gerenciamento.server.service.RelatorioService;
-import net.sf.jasperreports.engine.JasperExportManager;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import br.com.utfpr.gerenciamento.server.util.ImagemUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +35,22 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements ItemService {
@@ -33,35 +60,60 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
     private final MinioService minioService;
     private final MinioConfig minioConfig;
     private final ItemImageRepository itemImageRepository;
+    private final EstoqueService estoqueService;
+    private final ImagemObjetoRepository imagemObjetoRepository;
+    private final long maxPixelsDerivadas;
+    // gerações de versões reduzidas em andamento, por imagem
+    private final ConcurrentHashMap<Long, CompletableFuture<ItemImage>> geracoes = new ConcurrentHashMap<>();
 
     public ItemServiceImpl(ItemRepository itemRepository, EmailService emailService, RelatorioService relatorioService,
-                           MinioService minioService, MinioConfig minioConfig, ItemImageRepository itemImageRepository) {
+                           MinioService minioService, MinioConfig minioConfig, ItemImageRepository itemImageRepository,
+                           EstoqueService estoqueService, ImagemObjetoRepository imagemObjetoRepository,
+                           @Value("${utfpr.imagens.derivadas.max-pixels:40000000}") long maxPixelsDerivadas) {
         this.itemRepository = itemRepository;
         this.emailService = emailService;
         this.relatorioService = relatorioService;
         this.minioService = minioService;
         this.minioConfig = minioConfig;
         this.itemImageRepository = itemImageRepository;
+        this.estoqueService = estoqueService;
+        this.imagemObjetoRepository = imagemObjetoRepository;
+        this.maxPixelsDerivadas = maxPixelsDerivadas;
     }
 
+    private static final Logger LOGGER = Logger.getLogger(ItemServiceImpl.class.getName());
+
     @Override
     protected JpaRepository<Item, Long> getRepository() {
         return itemRepository;
     }
 
+    @Override
+    @Transactional
+    public Item save(Item entity) {
+        // o saldo não é gravado pela edição do item (ver Item.saldo); um valor diferente do atual é recusado em vez de
+        // ser descartado sem aviso
+        if (entity.getId() != null && entity.getSaldo() != null) {
+            itemRepository.findSaldoById(entity.getId())
+                    .filter(saldo -> saldo.compareTo(entity.getSaldo()) != 0)
+                    .ifPresent(saldo -> {
+                        throw new SaldoAlteradoException("O saldo do item é alterado apenas por empréstimos, devoluções, "
+                                + "saídas e compras. Saldo atual: " + saldo.toPlainString());
+                    });
+        }
+        return super.save(entity);
+    }
+
     @Override
     @Transactional
     public List<Item> itemComplete(String query, Boolean hasEstoque) {
-        BigDecimal zero = new BigDecimal(0);
-        if ("".equalsIgnoreCase(query)) {
-            if (hasEstoque) return itemRepository.findAllBySaldoIsGreaterThanOrderByNome(zero);
-            else return itemRepository.findAllByOrderByNome();
-        } else {
-            if (hasEstoque) {
-                return itemRepository
-                        .findByNomeLikeIgnoreCaseAndSaldoIsGreaterThanOrderByNome("%" + query + "%", zero);
-            } else return itemRepository.findByNomeLikeIgnoreCaseOrderByNome("%" + query + "%");
+        boolean somenteComSaldo = Boolean.TRUE.equals(hasEstoque);
+        if (BuscaUtil.isVazia(query)) {
+            if (somenteComSaldo) return itemRepository.findAllBySaldoIsGreaterThanOrderByNome(BigDecimal.ZERO, Limit.of(BuscaUtil.LIMITE));
+            else return itemRepository.findAllByOrderByNome(Limit.of(BuscaUtil.LIMITE));
         }
+        return itemRepository.search(BuscaUtil.termo(query), BuscaUtil.contem(query), BuscaUtil.prefixo(query),
+                somenteComSaldo, BuscaUtil.LIMITE);
     }
 
     @Override
@@ -73,19 +125,13 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
     @Override
     @Transactional
     public void diminuiSaldoItem(Long idItem, BigDecimal qtde, boolean needValidationSaldo) {
-        Item itemToSave = itemRepository.findById(idItem).get();
-        if (!needValidationSaldo || this.saldoItemIsValid(itemToSave.getSaldo(), qtde)) {
-            itemToSave.setSaldo(itemToSave.getSaldo().subtract(qtde));
-            itemRepository.save(itemToSave);
-        }
+        estoqueService.baixarSaldo(Map.of(idItem, qtde), needValidationSaldo);
     }
 
     @Override
     @Transactional
     public void aumentaSaldoItem(Long idItem, BigDecimal qtde) {
-        Item itemToSave = itemRepository.findById(idItem).get();
-        itemToSave.setSaldo(itemToSave.getSaldo().add(qtde));
-        itemRepository.save(itemToSave);
+        estoqueService.reporSaldo(Map.of(idItem, qtde));
     }
 
 
@@ -112,24 +158,51 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
                            HttpServletRequest request,
                            Long idItem) {
         Item item = this.findOne(idItem);
-        var anexos = files.getFiles("anexos[]");
         List<ItemImage> list = new ArrayList<>();
-        for (MultipartFile anexo : anexos) {
-            String fileType = FileTypeUtils.getFileType(anexo);
-            if (fileType != null) {
-                FileResponse fileResponse = minioService.putObject(anexo, minioConfig.getBucketName(), fileType);
-                ItemImage image = new ItemImage();
-                image.setContentType(fileResponse.getContentType());
-                image.setNameImage(fileResponse.getFilename());
-                image.setItem(item);
-                list.add(image);
-
+        Map<String, ObjectUpload> novos = new LinkedHashMap<>();
+        for (MultipartFile anexo : files.getFiles("anexos[]")) {
+            ObjectUpload upload = identificar(anexo);
+            if (upload == null) {
+                continue;
             }
+            // a linha reservada fica bloqueada até o commit, então a coleta de órfãos não remove o objeto reaproveitado;
+            // só conteúdo ainda não armazenado é enviado
+            if (!novos.containsKey(upload.objectName()) && imagemObjetoRepository.reservar(upload.objectName())) {
+                novos.put(upload.objectName(), upload);
+            }
+            ItemImage image = new ItemImage();
+            image.setContentType(upload.contentType());
+            image.setNameImage(upload.objectName());
+            image.setItem(item);
+            lerDimensoes(image, anexo);
+            list.add(image);
         }
+        minioService.putObjects(new ArrayList<>(novos.values()), minioConfig.getBucketName());
         item.getImageItem().addAll(list);
         this.save(item);
     }
 
+    private static ObjectUpload identificar(MultipartFile anexo) {
+        try {
+            return ContentAddressUtils.toUpload(anexo);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível ler o arquivo " + anexo.getOriginalFilename(), e);
+            return null;
+        }
+    }
+
+    private static void lerDimensoes(ItemImage image, MultipartFile anexo) {
+        try (InputStream inputStream = anexo.getInputStream()) {
+            Dimension dimensoes = ImagemUtil.lerDimensoes(inputStream);
+            if (dimensoes != null) {
+                image.setLargura(dimensoes.width);
+                image.setAltura(dimensoes.height);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível ler as dimensões da imagem " + image.getNameImage(), e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ItemImage> getImagesItem(Long idItem) {
@@ -143,22 +216,167 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
         if (file.exists()) {
             file.delete();
         }
-        // Only remove the file if the image is associated to one item.
-        if (itemImageRepository.findItemImageByNameImage(image.getNameImage()).size() == 1) {
-            minioService.removeObject(minioConfig.getBucketName(), image.getNameImage());
-        }
         Item i = this.findOne(idItem);
         i.getImageItem().removeIf(itemImage -> itemImage.getId().equals(image.getId()));
         this.save(i);
     }
 
+    @Override
+    @Transactional
+    public int removerImagensOrfas(Duration carencia, int limite) {
+        List<String> orfaos = imagemObjetoRepository.findOrfaos(carencia, limite);
+        if (orfaos.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> objetosPorImagem = new LinkedHashMap<>();
+        for (String nameImage : orfaos) {
+            List<String> objetos = new ArrayList<>();
+            objetos.add(nameImage);
+            for (TamanhoImagem tamanho : TamanhoImagem.values()) {
+                objetos.add(tamanho.nomeArquivo(nameImage));
+            }
+            objetosPorImagem.put(nameImage, objetos);
+        }
+        Set<String> falhas = new HashSet<>(minioService.removeObjects(minioConfig.getBucketName(),
+                objetosPorImagem.values().stream().flatMap(List::stream).collect(Collectors.toList())));
+        // com falha em qualquer dos objetos a linha continua, e a remoção é tentada de novo na próxima coleta
+        List<String> removidos = objetosPorImagem.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().noneMatch(falhas::contains))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        imagemObjetoRepository.remover(removidos);
+        if (!falhas.isEmpty()) {
+            LOGGER.warning("Não foi possível remover do MinIO os objetos " + falhas);
+        }
+        return removidos.size();
+    }
+
+    @Override
+    public ImagemArquivoDto findImagem(Long idImagem, Integer largura) {
+        ItemImage image = itemImageRepository.findById(idImagem)
+                .orElseThrow(() -> new ResourceNotFoundException("Imagem não encontrada."));
+        return resolverImagem(image, largura);
+    }
+
+    @Override
+    public List<ImagemUrlDto> findImagemUrls(Long idItem, Integer largura) {
+        TamanhoImagem tamanho = TamanhoImagem.para(largura);
+        return itemImageRepository.findAllByItemIdOrderById(idItem).stream()
+                .map(image -> {
+                    ImagemArquivoDto imagem = imagemExistente(image, tamanho);
+                    if (imagem == null) {
+                        return new ImagemUrlDto(image.getId(), null, null, null);
+                    }
+                    return new ImagemUrlDto(image.getId(),
+                            minioService.getPresignedUrl(minioConfig.getBucketName(), imagem.nameImage()),
+                            imagem.largura(), imagem.altura());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private ImagemArquivoDto resolverImagem(ItemImage image, Integer largura) {
+        TamanhoImagem tamanho = TamanhoImagem.para(largura);
+        if (tamanho != null && image.getDerivada(tamanho) == null && !excedeMaxPixels(image)) {
+            image = gerarDerivadasUmaVez(image, tamanho);
+        }
+        ImagemArquivoDto imagem = imagemExistente(image, tamanho);
+        // formato sem leitor no JDK ou imagem grande demais para decodificar
+        return imagem != null ? imagem : original(image, false);
+    }
+
+    // null se a versão reduzida ainda não foi gerada
+    private static ImagemArquivoDto imagemExistente(ItemImage image, TamanhoImagem tamanho) {
+        if (tamanho == null) {
+            return original(image, true);
+        }
+        ImagemDerivada derivada = image.getDerivada(tamanho);
+        if (derivada == null) {
+            return null;
+        }
+        // imagem que já é menor que o tamanho pedido
+        if (derivada.getNameImage().equals(image.getNameImage())) {
+            return original(image, true);
+        }
+        return new ImagemArquivoDto(derivada.getNameImage(), ImagemUtil.CONTENT_TYPE_JPEG, derivada.getLargura(),
+                derivada.getAltura(), true);
+    }
+
+    // dimensões gravadas no upload; decodificar a imagem inteira ocupa 4 bytes por pixel no heap
+    private boolean excedeMaxPixels(ItemImage image) {
+        return image.getLargura() != null && image.getAltura() != null
+                && (long) image.getLargura() * image.getAltura() > maxPixelsDerivadas;
+    }
+
+    // GETs simultâneos da mesma imagem aguardam a geração em andamento em vez de decodificá-la de novo
+    private ItemImage gerarDerivadasUmaVez(ItemImage image, TamanhoImagem tamanho) {
+        CompletableFuture<ItemImage> geracao = new CompletableFuture<>();
+        CompletableFuture<ItemImage> emAndamento = geracoes.putIfAbsent(image.getId(), geracao);
+        if (emAndamento != null) {
+            return emAndamento.exceptionally(e -> image).join();
+        }
+        try {
+            // outra geração pode ter terminado entre a leitura da imagem e a entrada no mapa
+            ItemImage atual = itemImageRepository.findById(image.getId()).orElse(image);
+            if (atual.getDerivada(tamanho) == null) {
+                gerarDerivadas(atual);
+            }
+            geracao.complete(atual);
+            return atual;
+        } catch (RuntimeException e) {
+            geracao.completeExceptionally(e);
+            throw e;
+        } finally {
+            geracoes.remove(image.getId(), geracao);
+        }
+    }
+
+    // o original é baixado e decodificado uma única vez; cada tamanho é reduzido a partir do anterior, maior
+    private void gerarDerivadas(ItemImage image) {
+        BufferedImage original;
+        try (InputStream inputStream = minioService.downloadObject(minioConfig.getBucketName(), image.getNameImage())) {
+            // imagens sem dimensões gravadas têm o limite conferido no cabeçalho
+            original = inputStream != null ? ImagemUtil.ler(inputStream, maxPixelsDerivadas) : null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível ler a imagem " + image.getNameImage(), e);
+            return;
+        }
+        if (original == null) {
+            return;
+        }
+        image.setLargura(original.getWidth());
+        image.setAltura(original.getHeight());
+
+        TamanhoImagem[] tamanhos = TamanhoImagem.values();
+        BufferedImage fonte = original;
+        try {
+            for (int i = tamanhos.length - 1; i >= 0; i--) {
+                BufferedImage reduzida = ImagemUtil.reduzir(fonte, tamanhos[i].getLado());
+                if (reduzida == original) {
+                    image.setDerivada(tamanhos[i], new ImagemDerivada(image.getNameImage(), original.getWidth(), original.getHeight()));
+                } else {
+                    String nome = tamanhos[i].nomeArquivo(image.getNameImage());
+                    minioService.putObject(minioConfig.getBucketName(), nome, ImagemUtil.toJpeg(reduzida), ImagemUtil.CONTENT_TYPE_JPEG);
+                    image.setDerivada(tamanhos[i], new ImagemDerivada(nome, reduzida.getWidth(), reduzida.getHeight()));
+                }
+                fonte = reduzida;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível gerar as versões reduzidas da imagem " + image.getNameImage(), e);
+            return;
+        }
+        itemImageRepository.save(image);
+    }
+
+    private static ImagemArquivoDto original(ItemImage image, boolean permanente) {
+        return new ImagemArquivoDto(image.getNameImage(), image.getContentType(), image.getLargura(), image.getAltura(),
+                permanente);
+    }
+
     @Override
     public void sendNotificationItensAtingiramQtdeMin() {
         if (itemRepository.countAllByQtdeMinimaIsLessThanSaldo() > 0) {
             try {
-                byte[] report = JasperExportManager.exportReportToPdf(
-                        relatorioService.generateReport(6L, null)
-                );
+                byte[] report = relatorioService.generatePdf(6L, null);
                 Email email = Email.builder()
                         .para("dainf.labs@gmail.com")
                         .de("dainf.labs@gmail.com")
@@ -168,7 +386,7 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
                 emailService.enviar(email);
 
             } catch (Exception ex) {
-                ex.printStackTrace();
+                LOGGER.log(Level.SEVERE, "Não foi possível enviar a notificação de estoque mínimo", ex);
             }
         }
     }
@@ -188,6 +406,14 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
             ItemImage image = new ItemImage();
             image.setContentType(itemImage.getContentType());
             image.setNameImage(itemImage.getNameImage());
+            image.setLargura(itemImage.getLargura());
+            image.setAltura(itemImage.getAltura());
+            for (TamanhoImagem tamanho : TamanhoImagem.values()) {
+                ImagemDerivada derivada = itemImage.getDerivada(tamanho);
+                if (derivada != null) {
+                    image.setDerivada(tamanho, new ImagemDerivada(derivada.getNameImage(), derivada.getLargura(), derivada.getAltura()));
+                }
+            }
             image.setItem(item);
             toReturn.add(image);
         });
@@ -195,4 +421,17 @@ public class ItemServiceImpl extends CrudServiceImpl<Item, Long> implements Item
         this.save(item);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ItemResumoDto> findResumo(Pageable pageable) {
+        return itemRepository.findResumo(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemDetalheDto findDetalhe(Long id) {
+        return itemRepository.findDetalheById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Item não encontrado."))
+                .comImagens(itemRepository.findImagensResumoById(id));
+    }
 }
@@ -1,11 +1,13 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.component.GeografiaCache;
 import br.com.utfpr.gerenciamento.server.model.Pais;
 import br.com.utfpr.gerenciamento.server.repository.PaisRepository;
 import br.com.utfpr.gerenciamento.server.service.PaisService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import br.com.utfpr.gerenciamento.server.util.PrefixIndex;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,9 +15,11 @@ import java.util.List;
 public class PaisServiceImpl extends CrudServiceImpl<Pais, Long> implements PaisService {
 
     private final PaisRepository paisRepository;
+    private final GeografiaCache geografiaCache;
 
-    public PaisServiceImpl(PaisRepository paisRepository) {
+    public PaisServiceImpl(PaisRepository paisRepository, GeografiaCache geografiaCache) {
         this.paisRepository = paisRepository;
+        this.geografiaCache = geografiaCache;
     }
 
     @Override
@@ -24,12 +28,11 @@ public class PaisServiceImpl extends CrudServiceImpl<Pais, Long> implements Pais
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Pais> paisComplete(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return this.paisRepository.findAll();
-        } else {
-            return this.paisRepository.findByNomeLikeIgnoreCase("%" + query + "%");
+        PrefixIndex<Pais> paises = geografiaCache.get().paises();
+        if (BuscaUtil.isVazia(query)) {
+            return paises.all();
         }
+        return paises.search(query, BuscaUtil.LIMITE);
     }
 }
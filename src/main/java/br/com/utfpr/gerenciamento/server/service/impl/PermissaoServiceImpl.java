@@ -2,6 +2,7 @@ package br.com.utfpr.gerenciamento.server.service.impl;
 
 import br.com.utfpr.gerenciamento.server.model.Permissao;
 import br.com.utfpr.gerenciamento.server.repository.PermissaoRepository;
+import br.com.utfpr.gerenciamento.server.security.JwtPrincipalCache;
 import br.com.utfpr.gerenciamento.server.service.PermissaoService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
@@ -11,9 +12,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class PermissaoServiceImpl extends CrudServiceImpl<Permissao, Long> implements PermissaoService {
 
     private final PermissaoRepository permissaoRepository;
+    private final JwtPrincipalCache principalCache;
 
-    public PermissaoServiceImpl(PermissaoRepository permissaoRepository) {
+    public PermissaoServiceImpl(PermissaoRepository permissaoRepository, JwtPrincipalCache principalCache) {
         this.permissaoRepository = permissaoRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -22,6 +25,21 @@ public class PermissaoServiceImpl extends CrudServiceImpl<Permissao, Long> imple
     }
 
 
+    // as permissões ficam copiadas no cache de autenticação, então qualquer alteração limpa o cache todo
+    @Override
+    @Transactional
+    public Permissao save(Permissao entity) {
+        principalCache.invalidateAll();
+        return super.save(entity);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        principalCache.invalidateAll();
+        super.delete(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Permissao findByNome(String nome) {
@@ -0,0 +1,201 @@
+package br.com.utfpr.gerenciamento.server.service.impl;
+
+import br.com.utfpr.gerenciamento.server.dto.RelatorioJobDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusRelatorioJob;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
+import br.com.utfpr.gerenciamento.server.model.RelatorioParamsValue;
+import br.com.utfpr.gerenciamento.server.service.RelatorioJobService;
+import br.com.utfpr.gerenciamento.server.service.RelatorioService;
+import br.com.utfpr.gerenciamento.server.util.FabricaThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila de geração de relatórios. Os jobs ficam em memória e o arquivo gerado é gravado em um
+ * diretório temporário, de onde é enviado ao cliente sem carregar o conteúdo no heap.
+ */
+@Slf4j
+@Service
+public class RelatorioJobServiceImpl implements RelatorioJobService {
+
+    private final RelatorioService relatorioService;
+
+    private final Map<String, RelatorioJob> jobs = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private final int maxJobsPorUsuario;
+
+    private final long retencaoMinutos;
+
+    private final Path spoolDir;
+
+    // ReentrantLock em vez de synchronized: uma thread virtual esperando um monitor prende a thread portadora
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    private static class RelatorioJob {
+        private final String id;
+        private final Long idRelatorio;
+        private final FormatoRelatorio formato;
+        private final String username;
+        private final LocalDateTime criadoEm = LocalDateTime.now();
+        private volatile StatusRelatorioJob status = StatusRelatorioJob.PENDENTE;
+        private volatile LocalDateTime concluidoEm;
+        private volatile String erro;
+        private volatile Path arquivo;
+
+        RelatorioJob(String id, Long idRelatorio, FormatoRelatorio formato, String username) {
+            this.id = id;
+            this.idRelatorio = idRelatorio;
+            this.formato = formato;
+            this.username = username;
+        }
+
+        boolean isAtivo() {
+            return status == StatusRelatorioJob.PENDENTE || status == StatusRelatorioJob.PROCESSANDO;
+        }
+
+        RelatorioJobDto toDto() {
+            return RelatorioJobDto.builder()
+                    .id(id)
+                    .idRelatorio(idRelatorio)
+                    .formato(formato)
+                    .status(status)
+                    .criadoEm(criadoEm)
+                    .concluidoEm(concluidoEm)
+                    .erro(erro)
+                    .build();
+        }
+    }
+
+    public RelatorioJobServiceImpl(RelatorioService relatorioService,
+                                   @Value("${utfpr.report.jobs.workers:2}") int workers,
+                                   @Value("${utfpr.report.jobs.queue-size:20}") int queueSize,
+                                   @Value("${utfpr.report.jobs.max-por-usuario:2}") int maxJobsPorUsuario,
+                                   @Value("${utfpr.report.jobs.retencao-minutos:60}") long retencaoMinutos,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) throws IOException {
+        this.relatorioService = relatorioService;
+        this.maxJobsPorUsuario = maxJobsPorUsuario;
+        this.retencaoMinutos = retencaoMinutos;
+        this.spoolDir = Files.createTempDirectory("relatorio-jobs");
+        // fila limitada: com a fila cheia o pedido é recusado em vez de acumular trabalho sem limite
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), FabricaThreads.criar("relatorio-job", threadsVirtuais));
+    }
+
+    @Override
+    public RelatorioJobDto submit(Long idRelatorio, List<RelatorioParamsValue> paramsRel,
+                                  FormatoRelatorio formato, String username) {
+        submitLock.lock();
+        try {
+            return enfileirar(idRelatorio, paramsRel, formato, username);
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    // a contagem de jobs ativos e a inclusão do novo precisam ser atômicas por causa do limite por usuário
+    private RelatorioJobDto enfileirar(Long idRelatorio, List<RelatorioParamsValue> paramsRel,
+                                       FormatoRelatorio formato, String username) {
+        long ativos = jobs.values().stream()
+                .filter(job -> Objects.equals(job.username, username) && job.isAtivo())
+                .count();
+        if (ativos >= maxJobsPorUsuario) {
+            throw new RuntimeException("Limite de " + maxJobsPorUsuario + " relatórios em processamento por usuário atingido.");
+        }
+
+        RelatorioJob job = new RelatorioJob(UUID.randomUUID().toString(), idRelatorio,
+                formato != null ? formato : FormatoRelatorio.PDF, username);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> processar(job, paramsRel));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RuntimeException("A fila de relatórios está cheia. Tente novamente em alguns minutos.");
+        }
+        return job.toDto();
+    }
+
+    private void processar(RelatorioJob job, List<RelatorioParamsValue> paramsRel) {
+        job.status = StatusRelatorioJob.PROCESSANDO;
+        Path arquivo = spoolDir.resolve(job.id + "." + job.formato.getExtensao());
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(arquivo))) {
+            relatorioService.exportReport(job.idRelatorio, paramsRel, job.formato, outputStream);
+            job.arquivo = arquivo;
+            job.status = StatusRelatorioJob.CONCLUIDO;
+        } catch (Exception e) {
+            log.error("Erro ao gerar o relatório {} (job {})", job.idRelatorio, job.id, e);
+            deleteArquivo(arquivo);
+            job.erro = e.getMessage();
+            job.status = StatusRelatorioJob.ERRO;
+        } finally {
+            job.concluidoEm = LocalDateTime.now();
+        }
+    }
+
+    @Override
+    public RelatorioJobDto findJob(String idJob, String username) {
+        return getJob(idJob, username).toDto();
+    }
+
+    @Override
+    public void download(String idJob, String username, OutputStream outputStream) throws IOException {
+        RelatorioJob job = getJob(idJob, username);
+        if (job.status != StatusRelatorioJob.CONCLUIDO || job.arquivo == null) {
+            throw new RuntimeException("O relatório ainda não está disponível.");
+        }
+        Files.copy(job.arquivo, outputStream);
+    }
+
+    @Override
+    public void purgeJobsExpirados() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(retencaoMinutos);
+        jobs.values().removeIf(job -> {
+            if (!job.isAtivo() && job.concluidoEm != null && job.concluidoEm.isBefore(limite)) {
+                deleteArquivo(job.arquivo);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private RelatorioJob getJob(String idJob, String username) {
+        RelatorioJob job = jobs.get(idJob);
+        if (job == null || !Objects.equals(job.username, username)) {
+            throw new ResourceNotFoundException("Relatório não encontrado.");
+        }
+        return job;
+    }
+
+    private void deleteArquivo(Path arquivo) {
+        if (arquivo != null) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o arquivo {}", arquivo, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        jobs.values().forEach(job -> deleteArquivo(job.arquivo));
+    }
+}
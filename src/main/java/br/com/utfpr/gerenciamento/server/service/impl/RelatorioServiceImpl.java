@@ -1,14 +1,30 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.ennumeation.FormatoRelatorio;
+import br.com.utfpr.gerenciamento.server.error.EntityNotFoundException;
 import br.com.utfpr.gerenciamento.server.model.Relatorio;
 import br.com.utfpr.gerenciamento.server.model.RelatorioParamsValue;
 import br.com.utfpr.gerenciamento.server.repository.RelatorioRepository;
 import br.com.utfpr.gerenciamento.server.service.RelatorioService;
 import br.com.utfpr.gerenciamento.server.util.FileUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.design.JasperDesign;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 import net.sf.jasperreports.engine.xml.JRXmlLoader;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -20,12 +36,16 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @Service
 public class RelatorioServiceImpl extends CrudServiceImpl<Relatorio, Long> implements RelatorioService {
 
@@ -33,9 +53,28 @@ public class RelatorioServiceImpl extends CrudServiceImpl<Relatorio, Long> imple
 
     private final JdbcTemplate jdbcTemplate;
 
-    public RelatorioServiceImpl(RelatorioRepository relatorioRepository, @Qualifier("jdbcTemplate") JdbcTemplate jdbcTemplate) {
+    private final MeterRegistry meterRegistry;
+
+    // relatórios já compilados, por id do relatório; a entrada só vale enquanto o arquivo .jrxml não mudar
+    private final Map<Long, CompiledReport> compiledReports = new ConcurrentHashMap<>();
+
+    @Value("${utfpr.report.precompile:false}")
+    private boolean precompile;
+
+    private record CompiledReport(String nameReport, long lastModified, long length, JasperReport jasperReport) {
+
+        boolean matches(File file) {
+            return nameReport.equals(file.getName())
+                    && lastModified == file.lastModified()
+                    && length == file.length();
+        }
+    }
+
+    public RelatorioServiceImpl(RelatorioRepository relatorioRepository, @Qualifier("jdbcTemplate") JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry) {
         this.relatorioRepository = relatorioRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -50,6 +89,7 @@ public class RelatorioServiceImpl extends CrudServiceImpl<Relatorio, Long> imple
                                Long idRelatorio) throws IOException {
         Relatorio relatorio = relatorioRepository.getOne(idRelatorio);
         this.deleteFileCurrent(relatorio);
+        compiledReports.remove(idRelatorio);
         File dir = new File(FileUtil.getAbsolutePathRaiz() + File.separator + "report");
         if (!dir.exists()) {
             dir.mkdirs();
@@ -65,7 +105,7 @@ public class RelatorioServiceImpl extends CrudServiceImpl<Relatorio, Long> imple
             stream.write(fileUpload.getBytes());
             stream.close();
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Falha ao gravar o arquivo do relatório {}", fileName, e);
         }
         relatorio.setNameReport(fileName);
         this.save(relatorio);
@@ -77,32 +117,146 @@ public class RelatorioServiceImpl extends CrudServiceImpl<Relatorio, Long> imple
         }
     }
 
+    // sem transação: com ela, a conexão da JPA ficaria presa durante todo o preenchimento, ao lado da conexão do
+    // relatório; o cadastro é lido antes, numa consulta curta
     @Override
-    @Transactional
     public JasperPrint generateReport(Long idRelatorio, List<RelatorioParamsValue> paramsRel) throws SQLException, JRException {
-        Relatorio relatorio = this.findOne(idRelatorio);
-        Connection conn = jdbcTemplate.getDataSource().getConnection();
-        String path = new File(FileUtil.getAbsolutePathRaiz() +
-                File.separator +
-                "report" +
-                File.separator +
-                relatorio.getNameReport()).getPath();
-        JasperDesign design = JRXmlLoader.load(path);
-        JasperReport jasperReport = JasperCompileManager.compileReport(design);
-        Map<String, Object> parameters = new HashMap<>();
+        JasperReport jasperReport = getCompiledReport(findRelatorio(idRelatorio));
+        try (Connection conn = jdbcTemplate.getDataSource().getConnection()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return JasperFillManager.fillReport(jasperReport, toParameters(paramsRel), conn);
+            } finally {
+                sample.stop(meterRegistry.timer("utfpr.relatorio.preenchimento"));
+            }
+        }
+    }
+
+    @Override
+    public byte[] generatePdf(Long idRelatorio, List<RelatorioParamsValue> paramsRel) throws SQLException, JRException {
+        JasperPrint print = generateReport(idRelatorio, paramsRel);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return JasperExportManager.exportReportToPdf(print);
+        } finally {
+            sample.stop(timerExportacao(FormatoRelatorio.PDF));
+        }
+    }
+
+    // sem transação, pelo mesmo motivo de generateReport: uma única conexão durante o preenchimento
+    @Override
+    public void exportReport(Long idRelatorio, List<RelatorioParamsValue> paramsRel, FormatoRelatorio formato,
+                             OutputStream outputStream) throws SQLException, JRException {
+        JasperReport jasperReport = getCompiledReport(findRelatorio(idRelatorio));
+        Map<String, Object> parameters = toParameters(paramsRel);
 
+        // mantém no máximo 100 páginas preenchidas em memória; o restante vai para um arquivo de troca temporário
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(100,
+                new JRSwapFile(System.getProperty("java.io.tmpdir"), 4096, 256), true);
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+        try (Connection conn = jdbcTemplate.getDataSource().getConnection()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            JasperPrint print = JasperFillManager.fillReport(jasperReport, parameters, conn);
+            sample.stop(meterRegistry.timer("utfpr.relatorio.preenchimento"));
+            virtualizer.setReadOnly(true);
+            sample = Timer.start(meterRegistry);
+            switch (formato) {
+                case XLSX -> {
+                    JRXlsxExporter exporter = new JRXlsxExporter();
+                    exporter.setExporterInput(new SimpleExporterInput(print));
+                    exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
+                    SimpleXlsxReportConfiguration configuration = new SimpleXlsxReportConfiguration();
+                    configuration.setDetectCellType(true);
+                    configuration.setRemoveEmptySpaceBetweenRows(true);
+                    exporter.setConfiguration(configuration);
+                    exporter.exportReport();
+                }
+                case CSV -> {
+                    JRCsvExporter exporter = new JRCsvExporter();
+                    exporter.setExporterInput(new SimpleExporterInput(print));
+                    exporter.setExporterOutput(new SimpleWriterExporterOutput(outputStream, "UTF-8"));
+                    exporter.exportReport();
+                }
+                default -> JasperExportManager.exportReportToPdfStream(print, outputStream);
+            }
+            sample.stop(timerExportacao(formato));
+        } finally {
+            virtualizer.cleanup();
+        }
+    }
+
+    private Relatorio findRelatorio(Long idRelatorio) {
+        return relatorioRepository.findById(idRelatorio)
+                .orElseThrow(() -> new EntityNotFoundException("Relatório não encontrado."));
+    }
+
+    private Timer timerExportacao(FormatoRelatorio formato) {
+        return meterRegistry.timer("utfpr.relatorio.exportacao", "formato", formato.name());
+    }
+
+    private Map<String, Object> toParameters(List<RelatorioParamsValue> paramsRel) {
+        Map<String, Object> parameters = new HashMap<>();
         if (paramsRel != null && paramsRel.size() > 0) {
             paramsRel.forEach(param -> parameters.put(param.getNameParam(), param.getValueParam()));
         }
+        return parameters;
+    }
+
+    /**
+     * Devolve o relatório compilado do cache, recompilando apenas se o arquivo mudou
+     * (nome, data de modificação ou tamanho diferentes).
+     */
+    private JasperReport getCompiledReport(Relatorio relatorio) throws JRException {
+        File file = getReportFile(relatorio.getNameReport());
+        CompiledReport cached = compiledReports.get(relatorio.getId());
+        if (cached != null && cached.matches(file)) {
+            return cached.jasperReport();
+        }
+        // compilado fora do ConcurrentHashMap.compute, que segura o lock do bin e prenderia a thread virtual à
+        // portadora durante a leitura e a compilação do .jrxml; duas compilações simultâneas do mesmo relatório
+        // apenas repetem o trabalho
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            long lastModified = file.lastModified();
+            long length = file.length();
+            JasperDesign design = JRXmlLoader.load(file);
+            CompiledReport compiled = new CompiledReport(file.getName(), lastModified, length,
+                    JasperCompileManager.compileReport(design));
+            compiledReports.put(relatorio.getId(), compiled);
+            return compiled.jasperReport();
+        } finally {
+            sample.stop(meterRegistry.timer("utfpr.relatorio.compilacao"));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompileReports() {
+        if (!precompile) {
+            return;
+        }
+        relatorioRepository.findAll().stream()
+                .filter(relatorio -> relatorio.getNameReport() != null)
+                .forEach(relatorio -> {
+                    try {
+                        getCompiledReport(relatorio);
+                    } catch (Exception e) {
+                        log.warn("Falha ao pré-compilar o relatório {}: {}", relatorio.getId(), e.getMessage());
+                    }
+                });
+        log.info("{} relatório(s) pré-compilado(s)", compiledReports.size());
+    }
 
-        JasperPrint print = JasperFillManager.fillReport(jasperReport,
-                parameters, conn);
-        conn.close();
-        return print;
+    private File getReportFile(String nameReport) {
+        return new File(FileUtil.getAbsolutePathRaiz() +
+                File.separator +
+                "report" +
+                File.separator +
+                nameReport);
     }
 
     @Override
     public void deleteFileReport(String nameRelatorio) {
+        compiledReports.values().removeIf(compiled -> Objects.equals(compiled.nameReport(), nameRelatorio));
         File dir = new File(FileUtil.getAbsolutePathRaiz() +
                 File.separator +
                 "report" +
@@ -1,5 +1,8 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.ReservaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.ReservaResumoDto;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
 import br.com.utfpr.gerenciamento.server.model.Reserva;
 import br.com.utfpr.gerenciamento.server.model.modelTemplateEmail.ReservaTemplate;
 import br.com.utfpr.gerenciamento.server.repository.ReservaRepository;
@@ -7,6 +10,8 @@ import br.com.utfpr.gerenciamento.server.service.EmailService;
 import br.com.utfpr.gerenciamento.server.service.ReservaService;
 import br.com.utfpr.gerenciamento.server.service.UsuarioService;
 import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -84,4 +89,18 @@ public class ReservaServiceImpl extends CrudServiceImpl<Reserva, Long> implement
         toReturn.setReservaItem(reserva.getReservaItem());
         return toReturn;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReservaResumoDto> findResumo(Pageable pageable) {
+        return reservaRepository.findResumo(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservaDetalheDto findDetalhe(Long id) {
+        ReservaResumoDto resumo = reservaRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva não encontrada."));
+        return new ReservaDetalheDto(resumo, reservaRepository.findItensResumoById(id));
+    }
 }
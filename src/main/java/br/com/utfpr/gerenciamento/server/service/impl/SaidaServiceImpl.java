@@ -1,11 +1,16 @@
 package br.com.utfpr.gerenciamento.server.service.impl;
 
+import br.com.utfpr.gerenciamento.server.dto.SaidaDetalheDto;
+import br.com.utfpr.gerenciamento.server.dto.SaidaResumoDto;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
 import br.com.utfpr.gerenciamento.server.model.EmprestimoDevolucaoItem;
 import br.com.utfpr.gerenciamento.server.model.Saida;
 import br.com.utfpr.gerenciamento.server.model.SaidaItem;
 import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardItensSaidas;
 import br.com.utfpr.gerenciamento.server.repository.SaidaRepository;
 import br.com.utfpr.gerenciamento.server.service.SaidaService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -54,6 +59,7 @@ public class SaidaServiceImpl extends CrudServiceImpl<Saida, Long> implements Sa
         });
 
         saida.setSaidaItem(saidaItemList);
+        publicarAlteracao();
         saidaRepository.save(saida);
     }
 
@@ -62,7 +68,22 @@ public class SaidaServiceImpl extends CrudServiceImpl<Saida, Long> implements Sa
     public void deleteSaidaByEmprestimo(Long idEmprestimo) {
         var saidaToDelete = saidaRepository.findByIdEmprestimo(idEmprestimo);
         if (saidaToDelete  != null) {
+            publicarAlteracao();
             saidaRepository.delete(saidaToDelete);
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SaidaResumoDto> findResumo(Pageable pageable) {
+        return saidaRepository.findResumo(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SaidaDetalheDto findDetalhe(Long id) {
+        SaidaResumoDto resumo = saidaRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Saída não encontrada."));
+        return new SaidaDetalheDto(resumo, saidaRepository.findItensResumoById(id));
+    }
 }
@@ -7,10 +7,13 @@ import br.com.utfpr.gerenciamento.server.model.RecoverPassword;
 import br.com.utfpr.gerenciamento.server.model.Usuario;
 import br.com.utfpr.gerenciamento.server.repository.RecoverPasswordRepository;
 import br.com.utfpr.gerenciamento.server.repository.UsuarioRepository;
+import br.com.utfpr.gerenciamento.server.security.JwtPrincipalCache;
 import br.com.utfpr.gerenciamento.server.service.EmailService;
 import br.com.utfpr.gerenciamento.server.service.UsuarioService;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,6 +29,10 @@ import java.util.*;
 @Service
 public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implements UsuarioService, UserDetailsService {
 
+    // ids de ROLE_ADMINISTRADOR e ROLE_LABORATORISTA / ROLE_PROFESSOR e ROLE_ALUNO (V1.2)
+    private static final List<Long> PERMISSOES_LABORATORIO = List.of(1L, 2L);
+    private static final List<Long> PERMISSOES_PROFESSOR_ALUNO = List.of(3L, 4L);
+
     private final PasswordEncoder passwordEncoder;
     @Value("${utfpr.front.url}")
     private String frontBaseUrl;
@@ -38,13 +45,17 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
 
     private final EmailService emailService;
 
+    private final JwtPrincipalCache principalCache;
+
     public UsuarioServiceImpl(UsuarioRepository usuarioRepository, ModelMapper modelMapper,
-                              RecoverPasswordRepository recoverPasswordRepository, PasswordEncoder passwordEncoder, EmailService emailService) {
+                              RecoverPasswordRepository recoverPasswordRepository, PasswordEncoder passwordEncoder, EmailService emailService,
+                              JwtPrincipalCache principalCache) {
         this.usuarioRepository = usuarioRepository;
         this.modelMapper = modelMapper;
         this.recoverPasswordRepository = recoverPasswordRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -65,10 +76,11 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
     @Override
     @Transactional(readOnly = true)
     public List<Usuario> usuarioComplete(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return usuarioRepository.findAll();
+        if (BuscaUtil.isVazia(query)) {
+            return usuarioRepository.findAllByOrderByNome(Limit.of(BuscaUtil.LIMITE));
         }
-        return usuarioRepository.findByNomeLikeIgnoreCase("%" + query + "%");
+        return usuarioRepository.searchByNome(BuscaUtil.termo(query), BuscaUtil.contem(query), BuscaUtil.prefixo(query),
+                BuscaUtil.LIMITE);
     }
 
     @Override
@@ -85,19 +97,21 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
     @Override
     @Transactional(readOnly = true)
     public List<Usuario> usuarioCompleteByUserAndDocAndNome(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return usuarioRepository.findAllCustom();
-        }
-        return usuarioRepository.findUsuarioCompleteCustom("%" + query.toUpperCase() + "%");
+        return completeByPermissoes(query, PERMISSOES_PROFESSOR_ALUNO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Usuario> usuarioCompleteLab(String query) {
-        if ("".equalsIgnoreCase(query)) {
-            return usuarioRepository.findAllCustomLab();
+        return completeByPermissoes(query, PERMISSOES_LABORATORIO);
+    }
+
+    private List<Usuario> completeByPermissoes(String query, List<Long> permissoes) {
+        if (BuscaUtil.isVazia(query)) {
+            return usuarioRepository.findAllByPermissoes(permissoes, BuscaUtil.LIMITE);
         }
-        return usuarioRepository.findUsuarioCompleteCustomLab("%" + query.toUpperCase() + "%");
+        return usuarioRepository.searchByPermissoes(BuscaUtil.termo(query), BuscaUtil.contem(query),
+                BuscaUtil.prefixo(query), permissoes, BuscaUtil.LIMITE);
     }
 
     @Override
@@ -107,6 +121,7 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
             Usuario usuarioTmp = usuarioRepository.findByUsername(usuario.getUsername());
             usuarioTmp.setTelefone(usuario.getTelefone());
             usuarioTmp.setDocumento(usuario.getDocumento());
+            principalCache.invalidate(usuarioTmp.getUsername(), usuarioTmp.getEmail());
 
             return usuarioRepository.save(usuarioTmp);
         }
@@ -119,10 +134,19 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
         if (usuario.getId() != null) {
             Usuario usuarioTmp = usuarioRepository.findByUsername(usuario.getUsername());
             usuario.setEmailVerificado(usuarioTmp.getEmailVerificado());
+            principalCache.invalidate(usuarioTmp.getUsername(), usuarioTmp.getEmail());
         }
         return super.save(usuario);
     }
 
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        usuarioRepository.findById(id)
+                .ifPresent(usuario -> principalCache.invalidate(usuario.getUsername(), usuario.getEmail()));
+        super.delete(id);
+    }
+
     public UsuarioResponseDto convertToDto(Usuario entity) {
         return modelMapper.map(entity, UsuarioResponseDto.class);
     }
@@ -182,6 +206,7 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
         if (usuario != null) {
             usuario.setEmailVerificado(true);
             usuarioRepository.save(usuario);
+            principalCache.invalidate(usuario.getUsername(), usuario.getEmail());
             return GenericResponse.builder().message("O email do usuário foi confirmado.").build();
         } else {
             throw new RecoverCodeInvalidException("Código inválido. Por favor, solicite um novo código.");
@@ -197,6 +222,7 @@ public class UsuarioServiceImpl extends CrudServiceImpl<Usuario, Long> implement
             if (recoverPasswordRequestDto.getPassword().equals(recoverPasswordRequestDto.getRepeatPassword())) {
                 usuario.setPassword(passwordEncoder.encode(recoverPasswordRequestDto.getPassword()));
                 usuarioRepository.save(usuario);
+                principalCache.invalidate(usuario.getUsername(), usuario.getEmail());
             } else {
                 throw new RuntimeException("As senhas devem ser iguais.");
             }
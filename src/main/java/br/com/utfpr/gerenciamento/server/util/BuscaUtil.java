@@ -0,0 +1,49 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Termos de busca dos endpoints de autocomplete. As consultas comparam f_busca(coluna), que remove acentos
+ * e converte para minúsculas (migração V2.6), com os padrões LIKE montados aqui.
+ */
+public class BuscaUtil {
+
+    // nenhuma busca de autocomplete devolve mais do que isso
+    public static final int LIMITE = 50;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private BuscaUtil() {
+    }
+
+    public static boolean isVazia(String query) {
+        return query == null || query.isBlank();
+    }
+
+    public static String termo(String query) {
+        return query.trim();
+    }
+
+    public static String contem(String query) {
+        return "%" + escapeLike(termo(query)) + "%";
+    }
+
+    public static String prefixo(String query) {
+        return escapeLike(termo(query)) + "%";
+    }
+
+    // equivalente em Java de f_busca, usado pelos índices em memória
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Contagem de comandos SQL e linhas lidas na thread atual, entre {@link #iniciar()} e {@link #encerrar()}.
+ * Preenchida pelo ContadorSqlDataSource; fora de uma contagem ativa as conexões não são instrumentadas.
+ */
+public class ContadorSql {
+
+    private static final ThreadLocal<Estatistica> ATUAL = new ThreadLocal<>();
+
+    private ContadorSql() {
+    }
+
+    public static void iniciar() {
+        ATUAL.set(new Estatistica());
+    }
+
+    public static Estatistica encerrar() {
+        Estatistica estatistica = ATUAL.get();
+        ATUAL.remove();
+        return estatistica;
+    }
+
+    // null quando não há contagem ativa na thread
+    public static Estatistica atual() {
+        return ATUAL.get();
+    }
+
+    // conta os comandos executados por {@code acao}, preservando uma contagem já ativa na thread
+    public static <T> Resultado<T> contar(Supplier<T> acao) {
+        Estatistica anterior = ATUAL.get();
+        iniciar();
+        try {
+            T valor = acao.get();
+            return new Resultado<>(valor, ATUAL.get());
+        } finally {
+            if (anterior != null) {
+                ATUAL.set(anterior);
+            } else {
+                ATUAL.remove();
+            }
+        }
+    }
+
+    public record Resultado<T>(T valor, Estatistica estatistica) {
+    }
+
+    public static class Estatistica {
+
+        private int comandos;
+        private long linhas;
+        // quantas vezes cada SQL foi executado: o mesmo comando repetido muitas vezes indica N+1
+        private final Map<String, Integer> repeticoes = new HashMap<>();
+
+        public void registrarComando(String sql) {
+            comandos++;
+            if (sql != null) {
+                repeticoes.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public void registrarLinha() {
+            linhas++;
+        }
+
+        public int getComandos() {
+            return comandos;
+        }
+
+        public long getLinhas() {
+            return linhas;
+        }
+
+        public Map.Entry<String, Integer> getMaisRepetido() {
+            return repeticoes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+}
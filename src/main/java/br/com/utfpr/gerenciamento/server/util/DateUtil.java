@@ -5,13 +5,14 @@ import java.time.format.DateTimeFormatter;
 
 public class DateUtil {
 
+    // DateTimeFormatter é imutável e thread-safe: criado uma vez, não a cada data convertida
+    public static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     public static LocalDate parseStringToLocalDate(String dt) {
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        return LocalDate.parse(dt, dateTimeFormatter);
+        return LocalDate.parse(dt, FORMATO_DATA);
     }
 
     public static String parseLocalDateToString(LocalDate dt) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        return dt.format(formatter);
+        return dt.format(FORMATO_DATA);
     }
 }
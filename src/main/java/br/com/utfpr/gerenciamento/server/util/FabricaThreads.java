@@ -0,0 +1,21 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads dos executores próprios da aplicação (uploads, relatórios), no mesmo modo configurado para o
+ * Tomcat e o @Async em spring.threads.virtual.enabled. Os executores continuam limitados pelo número de workers:
+ * com threads virtuais o limite controla a concorrência, não o consumo de memória.
+ */
+public final class FabricaThreads {
+
+    private FabricaThreads() {
+    }
+
+    public static ThreadFactory criar(String nome, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(nome + "-", 0).factory();
+        }
+        return Thread.ofPlatform().name(nome + "-", 0).daemon(true).factory();
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Redimensionamento das imagens dos itens com o ImageIO do JDK (JPEG, PNG, GIF, BMP e TIFF; WebP não tem leitor
+ * nem escritor no JDK, por isso as versões reduzidas são sempre gravadas em JPEG).
+ */
+public class ImagemUtil {
+
+    public static final String CONTENT_TYPE_JPEG = "image/jpeg";
+
+    private static final float QUALIDADE_JPEG = 0.82f;
+
+    private ImagemUtil() {
+    }
+
+    // largura e altura lidas só do cabeçalho, sem decodificar os pixels; null se o formato não for suportado
+    public static Dimension lerDimensoes(InputStream inputStream) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // o cabeçalho é lido antes dos pixels: acima de maxPixels a imagem não é decodificada e o retorno é null
+    public static BufferedImage ler(InputStream inputStream, long maxPixels) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz a imagem para caber em um quadrado de lado {@code lado}, mantendo a proporção. Reduções grandes são
+     * feitas pela metade a cada passo, o que mantém a qualidade da interpolação bilinear sem o custo da bicúbica.
+     * Imagens que já cabem são devolvidas sem alteração.
+     */
+    public static BufferedImage reduzir(BufferedImage imagem, int lado) {
+        int maiorLado = Math.max(imagem.getWidth(), imagem.getHeight());
+        if (maiorLado <= lado) {
+            return imagem;
+        }
+        double escala = (double) lado / maiorLado;
+        int largura = Math.max(1, (int) Math.round(imagem.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(imagem.getHeight() * escala));
+
+        BufferedImage atual = imagem;
+        int larguraAtual = imagem.getWidth();
+        int alturaAtual = imagem.getHeight();
+        do {
+            larguraAtual = Math.max(largura, larguraAtual / 2);
+            alturaAtual = Math.max(altura, alturaAtual / 2);
+            atual = desenhar(atual, larguraAtual, alturaAtual);
+        } while (larguraAtual != largura || alturaAtual != altura);
+        return atual;
+    }
+
+    public static byte[] toJpeg(BufferedImage imagem) throws IOException {
+        BufferedImage rgb = imagem.getType() == BufferedImage.TYPE_INT_RGB
+                ? imagem : desenhar(imagem, imagem.getWidth(), imagem.getHeight());
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rgb.getWidth() * rgb.getHeight() / 4);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(QUALIDADE_JPEG);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    // sempre em RGB com fundo branco: o JPEG não tem transparência
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = destino.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, largura, altura);
+            graphics.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            graphics.dispose();
+        }
+        return destino;
+    }
+}
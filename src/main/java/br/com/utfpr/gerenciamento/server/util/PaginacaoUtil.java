@@ -0,0 +1,21 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+/**
+ * Página e tamanho de página (ou de lote) recebidos como parâmetro da requisição, limitados antes de chegar às
+ * consultas: tamanho zero ou negativo vira 1 e nenhum pedido carrega mais do que TAMANHO_MAXIMO registros de uma vez.
+ */
+public final class PaginacaoUtil {
+
+    public static final int TAMANHO_MAXIMO = 1000;
+
+    private PaginacaoUtil() {
+    }
+
+    public static int pagina(int page) {
+        return Math.max(0, page);
+    }
+
+    public static int tamanho(int size) {
+        return Math.max(1, Math.min(size, TAMANHO_MAXIMO));
+    }
+}
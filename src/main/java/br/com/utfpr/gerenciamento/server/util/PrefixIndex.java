@@ -0,0 +1,94 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Índice imutável em memória para autocomplete de tabelas pequenas. Cada valor é indexado pelo início de
+ * cada palavra do nome normalizado, então "jose" encontra "São José dos Pinhais".
+ */
+public class PrefixIndex<T> {
+
+    private final String[] chaves;
+    private final int[] posicoes;
+    private final String[] nomes;
+    private final List<T> valores;
+
+    public PrefixIndex(Collection<T> valores, Function<T, String> nome) {
+        List<T> ordenados = new ArrayList<>(valores);
+        ordenados.sort(Comparator.comparing(valor -> BuscaUtil.normalizar(nome.apply(valor))));
+        this.valores = Collections.unmodifiableList(ordenados);
+        this.nomes = new String[ordenados.size()];
+
+        List<Map.Entry<String, Integer>> entradas = new ArrayList<>();
+        for (int i = 0; i < ordenados.size(); i++) {
+            String normalizado = BuscaUtil.normalizar(nome.apply(ordenados.get(i)));
+            nomes[i] = normalizado;
+            for (int inicio = 0; inicio < normalizado.length(); inicio++) {
+                if (Character.isLetterOrDigit(normalizado.charAt(inicio))
+                        && (inicio == 0 || !Character.isLetterOrDigit(normalizado.charAt(inicio - 1)))) {
+                    entradas.add(Map.entry(normalizado.substring(inicio), i));
+                }
+            }
+        }
+        entradas.sort(Map.Entry.<String, Integer>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+        this.chaves = new String[entradas.size()];
+        this.posicoes = new int[entradas.size()];
+        for (int i = 0; i < entradas.size(); i++) {
+            chaves[i] = entradas.get(i).getKey();
+            posicoes[i] = entradas.get(i).getValue();
+        }
+    }
+
+    public List<T> all() {
+        return valores;
+    }
+
+    public int size() {
+        return valores.size();
+    }
+
+    /**
+     * Valores em que alguma palavra começa com o termo; os que começam pelo termo vêm primeiro e,
+     * dentro de cada grupo, em ordem alfabética.
+     */
+    public List<T> search(String query, int limite) {
+        if (BuscaUtil.isVazia(query)) {
+            return valores.subList(0, Math.min(limite, valores.size()));
+        }
+        String termo = BuscaUtil.normalizar(BuscaUtil.termo(query));
+        BitSet encontrados = new BitSet(valores.size());
+        for (int i = primeiraChave(termo); i < chaves.length && chaves[i].startsWith(termo); i++) {
+            encontrados.set(posicoes[i]);
+        }
+
+        List<T> toReturn = new ArrayList<>(Math.min(limite, encontrados.cardinality()));
+        List<T> demais = new ArrayList<>();
+        for (int i = encontrados.nextSetBit(0); i >= 0 && toReturn.size() < limite; i = encontrados.nextSetBit(i + 1)) {
+            if (nomes[i].startsWith(termo)) {
+                toReturn.add(valores.get(i));
+            } else if (demais.size() < limite) {
+                demais.add(valores.get(i));
+            }
+        }
+        for (int i = 0; i < demais.size() && toReturn.size() < limite; i++) {
+            toReturn.add(demais.get(i));
+        }
+        return toReturn;
+    }
+
+    // primeira posição com chave >= termo (as chaves podem se repetir)
+    private int primeiraChave(String termo) {
+        int inicio = 0;
+        int fim = chaves.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (chaves[meio].compareTo(termo) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limita a taxa de uma operação distribuindo as permissões em intervalos iguais dentro do minuto.
+ */
+public class RateLimiter {
+
+    private final long intervaloNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long proximoSlot = System.nanoTime();
+
+    public RateLimiter(int permissoesPorMinuto) {
+        this.intervaloNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permissoesPorMinuto);
+    }
+
+    public void acquire() throws InterruptedException {
+        long espera;
+        lock.lock();
+        try {
+            long agora = System.nanoTime();
+            long slot = Math.max(agora, proximoSlot);
+            proximoSlot = slot + intervaloNanos;
+            espera = slot - agora;
+        } finally {
+            lock.unlock();
+        }
+        // a espera acontece fora do lock
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -0,0 +1 @@
+ALTER TABLE item ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE e não pode ser usada em índice; o dicionário explícito torna o resultado imutável
+CREATE OR REPLACE FUNCTION f_busca(texto text) RETURNS text AS
+$$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto)) $$
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE;
+
+CREATE INDEX idx_item_nome_busca ON item USING gin (f_busca(nome) gin_trgm_ops);
+CREATE INDEX idx_item_nome ON item (nome);
+
+CREATE INDEX idx_usuario_nome_busca ON usuario USING gin (f_busca(nome) gin_trgm_ops);
+CREATE INDEX idx_usuario_username_busca ON usuario USING gin (f_busca(username) gin_trgm_ops);
+CREATE INDEX idx_usuario_documento_busca ON usuario USING gin (f_busca(documento) gin_trgm_ops);
+CREATE INDEX idx_usuario_nome ON usuario (nome);
+
+CREATE INDEX idx_fornecedor_nome_fantasia_busca ON fornecedor USING gin (f_busca(nome_fantasia) gin_trgm_ops);
+CREATE INDEX idx_fornecedor_nome_fantasia ON fornecedor (nome_fantasia);
+
+CREATE INDEX idx_cidade_nome_busca ON cidade USING gin (f_busca(nome) gin_trgm_ops);
@@ -0,0 +1,9 @@
+ALTER TABLE item_image
+    ADD COLUMN largura integer,
+    ADD COLUMN altura integer,
+    ADD COLUMN miniatura_name_image varchar(255),
+    ADD COLUMN miniatura_largura integer,
+    ADD COLUMN miniatura_altura integer,
+    ADD COLUMN media_name_image varchar(255),
+    ADD COLUMN media_largura integer,
+    ADD COLUMN media_altura integer;
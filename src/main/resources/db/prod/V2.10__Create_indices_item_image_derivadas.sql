@@ -0,0 +1,3 @@
+-- consultados pela reconciliação entre o bucket e as imagens dos itens
+CREATE INDEX item_image_miniatura_name_image_idx ON item_image (miniatura_name_image);
+CREATE INDEX item_image_media_name_image_idx ON item_image (media_name_image);
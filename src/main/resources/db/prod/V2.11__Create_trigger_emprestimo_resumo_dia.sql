@@ -0,0 +1,40 @@
+-- O resumo diário passa a ser mantido pelo banco, como a contagem de referências das imagens: a situação anterior
+-- do empréstimo (OLD) sai do resumo e a nova (NEW) entra, qualquer que seja o caminho da gravação. Antes, a
+-- aplicação relia a linha depois de gravada e uma alteração de prazo subtraía da data nova em vez da anterior.
+CREATE OR REPLACE FUNCTION emprestimo_resumo_dia_atualizar() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE emprestimo_resumo_dia
+        SET qtde = qtde - 1
+        WHERE data_emprestimo = OLD.data_emprestimo
+          AND prazo_devolucao = COALESCE(OLD.prazo_devolucao, 'infinity'::date)
+          AND finalizado = (OLD.data_devolucao IS NOT NULL);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO emprestimo_resumo_dia (data_emprestimo, prazo_devolucao, finalizado, qtde)
+        VALUES (NEW.data_emprestimo, COALESCE(NEW.prazo_devolucao, 'infinity'::date), NEW.data_devolucao IS NOT NULL, 1)
+        ON CONFLICT (data_emprestimo, prazo_devolucao, finalizado) DO UPDATE
+            SET qtde = emprestimo_resumo_dia.qtde + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER emprestimo_resumo_dia
+    AFTER INSERT OR DELETE ON emprestimo
+    FOR EACH ROW EXECUTE FUNCTION emprestimo_resumo_dia_atualizar();
+
+CREATE TRIGGER emprestimo_resumo_dia_update
+    AFTER UPDATE OF data_emprestimo, prazo_devolucao, data_devolucao ON emprestimo
+    FOR EACH ROW WHEN (OLD.data_emprestimo IS DISTINCT FROM NEW.data_emprestimo
+        OR OLD.prazo_devolucao IS DISTINCT FROM NEW.prazo_devolucao
+        OR (OLD.data_devolucao IS NULL) <> (NEW.data_devolucao IS NULL))
+    EXECUTE FUNCTION emprestimo_resumo_dia_atualizar();
+
+-- descarta as contagens desviadas pelas alterações de prazo já gravadas
+DELETE FROM emprestimo_resumo_dia;
+
+INSERT INTO emprestimo_resumo_dia (data_emprestimo, prazo_devolucao, finalizado, qtde)
+SELECT data_emprestimo, COALESCE(prazo_devolucao, 'infinity'::date), data_devolucao IS NOT NULL, COUNT(*)
+FROM emprestimo
+GROUP BY data_emprestimo, COALESCE(prazo_devolucao, 'infinity'::date), data_devolucao IS NOT NULL;
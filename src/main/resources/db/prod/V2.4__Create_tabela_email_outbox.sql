@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS email_outbox (
+   id bigint generated by default as identity,
+   remetente varchar(255) NOT NULL,
+   destinatarios text NOT NULL,
+   titulo varchar(512),
+   conteudo text,
+   status varchar(20) NOT NULL,
+   tentativas integer NOT NULL DEFAULT 0,
+   proxima_tentativa timestamp NOT NULL,
+   criado_em timestamp NOT NULL,
+   atualizado_em timestamp NOT NULL,
+   enviado_em timestamp,
+   ultimo_erro varchar(2000),
+   primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_proxima_tentativa ON email_outbox (status, proxima_tentativa);
+
+CREATE TABLE IF NOT EXISTS email_outbox_anexo (
+   id bigint generated by default as identity,
+   email_outbox_id bigint NOT NULL REFERENCES email_outbox (id) ON DELETE CASCADE,
+   nome varchar(255) NOT NULL,
+   conteudo bytea NOT NULL,
+   primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_anexo_email ON email_outbox_anexo (email_outbox_id);
@@ -0,0 +1,12 @@
+CREATE TABLE emprestimo_resumo_dia (
+    data_emprestimo date NOT NULL,
+    prazo_devolucao date NOT NULL,
+    finalizado boolean NOT NULL,
+    qtde bigint NOT NULL DEFAULT 0,
+    CONSTRAINT emprestimo_resumo_dia_pkey PRIMARY KEY (data_emprestimo, prazo_devolucao, finalizado)
+);
+
+INSERT INTO emprestimo_resumo_dia (data_emprestimo, prazo_devolucao, finalizado, qtde)
+SELECT data_emprestimo, COALESCE(prazo_devolucao, 'infinity'::date), data_devolucao IS NOT NULL, COUNT(*)
+FROM emprestimo
+GROUP BY data_emprestimo, COALESCE(prazo_devolucao, 'infinity'::date), data_devolucao IS NOT NULL;
@@ -0,0 +1,19 @@
+-- ids das tabelas de movimento passam a ser alocados pelo Hibernate em blocos de 50 (otimizador pooled),
+-- o que permite gravar os itens de uma compra, empréstimo, saída ou reserva em lotes JDBC.
+-- Cada NEXTVAL devolve o fim do bloco; o valor atual é ajustado para nunca ficar abaixo do maior id gravado.
+DO $$
+DECLARE
+    tabela text;
+    sequencia text;
+    valor bigint;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['item', 'item_image', 'compra', 'compra_item', 'emprestimo', 'emprestimo_item',
+        'emprestimo_devolucao_item', 'saida', 'saida_item', 'reserva', 'reserva_item', 'solicitacao', 'solicitacao_item']
+    LOOP
+        sequencia := tabela || '_id_seq';
+        EXECUTE format('SELECT GREATEST((SELECT MAX(id) FROM %I), (SELECT last_value FROM %I), 1)', tabela, sequencia)
+            INTO valor;
+        PERFORM setval(sequencia, valor, true);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', sequencia);
+    END LOOP;
+END $$;
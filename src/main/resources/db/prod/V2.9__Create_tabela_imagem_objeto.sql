@@ -0,0 +1,44 @@
+-- Objetos de imagem no MinIO e quantas linhas de item_image apontam para cada um. Novos objetos são nomeados
+-- pelo SHA-256 do conteúdo, então o mesmo arquivo enviado de novo reaproveita o objeto existente.
+CREATE TABLE imagem_objeto (
+    name_image varchar(255) PRIMARY KEY,
+    referencias integer NOT NULL DEFAULT 0,
+    atualizado_em timestamp NOT NULL DEFAULT now()
+);
+
+-- objetos já enviados (nomes aleatórios, compartilhados entre itens duplicados)
+INSERT INTO imagem_objeto (name_image, referencias)
+SELECT name_image, COUNT(*)
+FROM item_image
+WHERE name_image IS NOT NULL
+GROUP BY name_image;
+
+-- candidatos da coleta de órfãos
+CREATE INDEX imagem_objeto_sem_referencia_idx ON imagem_objeto (atualizado_em) WHERE referencias = 0;
+
+-- a contagem é mantida pelo banco para também cobrir a remoção em cascata dos itens
+CREATE OR REPLACE FUNCTION imagem_objeto_referencias() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.name_image IS NOT NULL THEN
+        UPDATE imagem_objeto
+        SET referencias = referencias - 1, atualizado_em = now()
+        WHERE name_image = OLD.name_image;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.name_image IS NOT NULL THEN
+        INSERT INTO imagem_objeto (name_image, referencias)
+        VALUES (NEW.name_image, 1)
+        ON CONFLICT (name_image) DO UPDATE
+            SET referencias = imagem_objeto.referencias + 1, atualizado_em = now();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER item_image_referencias
+    AFTER INSERT OR DELETE ON item_image
+    FOR EACH ROW EXECUTE FUNCTION imagem_objeto_referencias();
+
+CREATE TRIGGER item_image_referencias_update
+    AFTER UPDATE OF name_image ON item_image
+    FOR EACH ROW WHEN (OLD.name_image IS DISTINCT FROM NEW.name_image)
+    EXECUTE FUNCTION imagem_objeto_referencias();
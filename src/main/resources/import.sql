@@ -5657,144 +5657,144 @@ INSERT INTO FORNECEDOR (RAZAO_SOCIAL, NOME_FANTASIA, CNPJ, IE, ENDERECO, CIDADE_
 INSERT INTO FORNECEDOR (RAZAO_SOCIAL, NOME_FANTASIA, CNPJ, IE, ENDERECO, CIDADE_ID, ESTADO_ID) VALUES ('Razão Social Teste 5', 'Nome Fantasia Teste 5', '75101873000190', '1239987', 'Teste Endereço 5', 1, 2);
 
 --INSERT ITEM
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Teclado', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Mouse', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Roteador', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'P', 1, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Arduino', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Placa mãe', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Multímetro', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Item teste', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Tá ficando bem bonito', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Acho que mereço 10 no TCC', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
-INSERT INTO ITEM (NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID) VALUES ('Web2 poderia vir um 10', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (1, 'Teclado', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (2, 'Mouse', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (3, 'Roteador', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'P', 1, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (4, 'Arduino', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (5, 'Placa mãe', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (6, 'Multímetro', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (7, 'Item teste', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (8, 'Tá ficando bem bonito', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (9, 'Acho que mereço 10 no TCC', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
+INSERT INTO ITEM (ID, NOME, PATRIMONIO, SIORG, VALOR, QTDE_MINIMA, LOCALIZACAO, TIPO_ITEM, SALDO, GRUPO_ID, VERSION) VALUES (10, 'Web2 poderia vir um 10', 1234, 123443435454, 122.00, 2, 'Em algum lugar', 'C', 900, 1, 0);
 
 
 --INSERT COMPRA
-INSERT INTO COMPRA (DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES ('2020-03-03', 1, 1);
-INSERT INTO COMPRA (DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES ('2020-03-03', 2, 1);
-INSERT INTO COMPRA (DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES ('2020-03-03', 3, 1);
-INSERT INTO COMPRA (DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES ('2020-03-03', 4, 1);
-INSERT INTO COMPRA (DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES ('2020-03-03', 5, 1);
+INSERT INTO COMPRA (ID, DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES (1, '2020-03-03', 1, 1);
+INSERT INTO COMPRA (ID, DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES (2, '2020-03-03', 2, 1);
+INSERT INTO COMPRA (ID, DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES (3, '2020-03-03', 3, 1);
+INSERT INTO COMPRA (ID, DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES (4, '2020-03-03', 4, 1);
+INSERT INTO COMPRA (ID, DATA_COMPRA, FORNECEDOR_ID, USUARIO_ID) VALUES (5, '2020-03-03', 5, 1);
 
 
 --INSERT COMPRA ITEM
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 1, 1);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (35, 122.00, 2, 2);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (17, 122.00, 3, 3);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (85, 122.00, 4, 4);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (25, 122.00, 5, 5);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 1, 6);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 2, 7);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 3, 8);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 4, 1);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 5, 9);
-INSERT INTO COMPRA_ITEM (QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (15, 122.00, 4, 5);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (1, 15, 122.00, 1, 1);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (2, 35, 122.00, 2, 2);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (3, 17, 122.00, 3, 3);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (4, 85, 122.00, 4, 4);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (5, 25, 122.00, 5, 5);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (6, 15, 122.00, 1, 6);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (7, 15, 122.00, 2, 7);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (8, 15, 122.00, 3, 8);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (9, 15, 122.00, 4, 1);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (10, 15, 122.00, 5, 9);
+INSERT INTO COMPRA_ITEM (ID, QTDE, VALOR, COMPRA_ID, ITEM_ID) VALUES (11, 15, 122.00, 4, 5);
 
 -- INSERT SAIDA
-INSERT INTO SAIDA (DATA_SAIDA, USUARIO_ID) VALUES ('2020-03-15', 1);
-INSERT INTO SAIDA (DATA_SAIDA, USUARIO_ID) VALUES ('2020-03-18', 1);
-INSERT INTO SAIDA (DATA_SAIDA, USUARIO_ID) VALUES ('2020-03-19', 1);
-INSERT INTO SAIDA (DATA_SAIDA, USUARIO_ID) VALUES ('2020-03-21', 2);
-INSERT INTO SAIDA (DATA_SAIDA, USUARIO_ID) VALUES ('2020-03-05', 2);
+INSERT INTO SAIDA (ID, DATA_SAIDA, USUARIO_ID) VALUES (1, '2020-03-15', 1);
+INSERT INTO SAIDA (ID, DATA_SAIDA, USUARIO_ID) VALUES (2, '2020-03-18', 1);
+INSERT INTO SAIDA (ID, DATA_SAIDA, USUARIO_ID) VALUES (3, '2020-03-19', 1);
+INSERT INTO SAIDA (ID, DATA_SAIDA, USUARIO_ID) VALUES (4, '2020-03-21', 2);
+INSERT INTO SAIDA (ID, DATA_SAIDA, USUARIO_ID) VALUES (5, '2020-03-05', 2);
 
 -- INSERT SAIDA ITEM
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (12, 1, 1);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (12, 2, 2);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (45, 3, 3);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (67, 4, 4);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (76, 5, 5);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (12, 1, 5);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (12, 2, 4);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (45, 3, 3);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (67, 4, 2);
-INSERT INTO SAIDA_ITEM (QTDE, ITEM_ID, SAIDA_ID) VALUES (76, 5, 1);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (1, 12, 1, 1);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (2, 12, 2, 2);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (3, 45, 3, 3);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (4, 67, 4, 4);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (5, 76, 5, 5);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (6, 12, 1, 5);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (7, 12, 2, 4);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (8, 45, 3, 3);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (9, 67, 4, 2);
+INSERT INTO SAIDA_ITEM (ID, QTDE, ITEM_ID, SAIDA_ID) VALUES (10, 76, 5, 1);
 
 --INSERT EMPRESTIMO
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-03-15', '2020-04-15', 1, 1);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-03-18', '2020-04-18', 1, 2);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-03-19', '2020-04-19', 1, 3);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-03-21', '2020-04-21', 1, 2);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-03-05', '2020-04-05', 1, 3);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-15', '2020-05-15', 1, 6);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-18', '2020-05-18', 1, 7);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-19', '2020-05-19', 1, 7);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-21', '2020-05-21', 1, 6);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-05', '2020-05-05', 1, 1);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-15', '2020-05-15', 1, 1);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-18', '2020-05-18', 1, 3);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-19', '2020-05-19', 1, 6);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-21', '2020-05-21', 1, 1);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-05', '2020-05-05', 1, 2);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-15', '2020-05-15', 1, 2);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-18', '2020-05-18', 1, 3);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-19', '2020-05-19', 1, 3);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-21', '2020-05-21', 1, 1);
-INSERT INTO EMPRESTIMO (DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES ('2020-04-05', '2020-05-05', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (1, '2020-03-15', '2020-04-15', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (2, '2020-03-18', '2020-04-18', 1, 2);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (3, '2020-03-19', '2020-04-19', 1, 3);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (4, '2020-03-21', '2020-04-21', 1, 2);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (5, '2020-03-05', '2020-04-05', 1, 3);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (6, '2020-04-15', '2020-05-15', 1, 6);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (7, '2020-04-18', '2020-05-18', 1, 7);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (8, '2020-04-19', '2020-05-19', 1, 7);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (9, '2020-04-21', '2020-05-21', 1, 6);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (10, '2020-04-05', '2020-05-05', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (11, '2020-04-15', '2020-05-15', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (12, '2020-04-18', '2020-05-18', 1, 3);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (13, '2020-04-19', '2020-05-19', 1, 6);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (14, '2020-04-21', '2020-05-21', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (15, '2020-04-05', '2020-05-05', 1, 2);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (16, '2020-04-15', '2020-05-15', 1, 2);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (17, '2020-04-18', '2020-05-18', 1, 3);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (18, '2020-04-19', '2020-05-19', 1, 3);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (19, '2020-04-21', '2020-05-21', 1, 1);
+INSERT INTO EMPRESTIMO (ID, DATA_EMPRESTIMO, PRAZO_DEVOLUCAO, USUARIO_RESPONSAVEL_ID, USUARIO_EMPRESTIMO_ID) VALUES (20, '2020-04-05', '2020-05-05', 1, 1);
 
 
 --INSERT EMPRESTIMO_ITEM
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(10, 1, 1);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 2, 1);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(15, 3, 1);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(26, 4, 1);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 5, 2);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(36, 6, 3);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(15, 7, 4);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 8, 5);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 2, 2);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 3, 3);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(77, 4, 4);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(66, 5, 5);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(10, 1, 6);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 2, 7);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(15, 3, 8);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(26, 4, 9);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 5, 10);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(36, 6, 11);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(15, 7, 12);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 8, 13);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(10, 1, 14);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 2, 15);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 3, 6);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(77, 4, 7);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(66, 5, 8);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(10, 1, 16);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 2, 17);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 3, 18);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(77, 4, 19);
-INSERT INTO EMPRESTIMO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(66, 5, 20);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(1, 10, 1, 1);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(2, 11, 2, 1);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(3, 15, 3, 1);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(4, 26, 4, 1);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(5, 14, 5, 2);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(6, 36, 6, 3);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(7, 15, 7, 4);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(8, 14, 8, 5);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(9, 14, 2, 2);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(10, 11, 3, 3);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(11, 77, 4, 4);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(12, 66, 5, 5);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(13, 10, 1, 6);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(14, 11, 2, 7);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(15, 15, 3, 8);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(16, 26, 4, 9);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(17, 14, 5, 10);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(18, 36, 6, 11);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(19, 15, 7, 12);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(20, 14, 8, 13);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(21, 10, 1, 14);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(22, 14, 2, 15);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(23, 11, 3, 6);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(24, 77, 4, 7);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(25, 66, 5, 8);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(26, 10, 1, 16);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(27, 14, 2, 17);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(28, 11, 3, 18);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(29, 77, 4, 19);
+INSERT INTO EMPRESTIMO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID) VALUES(30, 66, 5, 20);
 
 --INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(10, 1, 1, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 2, 1, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(15, 3, 1, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(26, 4, 1, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 5, 2, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(36, 6, 3, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(15, 7, 4, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 8, 5, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 2, 2, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 3, 3, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(77, 4, 4, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(66, 5, 5, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(10, 1, 6, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 2, 7, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(15, 3, 8, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(26, 4, 9, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 5, 10, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(36, 6, 11, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(15, 7, 12, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 8, 13, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(10, 1, 14, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 2, 15, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 3, 6, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(77, 4, 7, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(66, 5, 8, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(10, 1, 16, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 2, 17, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 3, 18, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(77, 4, 19, 'P');
-INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(66, 5, 20, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(1, 10, 1, 1, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(2, 11, 2, 1, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(3, 15, 3, 1, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(4, 26, 4, 1, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(5, 14, 5, 2, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(6, 36, 6, 3, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(7, 15, 7, 4, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(8, 14, 8, 5, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(9, 14, 2, 2, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(10, 11, 3, 3, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(11, 77, 4, 4, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(12, 66, 5, 5, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(13, 10, 1, 6, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(14, 11, 2, 7, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(15, 15, 3, 8, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(16, 26, 4, 9, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(17, 14, 5, 10, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(18, 36, 6, 11, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(19, 15, 7, 12, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(20, 14, 8, 13, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(21, 10, 1, 14, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(22, 14, 2, 15, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(23, 11, 3, 6, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(24, 77, 4, 7, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(25, 66, 5, 8, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(26, 10, 1, 16, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(27, 14, 2, 17, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(28, 11, 3, 18, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(29, 77, 4, 19, 'P');
+INSERT INTO EMPRESTIMO_DEVOLUCAO_ITEM (ID, QTDE, ITEM_ID, EMPRESTIMO_ID, STATUS) VALUES(30, 66, 5, 20, 'P');
 
 -- INSERT RELATORIO
 INSERT INTO RELATORIO (NAME_REPORT, NOME) VALUES ('HistoricoEmprestimoUsuario.jrxml', 'Histórico de Empréstimo do Usuário X');
@@ -5809,4 +5809,14 @@ INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID)
 INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID) VALUES ('Data Inicial', 'DT_INI', 'D', 3);
 INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID) VALUES ('Data Final', 'DT_FIM', 'D', 3);
 INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID) VALUES ('Cód do Item', 'ID_ITEM', 'N', 4);
-INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID) VALUES ('Cód do Item', 'ID_ITEM', 'N', 5)
+INSERT INTO RELATORIO_PARAMS (ALIAS_PARAM, NAME_PARAM, TIPO_PARAM, RELATORIO_ID) VALUES ('Cód do Item', 'ID_ITEM', 'N', 5);
+
+-- ids explícitos acima: as sequências (incremento 50, ids alocados em blocos pelo Hibernate) continuam depois deles
+SELECT setval('item_id_seq', (SELECT MAX(ID) FROM ITEM));
+SELECT setval('compra_id_seq', (SELECT MAX(ID) FROM COMPRA));
+SELECT setval('compra_item_id_seq', (SELECT MAX(ID) FROM COMPRA_ITEM));
+SELECT setval('emprestimo_id_seq', (SELECT MAX(ID) FROM EMPRESTIMO));
+SELECT setval('emprestimo_item_id_seq', (SELECT MAX(ID) FROM EMPRESTIMO_ITEM));
+SELECT setval('emprestimo_devolucao_item_id_seq', (SELECT MAX(ID) FROM EMPRESTIMO_DEVOLUCAO_ITEM));
+SELECT setval('saida_id_seq', (SELECT MAX(ID) FROM SAIDA));
+SELECT setval('saida_item_id_seq', (SELECT MAX(ID) FROM SAIDA_ITEM));
@@ -0,0 +1,61 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.model.Item;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+/**
+ * Acesso ao banco nos benchmarks: o Postgres local já migrado pelo Flyway, indicado por DATABASE_URL,
+ * DATABASE_USERNAME e DATABASE_PASSWORD. As consultas usam SQL específico do Postgres (ON CONFLICT, 'infinity',
+ * SKIP LOCKED), então não há um banco embarcado equivalente.
+ */
+final class BancoBenchmark {
+
+    private BancoBenchmark() {
+    }
+
+    // Hibernate com as mesmas estratégias de nomes do Spring Boot, sem validar nem alterar o schema
+    static StandardServiceRegistryBuilder registry() {
+        return new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "none")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, new SpringImplicitNamingStrategy());
+    }
+
+    static StandardServiceRegistryBuilder registryJdbc() {
+        return registry()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, System.getenv("DATABASE_URL"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getenv("DATABASE_USERNAME"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getenv("DATABASE_PASSWORD"));
+    }
+
+    static SessionFactory sessionFactory(StandardServiceRegistry registry) {
+        MetadataSources sources = new MetadataSources(registry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        scanner.findCandidateComponents(Item.class.getPackageName())
+                .forEach(entidade -> sources.addAnnotatedClassName(entidade.getBeanClassName()));
+        return sources.buildMetadata().buildSessionFactory();
+    }
+
+    // pool para quando Hibernate e JdbcTemplate precisam compartilhar as conexões, como na aplicação
+    static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getenv("DATABASE_URL"));
+        config.setUsername(System.getenv("DATABASE_USERNAME"));
+        config.setPassword(System.getenv("DATABASE_PASSWORD"));
+        config.setMaximumPoolSize(4);
+        config.setPoolName("benchmark");
+        return new HikariDataSource(config);
+    }
+}
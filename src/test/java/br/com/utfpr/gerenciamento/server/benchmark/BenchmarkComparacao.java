@@ -0,0 +1,63 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dois resultados JSON do JMH (ex.: target/jmh-1.0.json de uma versão e o da seguinte) e imprime a variação
+ * de cada benchmark, com os mesmos parâmetros, presente nos dois arquivos. Para modos de tempo (avgt, sample, ss) um
+ * valor menor é melhor; para throughput, maior.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.main=br.com.utfpr.gerenciamento.server.benchmark.BenchmarkComparacao
+ * -Djmh.args="anterior.json atual.json"
+ */
+public class BenchmarkComparacao {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: BenchmarkComparacao <anterior.json> <atual.json>");
+            System.exit(1);
+        }
+        Map<String, JsonNode> anterior = ler(new File(args[0]));
+        Map<String, JsonNode> atual = ler(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Anterior", "Atual", "Variação");
+        atual.forEach((chave, resultado) -> {
+            JsonNode base = anterior.get(chave);
+            if (base == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", chave, "-", score(resultado), "novo");
+                return;
+            }
+            double antes = score(base);
+            double depois = score(resultado);
+            double variacao = antes == 0 ? 0 : (depois - antes) * 100 / antes;
+            boolean melhor = "thrpt".equals(resultado.path("mode").asText()) ? variacao > 0 : variacao < 0;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%n", chave, antes, depois, variacao,
+                    Math.abs(variacao) < 5 ? "" : melhor ? "melhor" : "pior");
+        });
+        anterior.keySet().stream()
+                .filter(chave -> !atual.containsKey(chave))
+                .forEach(chave -> System.out.printf("%-70s %14.3f %14s %9s%n", chave, score(anterior.get(chave)), "-", "removido"));
+    }
+
+    private static Map<String, JsonNode> ler(File arquivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo)) {
+            StringBuilder chave = new StringBuilder(resultado.path("benchmark").asText()
+                    .replace(BenchmarkComparacao.class.getPackageName() + ".", ""));
+            resultado.path("params").fields()
+                    .forEachRemaining(param -> chave.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            resultados.put(chave.toString(), resultado);
+        }
+        return resultados;
+    }
+
+    private static double score(JsonNode resultado) {
+        return resultado.path("primaryMetric").path("score").asDouble();
+    }
+}
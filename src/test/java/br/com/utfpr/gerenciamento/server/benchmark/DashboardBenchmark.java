@@ -0,0 +1,114 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.component.DashboardCache;
+import br.com.utfpr.gerenciamento.server.repository.CompraRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoResumoRepository;
+import br.com.utfpr.gerenciamento.server.repository.SaidaRepository;
+import br.com.utfpr.gerenciamento.server.repository.impl.EmprestimoResumoRepositoryImpl;
+import br.com.utfpr.gerenciamento.server.service.DashboardService;
+import br.com.utfpr.gerenciamento.server.service.impl.DashboardServicos;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas do dashboard (as cinco chamadas feitas pelo DashboardServiceImpl) sobre o banco local: contagem por dia
+ * pela tabela de resumo contra a agregação antiga sobre emprestimo, o painel completo sem cache e o painel servido
+ * pelo próprio DashboardServiceImpl, com o DashboardCache. Usa o banco já migrado (ver {@link BancoBenchmark}); os resultados dependem do volume de
+ * dados, então compare execuções sobre a mesma base.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="DashboardBenchmark -rf json -rff target/jmh-dashboard.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardBenchmark {
+
+    @Param({"30", "365"})
+    private int dias;
+
+    private HikariDataSource dataSource;
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private EmprestimoRepository emprestimoRepository;
+    private CompraRepository compraRepository;
+    private SaidaRepository saidaRepository;
+    private EmprestimoResumoRepository emprestimoResumoRepository;
+    private DashboardService dashboardService;
+    private LocalDate dtIni;
+    private LocalDate dtFim;
+
+    @Setup
+    public void setup() {
+        dataSource = BancoBenchmark.dataSource();
+        registry = BancoBenchmark.registry()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .build();
+        sessionFactory = BancoBenchmark.sessionFactory(registry);
+        entityManager = sessionFactory.createEntityManager();
+
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        emprestimoRepository = repositoryFactory.getRepository(EmprestimoRepository.class);
+        compraRepository = repositoryFactory.getRepository(CompraRepository.class);
+        saidaRepository = repositoryFactory.getRepository(SaidaRepository.class);
+        emprestimoResumoRepository = new EmprestimoResumoRepositoryImpl(new NamedParameterJdbcTemplate(dataSource));
+        dashboardService = DashboardServicos.criar(emprestimoRepository, emprestimoResumoRepository, compraRepository,
+                saidaRepository, new DashboardCache(600, 500));
+
+        dtFim = LocalDate.now();
+        dtIni = dtFim.minusDays(dias);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Object emprestimosPorDiaAgregacao() {
+        return emprestimoRepository.countByDataEmprestimo(dtIni, dtFim);
+    }
+
+    @Benchmark
+    public Object emprestimosPorDiaResumo() {
+        return emprestimoResumoRepository.countByDataEmprestimo(dtIni, dtFim);
+    }
+
+    @Benchmark
+    public void painel(Blackhole blackhole) {
+        blackhole.consume(emprestimoResumoRepository.countRange(dtIni, dtFim, dtFim));
+        blackhole.consume(emprestimoResumoRepository.countByDataEmprestimo(dtIni, dtFim));
+        blackhole.consume(emprestimoRepository.findItensMaisEmprestados(dtIni, dtFim));
+        blackhole.consume(compraRepository.findItensMaisAdquiridos(dtIni, dtFim));
+        blackhole.consume(saidaRepository.findItensMaisSaidas(dtIni, dtFim));
+        // nada é alterado, mas o contexto de persistência não deve crescer entre as invocações
+        entityManager.clear();
+    }
+
+    @Benchmark
+    public void painelCache(Blackhole blackhole) {
+        blackhole.consume(dashboardService.findDadosEmprestimoCountRange(dtIni, dtFim));
+        blackhole.consume(dashboardService.findTotalEmprestimoByDia(dtIni, dtFim));
+        blackhole.consume(dashboardService.findItensMaisEmprestados(dtIni, dtFim));
+        blackhole.consume(dashboardService.findItensMaisAdquiridos(dtIni, dtFim));
+        blackhole.consume(dashboardService.findItensComMaisSaidas(dtIni, dtFim));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de datas dd/MM/yyyy (parâmetros dos relatórios e do dashboard, LocalDateSerializer/Deserializer):
+ * DateUtil com o formatter compartilhado contra o caminho antigo, que montava o DateTimeFormatter a cada chamada.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="DateUtilBenchmark -rf json -rff target/jmh-dateutil.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateUtilBenchmark {
+
+    private String texto = "15/03/2024";
+    private LocalDate data = LocalDate.of(2024, 3, 15);
+
+    @Benchmark
+    public LocalDate parseFormatterPorChamada() {
+        return LocalDate.parse(texto, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+    }
+
+    @Benchmark
+    public LocalDate parse() {
+        return DateUtil.parseStringToLocalDate(texto);
+    }
+
+    @Benchmark
+    public String formatFormatterPorChamada() {
+        return data.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+    }
+
+    @Benchmark
+    public String format() {
+        return DateUtil.parseLocalDateToString(data);
+    }
+}
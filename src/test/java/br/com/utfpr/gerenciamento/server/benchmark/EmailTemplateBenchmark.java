@@ -0,0 +1,118 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.component.EmailTemplateRenderer;
+import br.com.utfpr.gerenciamento.server.model.EmprestimoItem;
+import br.com.utfpr.gerenciamento.server.model.Item;
+import br.com.utfpr.gerenciamento.server.model.ReservaItem;
+import br.com.utfpr.gerenciamento.server.model.modelTemplateEmail.EmprestimoTemplate;
+import br.com.utfpr.gerenciamento.server.model.modelTemplateEmail.ReservaTemplate;
+import freemarker.template.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de renderização por template de e-mail: EmailTemplateRenderer (templates pré-carregados e buffer
+ * reaproveitado) contra o caminho antigo (getTemplate + processTemplateIntoString a cada e-mail).
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="EmailTemplateBenchmark -rf json -rff target/jmh-email.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final int TAMANHO_LOTE = 100;
+
+    @Param({"templateConfirmacaoEmprestimo", "templateProximoPrazoDevolucaoEmprestimo",
+            "templateConfirmacaoReserva", "templateRecoverPassword"})
+    private String template;
+
+    private Configuration configuration;
+    private EmailTemplateRenderer renderer;
+    private Object model;
+    private List<Object> lote;
+
+    @Setup
+    public void setup() throws Exception {
+        configuration = new Configuration(Configuration.VERSION_2_3_32);
+        configuration.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "templates");
+        configuration.setDefaultEncoding("UTF-8");
+        renderer = new EmailTemplateRenderer(configuration);
+        renderer.carregarTemplates();
+
+        model = criarModelo(template);
+        lote = new ArrayList<>(Collections.nCopies(TAMANHO_LOTE, model));
+    }
+
+    @Benchmark
+    public String getTemplateAndProcess() throws Exception {
+        return FreeMarkerTemplateUtils.processTemplateIntoString(configuration.getTemplate(template + ".ftl"), model);
+    }
+
+    @Benchmark
+    public String render() throws Exception {
+        return renderer.render(template, model);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public List<String> renderAll() throws Exception {
+        return renderer.renderAll(template, lote);
+    }
+
+    private static Object criarModelo(String template) {
+        switch (template) {
+            case "templateConfirmacaoReserva": {
+                ReservaTemplate reserva = new ReservaTemplate();
+                reserva.setUsuario("Fulano de Tal");
+                reserva.setDtReserva("10/03/2025");
+                reserva.setDtRetirada("12/03/2025");
+                List<ReservaItem> itens = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    ReservaItem reservaItem = new ReservaItem();
+                    reservaItem.setItem(criarItem(i));
+                    reservaItem.setQtde(BigDecimal.valueOf(i + 1));
+                    itens.add(reservaItem);
+                }
+                reserva.setReservaItem(itens);
+                return reserva;
+            }
+            case "templateRecoverPassword":
+                return Map.of("usuario", "Fulano de Tal", "url", "https://labs.exemplo.br/recuperar-senha/abc123");
+            default: {
+                EmprestimoTemplate emprestimo = new EmprestimoTemplate();
+                emprestimo.setUsuarioEmprestimo("Fulano de Tal");
+                emprestimo.setUsuarioResponsavel("Laboratorista");
+                emprestimo.setDtEmprestimo("10/03/2025");
+                emprestimo.setDtPrazoDevolucao("17/03/2025");
+                List<EmprestimoItem> itens = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    EmprestimoItem emprestimoItem = new EmprestimoItem();
+                    emprestimoItem.setItem(criarItem(i));
+                    emprestimoItem.setQtde(BigDecimal.valueOf(i + 1));
+                    itens.add(emprestimoItem);
+                }
+                emprestimo.setEmprestimoItem(itens);
+                emprestimo.setEmprestimoDevolucaoItem(new ArrayList<>());
+                return emprestimo;
+            }
+        }
+    }
+
+    private static Item criarItem(int i) {
+        Item item = new Item();
+        item.setId((long) i);
+        item.setNome("Arduino Uno " + i);
+        return item;
+    }
+}
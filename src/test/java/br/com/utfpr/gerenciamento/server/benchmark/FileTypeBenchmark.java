@@ -0,0 +1,45 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.minio.util.FileTypeUtils;
+import cn.hutool.core.util.HexUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identificação do tipo de arquivo pelo cabeçalho de 64 bytes, feita em cada upload de imagem. O tipo
+ * desconhecido é o pior caso: percorre todos os números mágicos do hutool sem encontrar nenhum.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="FileTypeBenchmark -rf json -rff target/jmh-filetype.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileTypeBenchmark {
+
+    @Param({"jpg", "png", "gif", "desconhecido"})
+    private String tipo;
+
+    private byte[] cabecalho;
+
+    @Setup
+    public void setup() {
+        String assinatura = switch (tipo) {
+            case "jpg" -> "ffd8ffe000104a464946";
+            case "png" -> "89504e470d0a1a0a";
+            case "gif" -> "474946383961";
+            default -> "00";
+        };
+        cabecalho = Arrays.copyOf(HexUtil.decodeHex(assinatura), 64);
+        Arrays.fill(cabecalho, assinatura.length() / 2, cabecalho.length, (byte) 0x7f);
+    }
+
+    @Benchmark
+    public String getFileType() {
+        return FileTypeUtils.getFileType(cabecalho);
+    }
+}
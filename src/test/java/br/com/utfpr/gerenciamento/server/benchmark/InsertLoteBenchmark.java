@@ -0,0 +1,135 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.model.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserção de uma compra e de um empréstimo com muitos itens, com e sem lote JDBC (batchSize 0 = um INSERT por
+ * linha, como acontecia com IDENTITY). Usa o banco já migrado pelo Flyway (DATABASE_URL, DATABASE_USERNAME,
+ * DATABASE_PASSWORD), que precisa ter ao menos um usuário, um fornecedor e alguns itens; cada operação é desfeita
+ * com rollback.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="InsertLoteBenchmark -rf json -rff target/jmh-insert.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertLoteBenchmark {
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    @Param({"10", "50", "200"})
+    private int itens;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private List<Long> idsItem;
+    private Long idUsuario;
+    private Long idFornecedor;
+
+    @Setup
+    public void setup() {
+        registry = BancoBenchmark.registryJdbc()
+                .applySetting("hibernate.connection.reWriteBatchedInserts", "true")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize)
+                .applySetting(AvailableSettings.ORDER_INSERTS, batchSize > 0)
+                .applySetting(AvailableSettings.ORDER_UPDATES, batchSize > 0)
+                .build();
+        sessionFactory = BancoBenchmark.sessionFactory(registry);
+
+        try (Session session = sessionFactory.openSession()) {
+            idsItem = session.createNativeQuery("SELECT id FROM item ORDER BY id LIMIT 20", Long.class).getResultList();
+            idUsuario = session.createNativeQuery("SELECT MIN(id) FROM usuario", Long.class).getSingleResult();
+            idFornecedor = session.createNativeQuery("SELECT MIN(id) FROM fornecedor", Long.class).getSingleResult();
+        }
+        if (idsItem.isEmpty() || idUsuario == null || idFornecedor == null) {
+            throw new IllegalStateException("O banco precisa ter itens, um usuário e um fornecedor cadastrados.");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public Long compra() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            Compra compra = new Compra();
+            compra.setDataCompra(LocalDate.now());
+            compra.setFornecedor(session.getReference(Fornecedor.class, idFornecedor));
+            compra.setUsuario(session.getReference(Usuario.class, idUsuario));
+            List<CompraItem> compraItens = new ArrayList<>(itens);
+            for (int i = 0; i < itens; i++) {
+                CompraItem compraItem = new CompraItem();
+                compraItem.setItem(item(session, i));
+                compraItem.setQtde(BigDecimal.ONE);
+                compraItem.setValor(BigDecimal.TEN);
+                compraItem.setCompra(compra);
+                compraItens.add(compraItem);
+            }
+            compra.setCompraItem(compraItens);
+            session.persist(compra);
+            session.flush();
+            session.getTransaction().rollback();
+            return compra.getId();
+        }
+    }
+
+    @Benchmark
+    public Long emprestimo() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            Usuario usuario = session.getReference(Usuario.class, idUsuario);
+            Emprestimo emprestimo = new Emprestimo();
+            emprestimo.setDataEmprestimo(LocalDate.now());
+            emprestimo.setPrazoDevolucao(LocalDate.now().plusDays(7));
+            emprestimo.setUsuarioEmprestimo(usuario);
+            emprestimo.setUsuarioResponsavel(usuario);
+            List<EmprestimoItem> emprestimoItens = new ArrayList<>(itens);
+            List<EmprestimoDevolucaoItem> devolucaoItens = new ArrayList<>(itens);
+            for (int i = 0; i < itens; i++) {
+                EmprestimoItem emprestimoItem = new EmprestimoItem();
+                emprestimoItem.setItem(item(session, i));
+                emprestimoItem.setQtde(BigDecimal.ONE);
+                emprestimoItem.setEmprestimo(emprestimo);
+                emprestimoItens.add(emprestimoItem);
+
+                EmprestimoDevolucaoItem devolucaoItem = new EmprestimoDevolucaoItem();
+                devolucaoItem.setItem(emprestimoItem.getItem());
+                devolucaoItem.setQtde(BigDecimal.ONE);
+                devolucaoItem.setStatusDevolucao(StatusDevolucao.P);
+                devolucaoItem.setEmprestimo(emprestimo);
+                devolucaoItens.add(devolucaoItem);
+            }
+            emprestimo.setEmprestimoItem(emprestimoItens);
+            emprestimo.setEmprestimoDevolucaoItem(devolucaoItens);
+            session.persist(emprestimo);
+            session.flush();
+            session.getTransaction().rollback();
+            return emprestimo.getId();
+        }
+    }
+
+    private Item item(Session session, int i) {
+        return session.getReference(Item.class, idsItem.get(i % idsItem.size()));
+    }
+}
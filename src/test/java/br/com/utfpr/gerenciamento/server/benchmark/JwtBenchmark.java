@@ -0,0 +1,89 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.security.JWTAuthorizationFilter;
+import br.com.utfpr.gerenciamento.server.security.JwtPrincipalCache;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.utfpr.gerenciamento.server.security.SecurityConstants.HEADER_STRING;
+import static br.com.utfpr.gerenciamento.server.security.SecurityConstants.TOKEN_PREFIX;
+
+/**
+ * Autenticação por token em cada requisição: a verificação HMAC512 feita quando o token ainda não está no
+ * JwtPrincipalCache, o acerto no cache (hash SHA-256 do token + Caffeine) e o JWTAuthorizationFilter inteiro com o
+ * principal já em cache. O filtro não recebe UsuarioServiceImpl, então o cache precisa acertar sempre.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="JwtBenchmark -rf json -rff target/jmh-jwt.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SEGREDO = "segredo-do-benchmark-com-tamanho-suficiente-para-hmac512-0123456789";
+
+    private String token;
+    private JWTVerifier verifier;
+    private JwtPrincipalCache principalCache;
+    private JwtPrincipalCache.Principal principal;
+    private JWTAuthorizationFilter filter;
+
+    @Setup
+    public void setup() {
+        Instant expiracao = Instant.now().plus(1, ChronoUnit.DAYS);
+        token = JWT.create()
+                .withSubject("usuario")
+                .withExpiresAt(expiracao)
+                .sign(Algorithm.HMAC512(SEGREDO));
+        verifier = JWT.require(Algorithm.HMAC512(SEGREDO)).build();
+
+        principal = new JwtPrincipalCache.Principal("usuario", "usuario", "usuario@utfpr.edu.br",
+                List.of(new SimpleGrantedAuthority("ROLE_ALUNO")), expiracao);
+        principalCache = new JwtPrincipalCache(300, 10000);
+        principalCache.get(token, () -> principal);
+
+        MockEnvironment env = new MockEnvironment().withProperty("utfpr.token.secret", SEGREDO);
+        filter = new JWTAuthorizationFilter(authentication -> authentication, null, principalCache, env,
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public DecodedJWT verificar() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public JwtPrincipalCache.Principal cache() {
+        return principalCache.get(token, () -> principal);
+    }
+
+    @Benchmark
+    public Object filtro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/item");
+        request.addHeader(HEADER_STRING, TOKEN_PREFIX + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
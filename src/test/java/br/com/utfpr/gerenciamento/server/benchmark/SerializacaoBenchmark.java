@@ -0,0 +1,123 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON das respostas mais pesadas da API: um empréstimo com itens e devoluções e uma página de itens
+ * com imagens. O ObjectMapper é montado como o do Spring Boot (Jackson2ObjectMapperBuilder, fail-on-empty-beans
+ * desligado), então os LocalDateSerializer e as referências gerenciadas das entidades entram na medição.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="SerializacaoBenchmark -rf json -rff target/jmh-serializacao.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "100"})
+    private int itens;
+
+    private ObjectMapper objectMapper;
+    private Emprestimo emprestimo;
+    private List<Item> pagina;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().failOnEmptyBeans(false).build();
+
+        Grupo grupo = new Grupo(1L, "Eletrônicos");
+        pagina = new ArrayList<>(itens);
+        for (int i = 0; i < itens; i++) {
+            pagina.add(criarItem((long) i + 1, grupo));
+        }
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Usuário de Teste");
+        usuario.setUsername("usuario");
+        usuario.setEmail("usuario@utfpr.edu.br");
+        usuario.setPermissoes(Set.of(new Permissao(1L, "ROLE_ALUNO")));
+
+        emprestimo = new Emprestimo();
+        emprestimo.setId(1L);
+        emprestimo.setDataEmprestimo(LocalDate.of(2024, 3, 1));
+        emprestimo.setPrazoDevolucao(LocalDate.of(2024, 3, 15));
+        emprestimo.setUsuarioEmprestimo(usuario);
+        emprestimo.setUsuarioResponsavel(usuario);
+        emprestimo.setObservacao("Empréstimo para a disciplina de laboratório");
+        List<EmprestimoItem> emprestimoItens = new ArrayList<>(itens);
+        List<EmprestimoDevolucaoItem> devolucaoItens = new ArrayList<>(itens);
+        for (Item item : pagina) {
+            EmprestimoItem emprestimoItem = new EmprestimoItem();
+            emprestimoItem.setId(item.getId());
+            emprestimoItem.setItem(item);
+            emprestimoItem.setQtde(BigDecimal.ONE);
+            emprestimoItem.setEmprestimo(emprestimo);
+            emprestimoItens.add(emprestimoItem);
+
+            EmprestimoDevolucaoItem devolucaoItem = new EmprestimoDevolucaoItem();
+            devolucaoItem.setId(item.getId());
+            devolucaoItem.setItem(item);
+            devolucaoItem.setQtde(BigDecimal.ONE);
+            devolucaoItem.setStatusDevolucao(StatusDevolucao.P);
+            devolucaoItem.setEmprestimo(emprestimo);
+            devolucaoItens.add(devolucaoItem);
+        }
+        emprestimo.setEmprestimoItem(emprestimoItens);
+        emprestimo.setEmprestimoDevolucaoItem(devolucaoItens);
+    }
+
+    @Benchmark
+    public byte[] emprestimo() throws Exception {
+        return objectMapper.writeValueAsBytes(emprestimo);
+    }
+
+    @Benchmark
+    public byte[] itens() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    private static Item criarItem(Long id, Grupo grupo) {
+        Item item = new Item();
+        item.setId(id);
+        item.setNome("Multímetro digital " + id);
+        item.setPatrimonio(BigInteger.valueOf(100000 + id));
+        item.setSiorg(BigInteger.valueOf(5000 + id));
+        item.setValor(new BigDecimal("249.90"));
+        item.setQtdeMinima(BigDecimal.ONE);
+        item.setLocalizacao("Bloco S, sala 101");
+        item.setTipoItem(TipoItem.P);
+        item.setSaldo(BigDecimal.TEN);
+        item.setGrupo(grupo);
+        item.setDescricao("Item gerado para o benchmark de serialização");
+        List<ItemImage> imagens = new ArrayList<>(2);
+        for (int i = 0; i < 2; i++) {
+            ItemImage imagem = new ItemImage();
+            imagem.setId(id * 2 + i);
+            imagem.setNameImage(String.format("%064x", id * 2 + i) + ".jpg");
+            imagem.setContentType("image/jpeg");
+            imagem.setLargura(1280);
+            imagem.setAltura(960);
+            imagem.setItem(item);
+            imagens.add(imagem);
+        }
+        item.setImageItem(imagens);
+        return item;
+    }
+}
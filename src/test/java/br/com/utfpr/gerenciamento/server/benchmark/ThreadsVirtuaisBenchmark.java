@@ -0,0 +1,113 @@
+package br.com.utfpr.gerenciamento.server.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rajada de tarefas que passam quase todo o tempo bloqueadas, como as requisições à espera do JDBC, do SMTP ou do
+ * MinIO: um pool de threads de plataforma do tamanho do Tomcat contra uma thread virtual por tarefa
+ * (spring.threads.virtual.enabled). Com trava=synchronized a espera acontece dentro de um monitor, o que prende a
+ * thread virtual à portadora e limita a rajada ao número de núcleos; trava=lock é o mesmo trecho com ReentrantLock.
+ * <p>
+ * As pilhas das threads virtuais ficam no heap e aparecem em gc.alloc.rate.norm com -prof gc; cada thread do pool
+ * de plataforma reserva uma pilha nativa (-Xss, 1 MB por padrão), fora do heap.
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="ThreadsVirtuaisBenchmark -prof gc -rf json -rff target/jmh-threads.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadsVirtuaisBenchmark {
+
+    // server.tomcat.threads.max padrão
+    private static final int THREADS_TOMCAT = 200;
+
+    @Param({"plataforma", "virtual"})
+    private String modo;
+
+    @Param({"1000", "5000"})
+    private int tarefas;
+
+    @Param({"10"})
+    private int bloqueioMs;
+
+    @Param({"nenhuma", "synchronized", "lock"})
+    private String trava;
+
+    private ExecutorService executor;
+
+    // um monitor e um lock por tarefa: sem disputa entre elas, só o efeito de bloquear segurando a trava
+    private Object[] monitores;
+    private ReentrantLock[] locks;
+
+    @Setup
+    public void setup() {
+        executor = modo.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(THREADS_TOMCAT);
+        monitores = new Object[tarefas];
+        locks = new ReentrantLock[tarefas];
+        for (int i = 0; i < tarefas; i++) {
+            monitores[i] = new Object();
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int rajada() throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(tarefas);
+        for (int i = 0; i < tarefas; i++) {
+            int tarefa = i;
+            executor.execute(() -> {
+                try {
+                    bloquear(tarefa);
+                } finally {
+                    concluidas.countDown();
+                }
+            });
+        }
+        concluidas.await();
+        return tarefas;
+    }
+
+    private void bloquear(int tarefa) {
+        switch (trava) {
+            case "synchronized" -> {
+                synchronized (monitores[tarefa]) {
+                    esperar();
+                }
+            }
+            case "lock" -> {
+                ReentrantLock lock = locks[tarefa];
+                lock.lock();
+                try {
+                    esperar();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            default -> esperar();
+        }
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(bloqueioMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
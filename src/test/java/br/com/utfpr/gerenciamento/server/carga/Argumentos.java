@@ -0,0 +1,34 @@
+package br.com.utfpr.gerenciamento.server.carga;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// argumentos no formato chave=valor, ex.: emprestimos=100000 semente=7
+final class Argumentos {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    Argumentos(String[] args) {
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (use chave=valor): " + arg);
+            }
+            valores.put(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+    }
+
+    String texto(String chave, String padrao) {
+        return valores.getOrDefault(chave, padrao);
+    }
+
+    int inteiro(String chave, int padrao) {
+        String valor = valores.get(chave);
+        return valor != null ? Integer.parseInt(valor.replace("_", "")) : padrao;
+    }
+
+    long longo(String chave, long padrao) {
+        String valor = valores.get(chave);
+        return valor != null ? Long.parseLong(valor.replace("_", "")) : padrao;
+    }
+}
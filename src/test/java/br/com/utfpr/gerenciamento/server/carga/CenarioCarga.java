@@ -0,0 +1,310 @@
+package br.com.utfpr.gerenciamento.server.carga;
+
+import br.com.utfpr.gerenciamento.server.util.DateUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.utfpr.gerenciamento.server.security.SecurityConstants.HEADER_STRING;
+import static br.com.utfpr.gerenciamento.server.security.SecurityConstants.TOKEN_PREFIX;
+
+/**
+ * Reproduz o uso de início de semestre contra uma instância local, de preferência com a base do {@link GeradorDados}.
+ * Cada usuário virtual repete, sem pausa (ou com a pausa configurada), um dos fluxos:
+ * <ul>
+ *     <li>empréstimo: busca do aluno, busca de itens de consumo, empréstimo, consulta e devolução;</li>
+ *     <li>autocomplete de itens, como na digitação do laboratorista;</li>
+ *     <li>dashboard: as cinco consultas da tela inicial, para 30 dias ou 1 ano;</li>
+ *     <li>relatório em PDF (por padrão o 2, Itens Sem Saldo no Estoque, que não tem parâmetros).</li>
+ * </ul>
+ * No final imprime, por endpoint, requisições, erros, vazão e latências p50, p90, p99 e máxima; com saida=arquivo.csv
+ * grava a mesma tabela em CSV. As requisições do aquecimento não entram na medição.
+ * <p>
+ * Os empréstimos e devoluções geram e-mails na outbox; com o servidor de e-mail local indisponível eles apenas
+ * ficam pendentes.
+ * <pre>
+ * mvn -P carga test-compile exec:exec -Dcarga.classe=CenarioCarga -Dcarga.args="usuarios=50 duracao=300"
+ * </pre>
+ * Argumentos (chave=valor): url, login, senha, usuarios (simultâneos), duracao e aquecimento (segundos), pausa (ms
+ * entre fluxos), relatorio, semente e saida.
+ */
+public class CenarioCarga {
+
+    // os 10 primeiros termos são de itens de consumo, os únicos que o fluxo de empréstimo usa
+    private static final String[] BUSCAS_ITEM = {"resistor", "capacitor", "led", "diodo", "transistor", "cabo",
+            "estanho", "fusivel", "pilha", "parafuso", "multimetro", "arduino", "osciloscopio", "protoboard", "sensor"};
+    private static final String[] DASHBOARD = {"emprestimo-count-range", "emprestimo-count-day-range",
+            "itens-mais-emprestados", "itens-mais-adquiridos", "itens-mais-saidas"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Latencias> latencias = new ConcurrentHashMap<>();
+    private final String url;
+    private final long idRelatorio;
+    private final long pausa;
+    private String token;
+    private volatile boolean medindo;
+
+    CenarioCarga(Argumentos argumentos) {
+        this.url = argumentos.texto("url", "http://localhost:8080");
+        this.idRelatorio = argumentos.longo("relatorio", 2);
+        this.pausa = argumentos.longo("pausa", 0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        CenarioCarga cenario = new CenarioCarga(argumentos);
+        cenario.login(argumentos.texto("login", "carga"), argumentos.texto("senha", "123"));
+
+        int usuarios = argumentos.inteiro("usuarios", 20);
+        long aquecimento = argumentos.longo("aquecimento", 15);
+        long duracao = argumentos.longo("duracao", 120);
+        long semente = argumentos.longo("semente", 42);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento + duracao);
+
+        System.out.printf("%d usuários simultâneos em %s: %d s de aquecimento e %d s de medição.%n",
+                usuarios, cenario.url, aquecimento, duracao);
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            SplittableRandom random = new SplittableRandom(semente + i);
+            executor.submit(() -> cenario.executar(random, fim));
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(aquecimento));
+        cenario.medindo = true;
+        executor.shutdown();
+        executor.awaitTermination(duracao + 120, TimeUnit.SECONDS);
+        cenario.medindo = false;
+
+        cenario.imprimir(duracao, argumentos.texto("saida", null));
+    }
+
+    private void login(String login, String senha) throws IOException, InterruptedException {
+        ObjectNode credenciais = objectMapper.createObjectNode().put("username", login).put("password", senha);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credenciais.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha no login de " + login + ": HTTP " + response.statusCode());
+        }
+        token = response.body();
+    }
+
+    private void executar(SplittableRandom random, long fim) {
+        while (System.nanoTime() < fim) {
+            try {
+                int sorteio = random.nextInt(100);
+                if (sorteio < 30) {
+                    emprestimo(random);
+                } else if (sorteio < 75) {
+                    // prefixos de 3 a 5 letras, como as buscas feitas a cada tecla
+                    String busca = BUSCAS_ITEM[random.nextInt(BUSCAS_ITEM.length)];
+                    get("GET /item/complete", "/item/complete?hasEstoque=true&query="
+                            + busca.substring(0, Math.min(busca.length(), 3 + random.nextInt(3))));
+                } else if (sorteio < 95) {
+                    dashboard(random);
+                } else {
+                    post("POST /relatorio/generate-report", "/relatorio/generate-report",
+                            objectMapper.createObjectNode().put("idRel", idRelatorio));
+                }
+                if (pausa > 0) {
+                    Thread.sleep(pausa);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // já contado como erro no endpoint; o usuário virtual segue para o próximo fluxo
+            }
+        }
+    }
+
+    private void emprestimo(SplittableRandom random) throws IOException, InterruptedException {
+        JsonNode usuarios = get("GET /usuario/complete-custom", "/usuario/complete-custom?query=carga" + (1 + random.nextInt(99)));
+        JsonNode itens = get("GET /item/complete", "/item/complete?hasEstoque=true&query="
+                + BUSCAS_ITEM[random.nextInt(10)]);
+        List<JsonNode> consumo = new ArrayList<>();
+        if (itens != null) {
+            itens.forEach(item -> {
+                if ("C".equals(item.path("tipoItem").asText())) {
+                    consumo.add(item);
+                }
+            });
+        }
+        if (usuarios == null || usuarios.isEmpty() || consumo.isEmpty()) {
+            return;
+        }
+
+        ObjectNode emprestimo = objectMapper.createObjectNode()
+                .put("usuarioEmprestimoId", usuarios.get(random.nextInt(usuarios.size())).path("id").asLong())
+                .put("prazoDevolucao", DateUtil.parseLocalDateToString(LocalDate.now().plusDays(7)))
+                .put("observacao", "Cenário de carga");
+        ArrayNode itensEmprestimo = emprestimo.putArray("itens");
+        int quantidade = 1 + random.nextInt(Math.min(3, consumo.size()));
+        for (int i = 0; i < quantidade; i++) {
+            itensEmprestimo.addObject().put("itemId", consumo.get(i).path("id").asLong()).put("qtde", 1);
+        }
+        JsonNode resultado = post("POST /emprestimo/save-emprestimo-lote", "/emprestimo/save-emprestimo-lote",
+                objectMapper.createArrayNode().add(emprestimo));
+        if (resultado == null || !resultado.path(0).path("sucesso").asBoolean()) {
+            return;
+        }
+
+        long id = resultado.path(0).path("id").asLong();
+        JsonNode detalhe = get("GET /emprestimo/resumo/{id}", "/emprestimo/resumo/" + id);
+        if (detalhe == null) {
+            return;
+        }
+        ObjectNode devolucao = objectMapper.createObjectNode().put("idEmprestimo", id);
+        ArrayNode itensDevolucao = devolucao.putArray("itens");
+        detalhe.path("emprestimoDevolucaoItem").forEach(item ->
+                itensDevolucao.addObject().put("id", item.path("id").asLong()).put("statusDevolucao", "D"));
+        post("POST /emprestimo/save-devolucao-lote", "/emprestimo/save-devolucao-lote",
+                objectMapper.createArrayNode().add(devolucao));
+    }
+
+    private void dashboard(SplittableRandom random) throws IOException, InterruptedException {
+        LocalDate dtFim = LocalDate.now();
+        LocalDate dtIni = dtFim.minusDays(random.nextBoolean() ? 30 : 365);
+        String periodo = "?dtIni=" + DateUtil.parseLocalDateToString(dtIni) + "&dtFim=" + DateUtil.parseLocalDateToString(dtFim);
+        for (String consulta : DASHBOARD) {
+            get("GET /dashboard/" + consulta, "/dashboard/" + consulta + periodo);
+        }
+    }
+
+    private JsonNode get(String endpoint, String caminho) throws IOException, InterruptedException {
+        return chamar(endpoint, HttpRequest.newBuilder(URI.create(url + codificar(caminho))).GET());
+    }
+
+    private JsonNode post(String endpoint, String caminho, JsonNode corpo) throws IOException, InterruptedException {
+        return chamar(endpoint, HttpRequest.newBuilder(URI.create(url + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo))));
+    }
+
+    private JsonNode chamar(String endpoint, HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpRequest request = builder
+                .header(HEADER_STRING, TOKEN_PREFIX + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        long inicio = System.nanoTime();
+        boolean erro = true;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            erro = response.statusCode() >= 400;
+            if (erro || response.body().length == 0) {
+                return null;
+            }
+            // o PDF do relatório vem como JSON (byte[] em base64), mas não é lido
+            return endpoint.startsWith("POST /relatorio") ? null : objectMapper.readTree(response.body());
+        } finally {
+            if (medindo) {
+                latencias.computeIfAbsent(endpoint, chave -> new Latencias()).registrar(System.nanoTime() - inicio, erro);
+            }
+        }
+    }
+
+    private static String codificar(String caminho) {
+        int consulta = caminho.indexOf('?');
+        if (consulta < 0) {
+            return caminho;
+        }
+        StringBuilder codificado = new StringBuilder(caminho.substring(0, consulta + 1));
+        for (String parametro : caminho.substring(consulta + 1).split("&")) {
+            int separador = parametro.indexOf('=');
+            if (codificado.charAt(codificado.length() - 1) != '?') {
+                codificado.append('&');
+            }
+            codificado.append(parametro, 0, separador + 1)
+                    .append(URLEncoder.encode(parametro.substring(separador + 1), StandardCharsets.UTF_8));
+        }
+        return codificado.toString();
+    }
+
+    private void imprimir(long duracao, String saida) throws IOException {
+        Map<String, Latencias> ordenadas = new TreeMap<>(latencias);
+        String formato = "%-44s %10s %7s %8s %9s %9s %9s %9s%n";
+        System.out.printf(formato, "Endpoint", "Requisições", "Erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "máx ms");
+        List<String> linhas = new ArrayList<>();
+        linhas.add("endpoint,requisicoes,erros,req_s,p50_ms,p90_ms,p99_ms,max_ms");
+        ordenadas.forEach((endpoint, latencia) -> {
+            long[] valores = latencia.ordenadas();
+            String[] colunas = {endpoint, String.valueOf(valores.length), String.valueOf(latencia.erros()),
+                    String.format("%.1f", (double) valores.length / duracao),
+                    ms(percentil(valores, 50)), ms(percentil(valores, 90)), ms(percentil(valores, 99)),
+                    ms(valores.length > 0 ? valores[valores.length - 1] : 0)};
+            System.out.printf(formato, (Object[]) colunas);
+            linhas.add(String.join(",", Arrays.stream(colunas).map(coluna -> coluna.replace(',', '.')).toList()));
+        });
+        if (saida != null) {
+            Files.write(Path.of(saida), linhas, StandardCharsets.UTF_8);
+            System.out.println("Resultado gravado em " + saida);
+        }
+    }
+
+    // nearest-rank, sobre as latências já ordenadas
+    private static long percentil(long[] valores, double percentil) {
+        if (valores.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(percentil / 100 * valores.length);
+        return valores[Math.max(0, posicao - 1)];
+    }
+
+    private static String ms(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Latencias {
+
+        private long[] valores = new long[1024];
+        private int total;
+        private int erros;
+
+        synchronized void registrar(long nanos, boolean erro) {
+            if (total == valores.length) {
+                valores = Arrays.copyOf(valores, total * 2);
+            }
+            valores[total++] = nanos;
+            if (erro) {
+                erros++;
+            }
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(valores, total);
+            Arrays.sort(copia);
+            return copia;
+        }
+
+        synchronized int erros() {
+            return erros;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.utfpr.gerenciamento.server.carga;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * COPY ... FROM STDIN (FORMAT csv) de uma tabela, com as linhas montadas em memória e enviadas em blocos.
+ * Só uma cópia pode estar aberta por conexão.
+ */
+final class Copia implements AutoCloseable {
+
+    private static final int TAMANHO_BLOCO = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(TAMANHO_BLOCO + 4096);
+
+    Copia(Connection connection, String tabela, String colunas) throws SQLException {
+        copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + tabela + " (" + colunas + ") FROM STDIN (FORMAT csv)");
+    }
+
+    void linha(Object... valores) throws SQLException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            valor(valores[i]);
+        }
+        buffer.append('\n');
+        if (buffer.length() >= TAMANHO_BLOCO) {
+            enviar();
+        }
+    }
+
+    // devolve o número de linhas gravadas
+    long concluir() throws SQLException {
+        enviar();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    // null vira campo vazio sem aspas (NULL no formato csv); texto vazio precisa de aspas
+    private void valor(Object valor) {
+        if (valor == null) {
+            return;
+        }
+        String texto = valor instanceof Boolean booleano ? (booleano ? "t" : "f") : valor.toString();
+        if (texto.isEmpty() || texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0) {
+            buffer.append('"').append(texto.replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(texto);
+        }
+    }
+
+    private void enviar() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
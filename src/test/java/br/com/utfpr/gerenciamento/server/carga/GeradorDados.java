@@ -0,0 +1,428 @@
+package br.com.utfpr.gerenciamento.server.carga;
+
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.repository.impl.EmprestimoResumoRepositoryImpl;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Gera uma base sintética com volume de início de semestre (por padrão 100 mil usuários, 50 mil itens, 1 milhão de
+ * empréstimos, além de compras, saídas e reservas) no banco já migrado, via COPY. Os registros são acrescentados aos
+ * existentes, com ids a partir dos maiores atuais, e as sequências e o emprestimo_resumo_dia são ajustados no final.
+ * <p>
+ * A mesma semente gera sempre os mesmos dados. Cada registro é derivado de (semente, tabela, índice), então empréstimos
+ * e seus itens são gerados em passadas separadas (uma por COPY) sem guardar nada em memória. Os saldos dos itens não
+ * refletem o histórico gerado; são altos o bastante para o cenário de carga emprestar sem esgotar o estoque.
+ * Todos os usuários gerados têm a senha 123 (o mesmo hash dos dados iniciais), inclusive o administrador "carga",
+ * usado pelo CenarioCarga.
+ * <p>
+ * Conexão por DATABASE_URL, DATABASE_USERNAME e DATABASE_PASSWORD:
+ * <pre>
+ * mvn -P carga test-compile exec:exec -Dcarga.args="emprestimos=200000 semente=7"
+ * </pre>
+ * Argumentos (chave=valor): usuarios, itens, emprestimos, compras, saidas, reservas, dias (período coberto, até
+ * hoje) e semente.
+ */
+public class GeradorDados {
+
+    private static final String SENHA_123 = "$2a$10$kcDpG6r2c0karXuOK114Hejk7iguH.tFswB1aenCydA6bmzixjCCC";
+
+    // tabelas com id gerado pelo Hibernate (sequência com incremento 50) ou por DEFAULT nextval
+    private static final List<String> TABELAS = List.of("usuario", "item", "emprestimo", "emprestimo_item",
+            "emprestimo_devolucao_item", "compra", "compra_item", "saida", "saida_item", "reserva", "reserva_item");
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Lucas", "Mariana", "Matheus", "Natália", "Otávio", "Paula",
+            "Rafael", "Sabrina", "Thiago", "Vitória", "Gustavo", "Letícia", "Pedro", "Camila", "Rodrigo", "Júlia"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Zanella"};
+    private static final String[] CONSUMO = {"Resistor", "Capacitor cerâmico", "Capacitor eletrolítico", "LED",
+            "Diodo", "Transistor", "Cabo jumper", "Estanho", "Fita isolante", "Placa de fenolite", "Parafuso",
+            "Porca", "Abraçadeira", "Termo retrátil", "Fusível", "Pilha", "Bateria 9V", "Papel A4", "Filamento PLA"};
+    private static final String[] PERMANENTE = {"Multímetro digital", "Osciloscópio", "Protoboard", "Arduino Uno",
+            "Raspberry Pi", "Fonte de bancada", "Gerador de funções", "Ferro de solda", "Estação de solda",
+            "Sensor ultrassônico", "Servo motor", "Módulo relé", "Display LCD", "Notebook", "Projetor",
+            "Alicate de corte", "Kit chaves de precisão", "Impressora 3D", "Paquímetro"};
+    private static final String[] VARIACOES = {"10k", "220R", "1uF", "100nF", "5mm", "azul", "vermelho", "verde",
+            "M3", "M4", "1A", "12V", "5V", "USB", "Tipo B", "pequeno", "grande", "kit"};
+    private static final String[] LOCAIS = {"Bloco S, sala 101", "Bloco S, sala 103", "Bloco V, laboratório 2",
+            "Bloco V, laboratório 5", "Almoxarifado", "Armário 3", "Armário 7"};
+    // peso de cada mês (jan..dez): picos no início dos semestres, vale nas férias
+    private static final double[] PESO_MES = {0.3, 1.0, 1.0, 0.7, 0.6, 0.5, 0.3, 1.0, 0.9, 0.7, 0.6, 0.3};
+
+    private record Emprestimo(long id, LocalDate dataEmprestimo, LocalDate prazoDevolucao, LocalDate dataDevolucao,
+                              long usuario, long responsavel, SplittableRandom random) {
+    }
+
+    private final Connection connection;
+    private final long semente;
+    private final int usuarios;
+    private final int itens;
+    private final int emprestimos;
+    private final int compras;
+    private final int saidas;
+    private final int reservas;
+    private final int dias;
+    private final LocalDate hoje = LocalDate.now();
+
+    private final Map<String, Long> ultimoId = new HashMap<>();
+    private long primeiroUsuario;
+    private List<Long> responsaveis;
+    private List<Long> grupos;
+    private List<Long> fornecedores;
+    private long primeiroItem;
+    // os primeiros itens gerados são de consumo, o restante permanente
+    private int itensConsumo;
+
+    GeradorDados(Connection connection, Argumentos argumentos) {
+        this.connection = connection;
+        this.semente = argumentos.longo("semente", 42);
+        this.usuarios = argumentos.inteiro("usuarios", 100_000);
+        this.itens = argumentos.inteiro("itens", 50_000);
+        this.emprestimos = argumentos.inteiro("emprestimos", 1_000_000);
+        this.compras = argumentos.inteiro("compras", 20_000);
+        this.saidas = argumentos.inteiro("saidas", 100_000);
+        this.reservas = argumentos.inteiro("reservas", 100_000);
+        this.dias = argumentos.inteiro("dias", 730);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Argumentos argumentos = new Argumentos(args);
+        try (Connection connection = DriverManager.getConnection(System.getenv("DATABASE_URL"),
+                System.getenv("DATABASE_USERNAME"), System.getenv("DATABASE_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            new GeradorDados(connection, argumentos).gerar();
+        }
+    }
+
+    void gerar() throws SQLException {
+        long inicio = System.nanoTime();
+        carregarReferencias();
+        gerarUsuarios();
+        gerarItens();
+        gerarEmprestimos();
+        gerarCompras();
+        gerarSaidas();
+        gerarReservas();
+        finalizar();
+        System.out.printf("Base gerada em %d s.%n", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private void carregarReferencias() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String tabela : TABELAS) {
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)) {
+                    rs.next();
+                    ultimoId.put(tabela, rs.getLong(1));
+                }
+            }
+        }
+        grupos = ids("SELECT id FROM grupo ORDER BY id");
+        fornecedores = ids("SELECT id FROM fornecedor ORDER BY id");
+        if (grupos.isEmpty() || fornecedores.isEmpty()) {
+            throw new IllegalStateException("O banco precisa ter grupos e fornecedores cadastrados (dados iniciais do Flyway).");
+        }
+    }
+
+    private void gerarUsuarios() throws SQLException {
+        Map<String, Long> permissoes = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, nome FROM permissao")) {
+            while (rs.next()) {
+                permissoes.put(rs.getString("nome"), rs.getLong("id"));
+            }
+        }
+        primeiroUsuario = ultimoId.get("usuario") + 1;
+        responsaveis = new ArrayList<>();
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "usuario",
+                "id, nome, username, password, email, documento, telefone, email_verificado")) {
+            for (int i = 0; i < usuarios; i++) {
+                long id = primeiroUsuario + i;
+                SplittableRandom random = random("usuario", i);
+                String nome = escolher(random, NOMES) + " " + escolher(random, SOBRENOMES) + " " + escolher(random, SOBRENOMES);
+                String username = "carga" + id;
+                copia.linha(id, nome, username, SENHA_123, username + "@alunos.utfpr.edu.br",
+                        String.valueOf(1_000_000 + id), "469" + (10_000_000 + random.nextInt(90_000_000)), true);
+            }
+            registrar("usuario", copia.concluir(), inicio);
+        }
+        inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "usuario_permissoes", "usuario_id, permissoes_id")) {
+            for (int i = 0; i < usuarios; i++) {
+                long id = primeiroUsuario + i;
+                int sorteio = random("usuario_permissoes", i).nextInt(100);
+                String permissao = sorteio < 90 ? "ROLE_ALUNO" : sorteio < 98 ? "ROLE_PROFESSOR" : "ROLE_LABORATORISTA";
+                if (permissao.equals("ROLE_LABORATORISTA")) {
+                    responsaveis.add(id);
+                }
+                copia.linha(id, permissoes.get(permissao));
+            }
+            registrar("usuario_permissoes", copia.concluir(), inicio);
+        }
+        if (responsaveis.isEmpty()) {
+            responsaveis.add(primeiroUsuario);
+        }
+        connection.commit();
+    }
+
+    private void gerarItens() throws SQLException {
+        primeiroItem = ultimoId.get("item") + 1;
+        itensConsumo = itens * 7 / 10;
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "item", "id, nome, descricao, localizacao, patrimonio, qtde_minima, "
+                + "saldo, siorg, tipo_item, valor, grupo_id, version")) {
+            for (int i = 0; i < itens; i++) {
+                long id = primeiroItem + i;
+                SplittableRandom random = random("item", i);
+                boolean consumo = i < itensConsumo;
+                String nome = escolher(random, consumo ? CONSUMO : PERMANENTE) + " " + escolher(random, VARIACOES) + " " + id;
+                copia.linha(id, nome, "Item gerado para testes de carga", escolher(random, LOCAIS),
+                        consumo ? null : 100_000 + id,
+                        consumo ? 50 : 1,
+                        consumo ? 500 + random.nextInt(9_500) : 5 + random.nextInt(45),
+                        consumo ? null : 5_000 + id,
+                        consumo ? TipoItem.C : TipoItem.P,
+                        BigDecimal.valueOf(50 + random.nextInt(500_000), 2),
+                        grupos.get(random.nextInt(grupos.size())),
+                        0);
+            }
+            registrar("item", copia.concluir(), inicio);
+        }
+        connection.commit();
+    }
+
+    private void gerarEmprestimos() throws SQLException {
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "emprestimo", "id, data_emprestimo, prazo_devolucao, data_devolucao, "
+                + "observacao, usuario_emprestimo_id, usuario_responsavel_id")) {
+            for (int i = 0; i < emprestimos; i++) {
+                Emprestimo emprestimo = emprestimo(i);
+                copia.linha(emprestimo.id(), emprestimo.dataEmprestimo(), emprestimo.prazoDevolucao(),
+                        emprestimo.dataDevolucao(), null, emprestimo.usuario(), emprestimo.responsavel());
+            }
+            registrar("emprestimo", copia.concluir(), inicio);
+        }
+
+        inicio = System.nanoTime();
+        long idItem = ultimoId.get("emprestimo_item");
+        try (Copia copia = new Copia(connection, "emprestimo_item", "id, qtde, emprestimo_id, item_id")) {
+            for (int i = 0; i < emprestimos; i++) {
+                Emprestimo emprestimo = emprestimo(i);
+                int quantidade = 1 + emprestimo.random().nextInt(5);
+                for (int j = 0; j < quantidade; j++) {
+                    copia.linha(++idItem, 1 + emprestimo.random().nextInt(3), emprestimo.id(), item(emprestimo.random()));
+                }
+            }
+            registrar("emprestimo_item", copia.concluir(), inicio);
+        }
+
+        // mesma sequência de sorteios da passada anterior: itens de consumo ganham um item de devolução
+        inicio = System.nanoTime();
+        long idDevolucao = ultimoId.get("emprestimo_devolucao_item");
+        try (Copia copia = new Copia(connection, "emprestimo_devolucao_item", "id, qtde, status, emprestimo_id, item_id")) {
+            for (int i = 0; i < emprestimos; i++) {
+                Emprestimo emprestimo = emprestimo(i);
+                int quantidade = 1 + emprestimo.random().nextInt(5);
+                for (int j = 0; j < quantidade; j++) {
+                    int qtde = 1 + emprestimo.random().nextInt(3);
+                    long item = item(emprestimo.random());
+                    if (item - primeiroItem < itensConsumo) {
+                        StatusDevolucao status = emprestimo.dataDevolucao() == null ? StatusDevolucao.P
+                                : (emprestimo.id() + j) % 20 == 0 ? StatusDevolucao.S : StatusDevolucao.D;
+                        copia.linha(++idDevolucao, qtde, status, emprestimo.id(), item);
+                    }
+                }
+            }
+            registrar("emprestimo_devolucao_item", copia.concluir(), inicio);
+        }
+        connection.commit();
+    }
+
+    private void gerarCompras() throws SQLException {
+        long primeiro = ultimoId.get("compra") + 1;
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "compra", "id, data_compra, fornecedor_id, usuario_id")) {
+            for (int i = 0; i < compras; i++) {
+                SplittableRandom random = random("compra", i);
+                copia.linha(primeiro + i, data(random), fornecedores.get(random.nextInt(fornecedores.size())),
+                        escolher(random, responsaveis));
+            }
+            registrar("compra", copia.concluir(), inicio);
+        }
+        inicio = System.nanoTime();
+        long idItem = ultimoId.get("compra_item");
+        try (Copia copia = new Copia(connection, "compra_item", "id, qtde, valor, compra_id, item_id")) {
+            for (int i = 0; i < compras; i++) {
+                SplittableRandom random = random("compra_item", i);
+                int quantidade = 1 + random.nextInt(10);
+                for (int j = 0; j < quantidade; j++) {
+                    copia.linha(++idItem, 1 + random.nextInt(100), BigDecimal.valueOf(50 + random.nextInt(100_000), 2),
+                            primeiro + i, item(random));
+                }
+            }
+            registrar("compra_item", copia.concluir(), inicio);
+        }
+        connection.commit();
+    }
+
+    private void gerarSaidas() throws SQLException {
+        long primeiro = ultimoId.get("saida") + 1;
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "saida", "id, data_saida, emprestimo_id, observacao, usuario_id")) {
+            for (int i = 0; i < saidas; i++) {
+                SplittableRandom random = random("saida", i);
+                copia.linha(primeiro + i, data(random), null, "Saída gerada para testes de carga", escolher(random, responsaveis));
+            }
+            registrar("saida", copia.concluir(), inicio);
+        }
+        inicio = System.nanoTime();
+        long idItem = ultimoId.get("saida_item");
+        try (Copia copia = new Copia(connection, "saida_item", "id, qtde, item_id, saida_id")) {
+            for (int i = 0; i < saidas; i++) {
+                SplittableRandom random = random("saida_item", i);
+                int quantidade = 1 + random.nextInt(3);
+                for (int j = 0; j < quantidade; j++) {
+                    copia.linha(++idItem, 1 + random.nextInt(5), item(random), primeiro + i);
+                }
+            }
+            registrar("saida_item", copia.concluir(), inicio);
+        }
+        connection.commit();
+    }
+
+    private void gerarReservas() throws SQLException {
+        long primeiro = ultimoId.get("reserva") + 1;
+        long inicio = System.nanoTime();
+        try (Copia copia = new Copia(connection, "reserva", "id, data_reserva, data_retirada, descricao, observacao, usuario_id")) {
+            for (int i = 0; i < reservas; i++) {
+                SplittableRandom random = random("reserva", i);
+                LocalDate dataReserva = data(random);
+                copia.linha(primeiro + i, dataReserva, dataReserva.plusDays(1 + random.nextInt(14)),
+                        "Reserva gerada para testes de carga", null, usuario(random));
+            }
+            registrar("reserva", copia.concluir(), inicio);
+        }
+        inicio = System.nanoTime();
+        long idItem = ultimoId.get("reserva_item");
+        try (Copia copia = new Copia(connection, "reserva_item", "id, qtde, item_id, reserva_id")) {
+            for (int i = 0; i < reservas; i++) {
+                SplittableRandom random = random("reserva_item", i);
+                int quantidade = 1 + random.nextInt(3);
+                for (int j = 0; j < quantidade; j++) {
+                    copia.linha(++idItem, 1 + random.nextInt(3), item(random), primeiro + i);
+                }
+            }
+            registrar("reserva_item", copia.concluir(), inicio);
+        }
+        connection.commit();
+    }
+
+    private void finalizar() throws SQLException {
+        long inicio = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            // mesmo ajuste da V2.7: o valor atual nunca fica abaixo do maior id gravado
+            for (String tabela : TABELAS) {
+                String sequencia = tabela + "_id_seq";
+                statement.execute(String.format("SELECT setval('%s', GREATEST((SELECT MAX(id) FROM %s), "
+                        + "(SELECT last_value FROM %s), 1), true)", sequencia, tabela, sequencia));
+            }
+        }
+        // login do CenarioCarga: os usuários dos dados iniciais não têm o e-mail verificado
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO usuario (id, nome, username, password, email, documento, telefone, email_verificado) "
+                    + "SELECT nextval('usuario_id_seq'), 'Laboratorista (carga)', 'carga', '" + SENHA_123 + "', "
+                    + "'carga@utfpr.edu.br', '0', '4632202500', true "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM usuario WHERE username = 'carga')");
+            statement.execute("INSERT INTO usuario_permissoes (usuario_id, permissoes_id) "
+                    + "SELECT u.id, p.id FROM usuario u, permissao p WHERE u.username = 'carga' AND p.nome = 'ROLE_ADMINISTRADOR' "
+                    + "ON CONFLICT DO NOTHING");
+        }
+        new EmprestimoResumoRepositoryImpl(new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true)))
+                .recalcular();
+        connection.commit();
+
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("Sequências, resumo de empréstimos e estatísticas atualizados em %d ms.%n",
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // atributos do empréstimo; o random devolvido continua a sequência para sortear os itens
+    private Emprestimo emprestimo(int indice) {
+        SplittableRandom random = random("emprestimo", indice);
+        LocalDate dataEmprestimo = data(random);
+        LocalDate prazoDevolucao = dataEmprestimo.plusDays(7 + random.nextInt(24));
+        LocalDate dataDevolucao = null;
+        // empréstimos com prazo vencido foram quase todos devolvidos; os recentes seguem em andamento
+        if (prazoDevolucao.isBefore(hoje) && random.nextInt(100) < 95) {
+            LocalDate devolucao = dataEmprestimo.plusDays(1 + random.nextInt(30));
+            dataDevolucao = devolucao.isAfter(hoje) ? hoje : devolucao;
+        }
+        return new Emprestimo(ultimoId.get("emprestimo") + 1 + indice, dataEmprestimo, prazoDevolucao, dataDevolucao,
+                usuario(random), escolher(random, responsaveis), random);
+    }
+
+    private SplittableRandom random(String tabela, long indice) {
+        return new SplittableRandom(semente * 31 + tabela.hashCode() * 1_000_003L + indice);
+    }
+
+    // dia dentro do período, com mais movimento nos meses de início de semestre
+    private LocalDate data(SplittableRandom random) {
+        while (true) {
+            LocalDate data = hoje.minusDays(random.nextInt(dias));
+            if (random.nextDouble() < PESO_MES[data.getMonthValue() - 1]) {
+                return data;
+            }
+        }
+    }
+
+    private long usuario(SplittableRandom random) {
+        return primeiroUsuario + random.nextInt(usuarios);
+    }
+
+    // poucos itens concentram a maior parte do movimento, como os kits mais usados nas aulas
+    private long item(SplittableRandom random) {
+        return primeiroItem + (long) (itens * Math.pow(random.nextDouble(), 3));
+    }
+
+    private static <T> T escolher(SplittableRandom random, T[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    private static <T> T escolher(SplittableRandom random, List<T> valores) {
+        return valores.get(random.nextInt(valores.size()));
+    }
+
+    private List<Long> ids(String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static void registrar(String tabela, long linhas, long inicio) {
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        System.out.printf("%-28s %,12d linhas %,8d ms %,12d linhas/s%n", tabela, linhas, ms, linhas * 1000 / ms);
+    }
+}
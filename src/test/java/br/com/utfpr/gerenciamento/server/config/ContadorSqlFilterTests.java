@@ -0,0 +1,36 @@
+package br.com.utfpr.gerenciamento.server.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContadorSqlFilterTests {
+
+    private final ContadorSqlFilter filter = new ContadorSqlFilter(new SimpleMeterRegistry(), 10);
+
+    @Test
+    void requisicaoSincronaRecebeOsCabecalhos() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/item"), response, (req, res) -> { });
+
+        assertEquals("0", response.getHeader(ContadorSqlFilter.HEADER_COMANDOS));
+        assertEquals("0", response.getHeader(ContadorSqlFilter.HEADER_LINHAS));
+    }
+
+    @Test
+    void requisicaoAssincronaNaoRecebeTotaisParciais() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/item/stream");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        assertNull(response.getHeader(ContadorSqlFilter.HEADER_COMANDOS));
+        assertNull(response.getHeader(ContadorSqlFilter.HEADER_LINHAS));
+    }
+}
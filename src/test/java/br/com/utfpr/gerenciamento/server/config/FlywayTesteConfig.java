@@ -0,0 +1,28 @@
+package br.com.utfpr.gerenciamento.server.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// cada execução dos testes começa de um banco vazio, só com os dados iniciais das migrações
+@Configuration
+@Profile("test")
+public class FlywayTesteConfig {
+
+    // só o primeiro contexto limpa o banco: os criados depois (ex.: com @MockBean) dividem a base com os que
+    // continuam em cache, inclusive os blocos de ids já reservados nas sequências
+    private static final AtomicBoolean LIMPO = new AtomicBoolean();
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (LIMPO.compareAndSet(false, true)) {
+                flyway.clean();
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.utfpr.gerenciamento.server.controller;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.error.SaldoAlteradoException;
+import br.com.utfpr.gerenciamento.server.model.Item;
+import br.com.utfpr.gerenciamento.server.repository.ItemRepository;
+import br.com.utfpr.gerenciamento.server.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Edição do item: o saldo só muda pelos movimentos de estoque e a versão lida pelo cliente precisa ser a atual.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemControllerTests {
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    private Long idItem;
+
+    @BeforeEach
+    void criarItem() {
+        dadosTeste.autenticar();
+        idItem = dadosTeste.criarItem("Multímetro", TipoItem.P, new BigDecimal("10")).getId();
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void edicaoComOSaldoAtualGravaOsDemaisCampos() {
+        Item edicao = edicao(itemService.findOne(idItem));
+        edicao.setLocalizacao("Armário 3");
+
+        itemController.save(edicao);
+
+        Item gravado = itemRepository.findById(idItem).orElseThrow();
+        assertEquals("Armário 3", gravado.getLocalizacao());
+        assertEquals(0, new BigDecimal("10").compareTo(gravado.getSaldo()));
+    }
+
+    @Test
+    void edicaoComSaldoDiferenteERecusada() {
+        Item edicao = edicao(itemService.findOne(idItem));
+        edicao.setLocalizacao("Armário 3");
+        edicao.setSaldo(new BigDecimal("25"));
+
+        assertThrows(SaldoAlteradoException.class, () -> itemController.save(edicao));
+
+        Item gravado = itemRepository.findById(idItem).orElseThrow();
+        assertEquals(null, gravado.getLocalizacao());
+        assertEquals(0, new BigDecimal("10").compareTo(gravado.getSaldo()));
+    }
+
+    @Test
+    void edicaoComSaldoMovimentadoDepoisDaLeituraERecusada() {
+        Item edicao = edicao(itemService.findOne(idItem));
+        itemService.diminuiSaldoItem(idItem, new BigDecimal("2"), true);
+
+        assertThrows(SaldoAlteradoException.class, () -> itemController.save(edicao));
+        assertEquals(0, new BigDecimal("8").compareTo(itemService.getSaldoItem(idItem)));
+    }
+
+    @Test
+    void edicaoComVersaoDesatualizadaRespondeConflito() {
+        Item lido = itemService.findOne(idItem);
+        Item primeira = edicao(lido);
+        primeira.setLocalizacao("Armário 1");
+        itemController.save(primeira);
+
+        Item segunda = edicao(lido);
+        segunda.setLocalizacao("Armário 2");
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> itemController.save(segunda));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        assertEquals("Armário 1", itemRepository.findById(idItem).orElseThrow().getLocalizacao());
+    }
+
+    // o mesmo que o formulário envia: os campos lidos e a lista de imagens (vazia, o item de teste não tem imagens)
+    private static Item edicao(Item lido) {
+        Item item = new Item();
+        item.setId(lido.getId());
+        item.setNome(lido.getNome());
+        item.setTipoItem(lido.getTipoItem());
+        item.setSaldo(lido.getSaldo());
+        item.setQtdeMinima(lido.getQtdeMinima());
+        item.setLocalizacao(lido.getLocalizacao());
+        item.setGrupo(lido.getGrupo());
+        item.setVersion(lido.getVersion());
+        item.setImageItem(new ArrayList<>());
+        return item;
+    }
+}
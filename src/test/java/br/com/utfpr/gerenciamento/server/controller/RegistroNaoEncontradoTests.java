@@ -0,0 +1,59 @@
+package br.com.utfpr.gerenciamento.server.controller;
+
+import br.com.utfpr.gerenciamento.server.error.EntityNotFoundException;
+import br.com.utfpr.gerenciamento.server.error.ResourceNotFoundException;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Só os endpoints que buscam um registro pelo id da URL respondem 404; os demais usos de EntityNotFoundException
+ * continuam como antes (erro não tratado, 500).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistroNaoEncontradoTests {
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private UsuarioController usuarioController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void criarMockMvc() {
+        mockMvc = MockMvcBuilders.standaloneSetup(itemController, usuarioController).build();
+    }
+
+    @Test
+    void detalheDeItemInexistenteResponde404() throws Exception {
+        mockMvc.perform(get("/item/resumo/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void recuperacaoDeSenhaComEmailInexistenteNaoVira404() {
+        ServletException e = assertThrows(ServletException.class, () -> mockMvc.perform(
+                post("/usuario/request-code-reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"ninguem@teste.utfpr.edu.br\"}")));
+
+        assertInstanceOf(EntityNotFoundException.class, e.getCause());
+        assertFalse(e.getCause() instanceof ResourceNotFoundException);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.utfpr.gerenciamento.server.dados;
+
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ResultadoLoteDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.Item;
+import br.com.utfpr.gerenciamento.server.model.Usuario;
+import br.com.utfpr.gerenciamento.server.repository.GrupoRepository;
+import br.com.utfpr.gerenciamento.server.repository.ItemRepository;
+import br.com.utfpr.gerenciamento.server.repository.PermissaoRepository;
+import br.com.utfpr.gerenciamento.server.repository.UsuarioRepository;
+import br.com.utfpr.gerenciamento.server.service.EmprestimoService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dados dos testes de integração, criados sobre os registros iniciais das migrações (V1.2): permissões e o grupo
+ * "Materiais Permanentes" (id 1). Os testes compartilham o banco, então cada um cria os próprios itens e empréstimos
+ * e não depende de totais da base.
+ */
+@Component
+@Profile("test")
+public class DadosTeste {
+
+    public static final String USUARIO = "teste";
+    public static final Long ID_GRUPO = 1L;
+
+    private final ItemRepository itemRepository;
+    private final GrupoRepository grupoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final PermissaoRepository permissaoRepository;
+    private final EmprestimoService emprestimoService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DadosTeste(ItemRepository itemRepository, GrupoRepository grupoRepository, UsuarioRepository usuarioRepository,
+                      PermissaoRepository permissaoRepository, EmprestimoService emprestimoService,
+                      TransactionTemplate transactionTemplate) {
+        this.itemRepository = itemRepository;
+        this.grupoRepository = grupoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.permissaoRepository = permissaoRepository;
+        this.emprestimoService = emprestimoService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // laboratorista usado como responsável e como usuário dos empréstimos
+    public Usuario usuario() {
+        Usuario usuario = usuarioRepository.findByUsernameOrEmail(USUARIO, USUARIO);
+        if (usuario != null) {
+            return usuario;
+        }
+        return transactionTemplate.execute(status -> usuarioRepository.save(Usuario.builder()
+                .nome("Usuário de Teste")
+                .username(USUARIO)
+                .password("-")
+                .email("teste@utfpr.edu.br")
+                .telefone("46999999999")
+                .emailVerificado(true)
+                .permissoes(Set.of(permissaoRepository.findByNome("ROLE_LABORATORISTA")))
+                .build()));
+    }
+
+    // os serviços leem o usuário responsável do contexto de segurança, como nas requisições autenticadas
+    public void autenticar() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario().getUsername(), null, List.of()));
+    }
+
+    public static void sair() {
+        SecurityContextHolder.clearContext();
+    }
+
+    public Item criarItem(String nome, TipoItem tipoItem, BigDecimal saldo) {
+        Item item = new Item();
+        item.setNome(nome);
+        item.setTipoItem(tipoItem);
+        item.setSaldo(saldo);
+        item.setQtdeMinima(BigDecimal.ONE);
+        item.setGrupo(grupoRepository.getReferenceById(ID_GRUPO));
+        return itemRepository.save(item);
+    }
+
+    public Long criarEmprestimo(Long idItem, BigDecimal qtde, LocalDate dataEmprestimo, LocalDate prazoDevolucao) {
+        ResultadoLoteDto resultado = emprestimoService.saveLote(List.of(new EmprestimoLoteDto(usuario().getId(),
+                dataEmprestimo, prazoDevolucao, null, null, List.of(new ItemLoteDto(idItem, qtde))))).get(0);
+        if (!resultado.sucesso()) {
+            throw new IllegalStateException(resultado.mensagem());
+        }
+        return resultado.id();
+    }
+}
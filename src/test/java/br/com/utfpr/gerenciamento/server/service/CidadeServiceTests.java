@@ -0,0 +1,50 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.model.Cidade;
+import br.com.utfpr.gerenciamento.server.model.Estado;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocomplete de cidades sobre a carga da V1.1 (o Paraná, id 18, tem 399 cidades).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CidadeServiceTests {
+
+    private static final Long ID_PARANA = 18L;
+
+    @Autowired
+    private CidadeService cidadeService;
+
+    @Test
+    void buscaVaziaPorEstadoRespeitaOLimite() {
+        Estado parana = new Estado();
+        parana.setId(ID_PARANA);
+
+        for (String query : new String[]{"", "  "}) {
+            List<Cidade> cidades = cidadeService.completeByEstado(query, parana);
+
+            assertEquals(BuscaUtil.LIMITE, cidades.size());
+            assertTrue(cidades.stream().allMatch(cidade -> ID_PARANA.equals(cidade.getEstado().getId())));
+        }
+    }
+
+    @Test
+    void buscaPorEstadoIgnoraAcentosECaixa() {
+        Estado parana = new Estado();
+        parana.setId(ID_PARANA);
+
+        List<String> nomes = cidadeService.completeByEstado("SAO JOSE", parana).stream().map(Cidade::getNome).toList();
+
+        assertEquals(List.of("São José da Boa Vista", "São José das Palmeiras", "São José dos Pinhais"), nomes);
+    }
+}
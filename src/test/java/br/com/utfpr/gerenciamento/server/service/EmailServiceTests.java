@@ -0,0 +1,77 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Avisos por e-mail (sendEmailWithTemplate) em relação à transação da operação que os gera.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailServiceTests {
+
+    private static final String TEMPLATE = "templateNotificacaoEstoqueMinimo";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    @Test
+    void avisoEntraNaFilaDepoisDoCommit() {
+        String titulo = "Aviso " + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmailWithTemplate(null, "teste@utfpr.edu.br", titulo, TEMPLATE);
+            assertEquals(0, emailsComTitulo(titulo));
+        });
+        assertEquals(1, emailsComTitulo(titulo));
+    }
+
+    @Test
+    void operacaoDesfeitaNaoGeraAviso() {
+        String titulo = "Aviso " + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmailWithTemplate(null, "teste@utfpr.edu.br", titulo, TEMPLATE);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, emailsComTitulo(titulo));
+    }
+
+    @Test
+    void falhaAoEnfileirarNaoDesfazAOperacao() {
+        // título acima do varchar(512) da email_outbox: o INSERT na fila falha
+        Long idItem = transactionTemplate.execute(status -> {
+            Long id = dadosTeste.criarItem("Osciloscópio", TipoItem.P, BigDecimal.ONE).getId();
+            emailService.sendEmailWithTemplate(null, "teste@utfpr.edu.br", "x".repeat(600), TEMPLATE);
+            return id;
+        });
+        assertTrue(itemRepository.existsById(idItem));
+    }
+
+    private int emailsComTitulo(String titulo) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMAIL_OUTBOX WHERE TITULO = ?", Integer.class, titulo);
+    }
+}
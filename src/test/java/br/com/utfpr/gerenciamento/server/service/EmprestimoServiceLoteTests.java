@@ -0,0 +1,107 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.ResultadoLoteDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lote de empréstimos com registros inválidos: cada um falha sozinho e os demais são gravados.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmprestimoServiceLoteTests {
+
+    @Autowired
+    private EmprestimoService emprestimoService;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    private Long idItem;
+    private Long idUsuario;
+
+    @BeforeEach
+    void criarItem() {
+        dadosTeste.autenticar();
+        idItem = dadosTeste.criarItem("Capacitor 100uF", TipoItem.C, new BigDecimal("5")).getId();
+        idUsuario = dadosTeste.usuario().getId();
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void falhaDeUmEmprestimoNaoImpedeOsDemais() {
+        List<ResultadoLoteDto> resultados = emprestimoService.saveLote(List.of(
+                emprestimo(idUsuario, idItem, "2"),
+                emprestimo(idUsuario, idItem, "10"),
+                emprestimo(Long.MAX_VALUE, idItem, "1"),
+                emprestimo(idUsuario, idItem, "3"),
+                // o saldo já foi consumido pelos empréstimos anteriores do lote
+                emprestimo(idUsuario, idItem, "1")));
+
+        assertEquals(List.of(true, false, false, true, false),
+                resultados.stream().map(ResultadoLoteDto::sucesso).toList());
+        assertEquals("Saldo menor que a quantidade informada", resultados.get(1).mensagem());
+        assertEquals("Usuário do empréstimo não encontrado.", resultados.get(2).mensagem());
+        assertEquals("Saldo menor ou igual a 0", resultados.get(4).mensagem());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).indice());
+        }
+
+        assertTrue(emprestimoRepository.existsById(resultados.get(0).id()));
+        assertTrue(emprestimoRepository.existsById(resultados.get(3).id()));
+        assertNull(resultados.get(1).id());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM emprestimo_item WHERE item_id = ?", Integer.class, idItem));
+        assertEquals(0, BigDecimal.ZERO.compareTo(itemService.getSaldoItem(idItem)));
+    }
+
+    @Test
+    void loteSemEmprestimosValidosNaoGravaNada() {
+        List<ResultadoLoteDto> resultados = emprestimoService.saveLote(List.of(
+                emprestimo(idUsuario, idItem, "6"),
+                emprestimo(idUsuario, Long.MAX_VALUE, "1")));
+
+        assertFalse(resultados.get(0).sucesso());
+        assertEquals("Item não encontrado: " + Long.MAX_VALUE, resultados.get(1).mensagem());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM emprestimo_item WHERE item_id = ?", Integer.class, idItem));
+        assertEquals(0, new BigDecimal("5").compareTo(itemService.getSaldoItem(idItem)));
+    }
+
+    private static EmprestimoLoteDto emprestimo(Long idUsuario, Long idItem, String qtde) {
+        return new EmprestimoLoteDto(idUsuario, LocalDate.now(), LocalDate.now().plusDays(7), null, null,
+                List.of(new ItemLoteDto(idItem, new BigDecimal(qtde))));
+    }
+}
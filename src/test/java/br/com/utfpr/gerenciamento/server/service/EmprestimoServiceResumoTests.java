@@ -0,0 +1,108 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoItemLoteDto;
+import br.com.utfpr.gerenciamento.server.dto.DevolucaoLoteDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.StatusDevolucao;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.dashboards.DashboardEmprestimoCountRange;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resumo diário dos empréstimos (emprestimo_resumo_dia) depois das alterações feitas pelo serviço. Cada teste usa
+ * uma data de empréstimo própria, sem outros empréstimos na base.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmprestimoServiceResumoTests {
+
+    @Autowired
+    private EmprestimoService emprestimoService;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    private Long idItem;
+
+    @BeforeEach
+    void criarItem() {
+        dadosTeste.autenticar();
+        idItem = dadosTeste.criarItem("Protoboard", TipoItem.C, new BigDecimal("100")).getId();
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void alteracaoDePrazoMoveOEmprestimoParaONovoPrazo() {
+        LocalDate data = LocalDate.of(2021, 3, 10);
+        LocalDate prazo = data.plusDays(7);
+        LocalDate novoPrazo = LocalDate.now().plusDays(30);
+        Long id = dadosTeste.criarEmprestimo(idItem, BigDecimal.ONE, data, prazo);
+        assertEquals(1, qtde(data, prazo, false));
+        assertEquals(new DashboardEmprestimoCountRange(1, 0, 1, 0), emprestimoService.countRangeByDataEmprestimo(data, data));
+
+        emprestimoService.changePrazoDevolucao(id, novoPrazo);
+
+        assertEquals(0, qtde(data, prazo, false));
+        assertEquals(1, qtde(data, novoPrazo, false));
+        assertEquals(new DashboardEmprestimoCountRange(1, 1, 0, 0), emprestimoService.countRangeByDataEmprestimo(data, data));
+    }
+
+    @Test
+    void devolucaoEmLoteMoveOEmprestimoParaFinalizados() {
+        LocalDate data = LocalDate.of(2021, 4, 12);
+        LocalDate prazo = data.plusDays(7);
+        Long id = dadosTeste.criarEmprestimo(idItem, BigDecimal.ONE, data, prazo);
+        Long idDevolucaoItem = emprestimoRepository.findAllComDevolucaoItensByIdIn(List.of(id)).get(0)
+                .getEmprestimoDevolucaoItem().get(0).getId();
+
+        assertTrue(emprestimoService.saveDevolucaoLote(List.of(new DevolucaoLoteDto(id,
+                List.of(new DevolucaoItemLoteDto(idDevolucaoItem, StatusDevolucao.D))))).get(0).sucesso());
+
+        assertEquals(0, qtde(data, prazo, false));
+        assertEquals(1, qtde(data, prazo, true));
+        assertEquals(new DashboardEmprestimoCountRange(1, 0, 0, 1), emprestimoService.countRangeByDataEmprestimo(data, data));
+    }
+
+    @Test
+    void exclusaoRetiraOEmprestimoDoResumo() {
+        LocalDate data = LocalDate.of(2021, 5, 14);
+        LocalDate prazo = data.plusDays(7);
+        Long id = dadosTeste.criarEmprestimo(idItem, BigDecimal.ONE, data, prazo);
+
+        emprestimoService.delete(id);
+
+        assertEquals(0, qtde(data, prazo, false));
+        assertEquals(new DashboardEmprestimoCountRange(0, 0, 0, 0), emprestimoService.countRangeByDataEmprestimo(data, data));
+    }
+
+    private long qtde(LocalDate data, LocalDate prazo, boolean finalizado) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(QTDE), 0) FROM EMPRESTIMO_RESUMO_DIA "
+                        + "WHERE DATA_EMPRESTIMO = ? AND PRAZO_DEVOLUCAO = ? AND FINALIZADO = ?",
+                Long.class, Date.valueOf(data), Date.valueOf(prazo), finalizado);
+    }
+}
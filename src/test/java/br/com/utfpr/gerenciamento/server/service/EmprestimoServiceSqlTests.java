@@ -0,0 +1,82 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.dto.EmprestimoResumoDto;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.Emprestimo;
+import br.com.utfpr.gerenciamento.server.model.filter.EmprestimoFilter;
+import br.com.utfpr.gerenciamento.server.sql.ContadorSqlAssertions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Limites de comandos SQL das consultas de empréstimos, sobre alguns empréstimos criados pelo teste. Os resultados
+ * são serializados dentro da contagem, como no controller: associações carregadas de forma preguiçosa durante a
+ * serialização também entram no limite.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmprestimoServiceSqlTests {
+
+    @Autowired
+    private EmprestimoService emprestimoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    @BeforeEach
+    void criarEmprestimos() {
+        dadosTeste.autenticar();
+        Long idItem = dadosTeste.criarItem("Resistor", TipoItem.C, new BigDecimal("100")).getId();
+        for (int i = 0; i < 3; i++) {
+            dadosTeste.criarEmprestimo(idItem, BigDecimal.ONE, LocalDate.now(), LocalDate.now().plusDays(7));
+        }
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void resumoUsaApenasConsultaECount() {
+        Page<EmprestimoResumoDto> resumo = ContadorSqlAssertions.maximoComandos(2, () -> serializar(
+                emprestimoService.findResumo(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")))));
+        assertFalse(resumo.isEmpty());
+    }
+
+    @Test
+    void filtroPaginadoNaoCarregaAssociacoesPorEmprestimo() {
+        // página, count e uma consulta por associação (permissões dos usuários, itens, itens de devolução),
+        // independente do tamanho da página
+        Page<Emprestimo> emprestimos = ContadorSqlAssertions.maximoComandos(5, () -> serializar(
+                emprestimoService.filter(new EmprestimoFilter(), PageRequest.of(0, 20, Sort.by("id")))));
+        assertFalse(emprestimos.isEmpty());
+    }
+
+    private <T> T serializar(T valor) {
+        try {
+            objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Baixas de estoque simultâneas, cada uma na própria transação, como em requisições concorrentes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EstoqueServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void criarExecutor() {
+        dadosTeste.autenticar();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void encerrarExecutor() throws InterruptedException {
+        DadosTeste.sair();
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void baixasSimultaneasNuncaDeixamOSaldoNegativo() throws Exception {
+        Long idItem = dadosTeste.criarItem("Fusível 20A", TipoItem.C, new BigDecimal("10")).getId();
+
+        AtomicInteger falhas = new AtomicInteger();
+        int sucessos = executar(25, i -> {
+            try {
+                estoqueService.baixarSaldo(Map.of(idItem, BigDecimal.ONE), true);
+                return true;
+            } catch (RuntimeException e) {
+                falhas.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertEquals(10, sucessos);
+        assertEquals(15, falhas.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldo(idItem)));
+    }
+
+    @Test
+    void lotesSimultaneosSobreOsMesmosItensNaoEntramEmDeadlock() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(dadosTeste.criarItem("Fusível " + i + "A", TipoItem.C, new BigDecimal("1000")).getId());
+        }
+
+        // metade dos lotes informa os itens na ordem inversa
+        int sucessos = executar(200, i -> {
+            Map<Long, BigDecimal> lote = new LinkedHashMap<>();
+            for (int j = 0; j < ids.size(); j++) {
+                lote.put(ids.get(i % 2 == 0 ? j : ids.size() - 1 - j), BigDecimal.ONE);
+            }
+            estoqueService.baixarSaldo(lote, true);
+            return true;
+        });
+
+        assertEquals(200, sucessos);
+        for (Long idItem : ids) {
+            assertEquals(0, new BigDecimal("800").compareTo(saldo(idItem)));
+        }
+    }
+
+    private interface Tarefa {
+        boolean executar(int indice);
+    }
+
+    // todas as tarefas partem juntas; devolve quantas terminaram com sucesso
+    private int executar(int quantidade, Tarefa tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            int indice = i;
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return tarefa.executar(indice);
+            }));
+        }
+        largada.countDown();
+        int sucessos = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(30, TimeUnit.SECONDS)) {
+                sucessos++;
+            }
+        }
+        return sucessos;
+    }
+
+    private BigDecimal saldo(Long idItem) {
+        return itemRepository.findSaldoById(idItem).orElseThrow();
+    }
+}
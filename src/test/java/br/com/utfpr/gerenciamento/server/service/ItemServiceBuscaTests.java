@@ -0,0 +1,85 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.model.Item;
+import br.com.utfpr.gerenciamento.server.util.BuscaUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Autocomplete de itens (ItemRepository.search e f_busca da V2.6). Os nomes usam palavras que os outros
+ * testes não criam.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemServiceBuscaTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    @BeforeAll
+    void criarItens() {
+        dadosTeste.autenticar();
+        dadosTeste.criarItem("Cabo para frequencímetro", TipoItem.P, new BigDecimal("3"));
+        dadosTeste.criarItem("Frequencímetro digital", TipoItem.P, new BigDecimal("2"));
+        dadosTeste.criarItem("Frequencímetro analógico", TipoItem.P, BigDecimal.ZERO);
+        dadosTeste.criarItem("Trimpot 100% linear", TipoItem.C, new BigDecimal("10"));
+        dadosTeste.criarItem("Trimpot 1000 linear", TipoItem.C, new BigDecimal("10"));
+        DadosTeste.sair();
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void buscaIgnoraAcentosECaixaEPriorizaQuemComecaPeloTermo() {
+        List<String> nomes = nomes(itemService.itemComplete("FREQUENCIMETRO", false));
+
+        // entre os que começam pelo termo, o nome mais parecido (trigramas) vem antes
+        assertEquals(List.of("Frequencímetro digital", "Frequencímetro analógico", "Cabo para frequencímetro"), nomes);
+    }
+
+    @Test
+    void buscaComEstoqueIgnoraItensSemSaldo() {
+        List<String> nomes = nomes(itemService.itemComplete("frequencímetro", true));
+
+        assertEquals(List.of("Frequencímetro digital", "Cabo para frequencímetro"), nomes);
+    }
+
+    @Test
+    void curingasDoLikeSaoTratadosComoTexto() {
+        assertEquals(List.of("Trimpot 100% linear"), nomes(itemService.itemComplete("100%", false)));
+        assertEquals(List.of(), nomes(itemService.itemComplete("trimpot_", false)));
+    }
+
+    @Test
+    void buscaVaziaRespeitaOLimite() {
+        for (int i = 0; i < BuscaUtil.LIMITE; i++) {
+            dadosTeste.criarItem("Jumper " + i, TipoItem.C, BigDecimal.ONE);
+        }
+
+        assertEquals(BuscaUtil.LIMITE, itemService.itemComplete(" ", false).size());
+        assertEquals(BuscaUtil.LIMITE, itemService.itemComplete("", true).size());
+    }
+
+    private static List<String> nomes(List<Item> itens) {
+        return itens.stream().map(Item::getNome).toList();
+    }
+}
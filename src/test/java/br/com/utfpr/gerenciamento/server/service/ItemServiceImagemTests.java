@@ -0,0 +1,188 @@
+package br.com.utfpr.gerenciamento.server.service;
+
+import br.com.utfpr.gerenciamento.server.controller.ItemController;
+import br.com.utfpr.gerenciamento.server.dados.DadosTeste;
+import br.com.utfpr.gerenciamento.server.ennumeation.TamanhoImagem;
+import br.com.utfpr.gerenciamento.server.ennumeation.TipoItem;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectInfo;
+import br.com.utfpr.gerenciamento.server.minio.payload.ObjectUpload;
+import br.com.utfpr.gerenciamento.server.minio.service.MinioService;
+import br.com.utfpr.gerenciamento.server.model.ItemImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Envio de imagens com nome pelo hash do conteúdo e contagem de referências (imagem_objeto, V2.9). O MinIO é
+ * substituído por um mock; as contagens são as mantidas pelo trigger do banco.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemServiceImagemTests {
+
+    @MockBean
+    private MinioService minioService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DadosTeste dadosTeste;
+
+    private Long idItem;
+
+    @BeforeEach
+    void criarItem() {
+        dadosTeste.autenticar();
+        idItem = dadosTeste.criarItem("Gerador de funções", TipoItem.P, BigDecimal.ONE).getId();
+    }
+
+    @AfterEach
+    void sair() {
+        DadosTeste.sair();
+    }
+
+    @Test
+    void mesmaImagemEnviadaDuasVezesReaproveitaOObjeto() throws IOException {
+        byte[] png = png(0x336699);
+        Long idOutroItem = dadosTeste.criarItem("Gerador de funções 2", TipoItem.P, BigDecimal.ONE).getId();
+
+        itemService.saveImages(upload(png, png), null, idItem);
+        List<ObjectUpload> enviados = enviados();
+        assertEquals(1, enviados.size());
+        String nameImage = enviados.get(0).objectName();
+
+        clearInvocations(minioService);
+        itemService.saveImages(upload(png), null, idOutroItem);
+        assertTrue(enviados().isEmpty());
+
+        assertEquals(List.of(nameImage, nameImage), nomes(idItem));
+        assertEquals(List.of(nameImage), nomes(idOutroItem));
+        assertEquals(3, referencias(nameImage));
+    }
+
+    @Test
+    void coletaRemoveSoObjetosSemReferencia() throws IOException {
+        itemService.saveImages(upload(png(0xCC0000)), null, idItem);
+        String removida = enviados().get(0).objectName();
+        clearInvocations(minioService);
+        itemService.saveImages(upload(png(0x00CC00)), null, idItem);
+        String mantida = enviados().get(0).objectName();
+
+        ItemImage image = itemService.getImagesItem(idItem).stream()
+                .filter(itemImage -> itemImage.getNameImage().equals(removida))
+                .findFirst().orElseThrow();
+        itemService.deleteImage(image, idItem);
+        assertEquals(0, referencias(removida));
+
+        itemService.removerImagensOrfas(Duration.ZERO, 1000);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> objetos = ArgumentCaptor.forClass(List.class);
+        verify(minioService).removeObjects(anyString(), objetos.capture());
+        assertTrue(objetos.getValue().contains(removida));
+        assertTrue(objetos.getValue().contains(TamanhoImagem.values()[0].nomeArquivo(removida)));
+        assertFalse(objetos.getValue().contains(mantida));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM imagem_objeto WHERE name_image = ?", Integer.class, removida));
+        assertEquals(1, referencias(mantida));
+    }
+
+    @Test
+    void urlsNaoGeramVersoesReduzidasEOOriginalSubstitutoNaoFicaEmCache() throws IOException {
+        byte[] png = png(0x999999);
+        itemService.saveImages(upload(png), null, idItem);
+        Long idImagem = itemService.getImagesItem(idItem).get(0).getId();
+        when(minioService.getObjectInfo(anyString(), anyString()))
+                .thenReturn(new ObjectInfo(png.length, "etag", Instant.now(), "image/png"));
+        when(minioService.downloadObject(anyString(), anyString(), anyLong(), any()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(png));
+        when(minioService.getPresignedUrl(anyString(), anyString())).thenReturn("http://minio/imagem");
+
+        assertNull(itemService.findImagemUrls(idItem, 100).get(0).url());
+        verify(minioService, never()).downloadObject(anyString(), anyString());
+
+        // sem o original para decodificar, a versão reduzida não é gerada e o original a substitui
+        assertEquals("no-cache, public", cacheControl(idImagem));
+
+        when(minioService.downloadObject(anyString(), anyString())).thenAnswer(invocation -> new ByteArrayInputStream(png));
+        assertEquals("max-age=31536000, public, immutable", cacheControl(idImagem));
+        assertEquals("http://minio/imagem", itemService.findImagemUrls(idItem, 100).get(0).url());
+    }
+
+    private String cacheControl(Long idImagem) {
+        return itemController.findImagem(idImagem, 100, null, new ServletWebRequest(new MockHttpServletRequest()))
+                .getHeaders().getCacheControl();
+    }
+
+    private List<ObjectUpload> enviados() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ObjectUpload>> uploads = ArgumentCaptor.forClass(List.class);
+        verify(minioService).putObjects(uploads.capture(), anyString());
+        return uploads.getValue();
+    }
+
+    private List<String> nomes(Long idItem) {
+        return jdbcTemplate.queryForList("SELECT name_image FROM item_image WHERE item_id = ? ORDER BY id",
+                String.class, idItem);
+    }
+
+    private int referencias(String nameImage) {
+        return jdbcTemplate.queryForObject("SELECT referencias FROM imagem_objeto WHERE name_image = ?",
+                Integer.class, nameImage);
+    }
+
+    private static MockMultipartHttpServletRequest upload(byte[]... arquivos) {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        for (int i = 0; i < arquivos.length; i++) {
+            request.addFile(new MockMultipartFile("anexos[]", "foto" + i + ".png", "image/png", arquivos[i]));
+        }
+        return request;
+    }
+
+    private static byte[] png(int cor) throws IOException {
+        BufferedImage imagem = new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB);
+        imagem.setRGB(0, 0, cor);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.utfpr.gerenciamento.server.service.impl;
+
+import br.com.utfpr.gerenciamento.server.component.DashboardCache;
+import br.com.utfpr.gerenciamento.server.repository.CompraRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoRepository;
+import br.com.utfpr.gerenciamento.server.repository.EmprestimoResumoRepository;
+import br.com.utfpr.gerenciamento.server.repository.SaidaRepository;
+import br.com.utfpr.gerenciamento.server.service.DashboardService;
+
+// DashboardServiceImpl montado sem o Spring para os benchmarks, só com os repositórios que as consultas do painel usam
+public final class DashboardServicos {
+
+    private DashboardServicos() {
+    }
+
+    public static DashboardService criar(EmprestimoRepository emprestimoRepository,
+                                         EmprestimoResumoRepository emprestimoResumoRepository,
+                                         CompraRepository compraRepository,
+                                         SaidaRepository saidaRepository,
+                                         DashboardCache dashboardCache) {
+        return new DashboardServiceImpl(new EmprestimoServiceImpl(emprestimoRepository, emprestimoResumoRepository),
+                new CompraServiceImpl(compraRepository), new SaidaServiceImpl(saidaRepository), dashboardCache);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.utfpr.gerenciamento.server.sql;
+
+import br.com.utfpr.gerenciamento.server.config.ContadorSqlFilter;
+import br.com.utfpr.gerenciamento.server.util.ContadorSql;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Limites de comandos SQL para testes, para uma regressão de N+1 quebrar o build.
+ * <p>
+ * Endpoints, com MockMvc (@AutoConfigureMockMvc registra o ContadorSqlFilter):
+ * <pre>
+ * mockMvc.perform(get("/emprestimo/page").param("page", "0").param("size", "20"))
+ *         .andExpect(status().isOk())
+ *         .andExpect(ContadorSqlAssertions.maximoComandos(5));
+ * </pre>
+ * Serviços e repositórios, sem transação aberta pelo teste (conexões obtidas antes da contagem não são
+ * instrumentadas):
+ * <pre>
+ * List&lt;Item&gt; itens = ContadorSqlAssertions.maximoComandos(2, () -&gt; itemService.findByGrupo(idGrupo));
+ * </pre>
+ */
+public final class ContadorSqlAssertions {
+
+    private ContadorSqlAssertions() {
+    }
+
+    public static ResultMatcher maximoComandos(int maximo) {
+        return result -> {
+            String comandos = result.getResponse().getHeader(ContadorSqlFilter.HEADER_COMANDOS);
+            assertNotNull(comandos, "Resposta sem o cabeçalho " + ContadorSqlFilter.HEADER_COMANDOS
+                    + " (utfpr.sql.contador.enabled=false?)");
+            assertTrue(Integer.parseInt(comandos) <= maximo, () -> String.format(
+                    "%s %s executou %s comandos SQL (máximo %d)",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), comandos, maximo));
+        };
+    }
+
+    public static <T> T maximoComandos(int maximo, Supplier<T> acao) {
+        ContadorSql.Resultado<T> resultado = ContadorSql.contar(acao);
+        ContadorSql.Estatistica estatistica = resultado.estatistica();
+        assertTrue(estatistica.getComandos() <= maximo, () -> {
+            Map.Entry<String, Integer> maisRepetido = estatistica.getMaisRepetido();
+            return String.format("%d comandos SQL executados (máximo %d); mais repetido (%d vezes): %s",
+                    estatistica.getComandos(), maximo,
+                    maisRepetido != null ? maisRepetido.getValue() : 0,
+                    maisRepetido != null ? maisRepetido.getKey() : "-");
+        });
+        return resultado.valor();
+    }
+}
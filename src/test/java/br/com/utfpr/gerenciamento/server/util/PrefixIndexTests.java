@@ -0,0 +1,54 @@
+package br.com.utfpr.gerenciamento.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixIndexTests {
+
+    private static final List<String> CIDADES = List.of("São José dos Pinhais", "Curitiba", "Joinville",
+            "São José", "Araucária", "Campo Largo", "Campina Grande do Sul", "José Boiteux");
+
+    private final PrefixIndex<String> index = new PrefixIndex<>(CIDADES, Function.identity());
+
+    @Test
+    void normalizarRemoveAcentosECaixa() {
+        assertEquals("sao jose dos pinhais", BuscaUtil.normalizar("SÃO JOSÉ dos Pinhais"));
+        assertEquals("araucaria", BuscaUtil.normalizar("Araucária"));
+        assertEquals("", BuscaUtil.normalizar(null));
+    }
+
+    @Test
+    void nomesQueComecamPeloTermoVemAntesDosDemais() {
+        assertEquals(List.of("José Boiteux", "São José", "São José dos Pinhais"), index.search("jose", 10));
+    }
+
+    @Test
+    void buscaIgnoraAcentosCaixaEEspacosNasPontas() {
+        assertEquals(List.of("Araucária"), index.search("  ARAUCARIA ", 10));
+        assertEquals(List.of("São José", "São José dos Pinhais"), index.search("são j", 10));
+    }
+
+    @Test
+    void termoSoCasaComOInicioDasPalavras() {
+        assertEquals(List.of(), index.search("ritiba", 10));
+        assertEquals(List.of("São José dos Pinhais"), index.search("pinh", 10));
+    }
+
+    @Test
+    void limiteCortaOResultadoMantendoAOrdem() {
+        assertEquals(List.of("Campina Grande do Sul", "Campo Largo"), index.search("camp", 10));
+        assertEquals(List.of("Campina Grande do Sul"), index.search("camp", 1));
+        // o limite vale também para quem só tem o termo no meio do nome
+        assertEquals(List.of("José Boiteux", "São José"), index.search("jose", 2));
+    }
+
+    @Test
+    void buscaVaziaDevolveOsPrimeirosEmOrdemAlfabetica() {
+        assertEquals(List.of("Araucária", "Campina Grande do Sul", "Campo Largo"), index.search(" ", 3));
+        assertEquals(CIDADES.size(), index.search(null, 100).size());
+    }
+}